@@ -0,0 +1,100 @@
+package com.chaseelkins.assetmanagement.async;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for one integration (email, Slack, ...): every task gets a virtual thread, but at
+ * most {@code maxConcurrency} run at once and at most {@code queueCapacity} wait for a turn,
+ * in order. Waiting tasks are parked virtual threads, so a slow downstream costs memory for
+ * its own backlog only, never platform threads.
+ * <p>
+ * Tasks submitted beyond the queue are rejected with a {@link TaskRejectedException}, or,
+ * with {@code dropWhenFull}, dropped and counted without telling the caller. Dropping suits
+ * fire-and-forget notifications, where the change that raised them must not fail because a
+ * downstream is slow; only use it for {@code @Async void} methods, since the future of a
+ * dropped task never completes.
+ */
+public class BoundedVirtualThreadExecutor implements AsyncTaskExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedVirtualThreadExecutor.class);
+
+    private final String name;
+    private final int capacity;
+    private final boolean dropWhenFull;
+    private final Semaphore permits;
+    private final TaskDecorator taskDecorator;
+    private final ThreadFactory threadFactory;
+    // Running + queued, checked against capacity
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+
+    public BoundedVirtualThreadExecutor(String name, int maxConcurrency, int queueCapacity, boolean dropWhenFull,
+                                        TaskDecorator taskDecorator, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.capacity = Math.max(1, maxConcurrency) + Math.max(0, queueCapacity);
+        this.dropWhenFull = dropWhenFull;
+        this.permits = new Semaphore(Math.max(1, maxConcurrency), true);
+        this.taskDecorator = taskDecorator;
+        this.threadFactory = Thread.ofVirtual().name(name + "-", 0).factory();
+        Gauge.builder("async_tasks_in_flight", inFlight, AtomicInteger::get)
+                .description("Async tasks running")
+                .tag("executor", name)
+                .register(meterRegistry);
+        Gauge.builder("async_tasks_queued", queued, AtomicInteger::get)
+                .description("Async tasks waiting for a concurrency permit")
+                .tag("executor", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("async_tasks_rejected")
+                .description("Async tasks rejected or dropped because the queue was full")
+                .tag("executor", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        // Reserve a place first so concurrent submitters can never exceed the capacity
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            rejected.increment();
+            if (!dropWhenFull) {
+                throw new TaskRejectedException("Executor " + name + " is full (" + capacity + " running or queued)");
+            }
+            log.warn("Executor {} is full ({} running or queued), dropping task", name, capacity);
+            return;
+        }
+        queued.incrementAndGet();
+        try {
+            Runnable decorated = taskDecorator.decorate(task);
+            threadFactory.newThread(() -> {
+                permits.acquireUninterruptibly();
+                queued.decrementAndGet();
+                inFlight.incrementAndGet();
+                try {
+                    decorated.run();
+                } finally {
+                    inFlight.decrementAndGet();
+                    permits.release();
+                    pending.decrementAndGet();
+                }
+            }).start();
+        } catch (RuntimeException | Error e) {
+            // The task never got a thread; give its place back
+            queued.decrementAndGet();
+            pending.decrementAndGet();
+            throw new TaskRejectedException("Executor " + name + " could not start a task", e);
+        }
+    }
+}
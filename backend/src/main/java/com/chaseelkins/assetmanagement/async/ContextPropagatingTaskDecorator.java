@@ -0,0 +1,50 @@
+package com.chaseelkins.assetmanagement.async;
+
+import com.chaseelkins.assetmanagement.tenant.TenantContext;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+
+/**
+ * Carries the submitting thread's tenant, MDC (correlation id) and security context over to
+ * the thread that runs the task, and clears them again afterwards.
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Long tenantId = TenantContext.isSet() ? TenantContext.getTenantId() : null;
+        String subdomain = TenantContext.getSubdomain();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        return () -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            try {
+                if (tenantId != null) {
+                    TenantContext.setTenantId(tenantId);
+                }
+                if (subdomain != null) {
+                    TenantContext.setSubdomain(subdomain);
+                }
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                SecurityContextHolder.setContext(securityContext);
+                runnable.run();
+            } finally {
+                TenantContext.clear();
+                if (previousMdc != null) {
+                    MDC.setContextMap(previousMdc);
+                } else {
+                    MDC.clear();
+                }
+                SecurityContextHolder.setContext(previousSecurityContext);
+            }
+        };
+    }
+}
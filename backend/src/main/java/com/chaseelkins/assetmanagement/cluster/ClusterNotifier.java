@@ -0,0 +1,27 @@
+package com.chaseelkins.assetmanagement.cluster;
+
+/**
+ * Change notifications between application nodes, used to keep in-process caches in step
+ * with writes made on other nodes.
+ * A message published inside a transaction is delivered only if it commits. Delivery is best
+ * effort: when messages may have been missed (e.g. while reconnecting) subscribers get
+ * {@link Listener#onResync()} and should reload everything they cache.
+ */
+public interface ClusterNotifier {
+
+    /**
+     * Publish a message to every node, this one included.
+     * Channel names are lower-case identifiers (letters, digits, underscores).
+     */
+    void publish(String channel, String payload);
+
+    void subscribe(String channel, Listener listener);
+
+    interface Listener {
+
+        void onMessage(String payload);
+
+        default void onResync() {
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.chaseelkins.assetmanagement.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Notifier for a single node: messages go straight to this JVM's listeners, after the
+ * current transaction commits.
+ */
+public class LocalClusterNotifier implements ClusterNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalClusterNotifier.class);
+
+    private final Map<String, List<Listener>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String channel, String payload) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(channel, payload);
+                }
+            });
+        } else {
+            dispatch(channel, payload);
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Listener listener) {
+        listeners.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    private void dispatch(String channel, String payload) {
+        for (Listener listener : listeners.getOrDefault(channel, List.of())) {
+            try {
+                listener.onMessage(payload);
+            } catch (RuntimeException e) {
+                log.warn("Listener on channel {} failed: {}", channel, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.chaseelkins.assetmanagement.cluster;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Notifier over Postgres LISTEN/NOTIFY.
+ * pg_notify joins the caller's transaction, so Postgres itself holds the message back until
+ * commit and drops it on rollback. One background thread per node keeps a pooled connection
+ * LISTENing on every subscribed channel; if that connection is lost, it reconnects with
+ * backoff and tells all listeners to resync.
+ */
+public class PostgresClusterNotifier implements ClusterNotifier, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresClusterNotifier.class);
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final int pollTimeoutMs;
+    private final Map<String, List<Listener>> listeners = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+    private Thread listenerThread;
+
+    public PostgresClusterNotifier(DataSource dataSource, Duration pollTimeout) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.pollTimeoutMs = (int) Math.max(1, pollTimeout.toMillis());
+    }
+
+    @Override
+    public void publish(String channel, String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, checkChannel(channel), payload);
+    }
+
+    @Override
+    public void subscribe(String channel, Listener listener) {
+        listeners.computeIfAbsent(checkChannel(channel), c -> new CopyOnWriteArrayList<>()).add(listener);
+        startListening();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        Thread thread;
+        synchronized (this) {
+            thread = listenerThread;
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private synchronized void startListening() {
+        if (listenerThread == null) {
+            listenerThread = Thread.ofPlatform().daemon().name("cluster-notify").start(this::listen);
+        }
+    }
+
+    private void listen() {
+        long reconnectDelay = 1000;
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                Set<String> listening = new HashSet<>();
+                if (reconnecting) {
+                    // Anything published while we were away is lost
+                    resyncAll();
+                }
+                reconnecting = true;
+                reconnectDelay = 1000;
+
+                while (running) {
+                    for (String channel : listeners.keySet()) {
+                        if (listening.add(channel)) {
+                            try (Statement statement = connection.createStatement()) {
+                                statement.execute("LISTEN " + channel);
+                            }
+                        }
+                    }
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getName(), notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cluster notification listener lost its connection, retrying in {} ms: {}", reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_MS);
+            }
+        }
+    }
+
+    private void dispatch(String channel, String payload) {
+        for (Listener listener : listeners.getOrDefault(channel, List.of())) {
+            try {
+                listener.onMessage(payload);
+            } catch (RuntimeException e) {
+                log.warn("Listener on channel {} failed: {}", channel, e.getMessage());
+            }
+        }
+    }
+
+    private void resyncAll() {
+        listeners.values().stream().flatMap(List::stream).forEach(listener -> {
+            try {
+                listener.onResync();
+            } catch (RuntimeException e) {
+                log.warn("Cluster notification resync failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    private static String checkChannel(String channel) {
+        if (channel == null || !CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+        return channel;
+    }
+}
@@ -0,0 +1,31 @@
+package com.chaseelkins.assetmanagement.config;
+
+import com.chaseelkins.assetmanagement.repository.AssetRepository;
+import com.chaseelkins.assetmanagement.search.AssetSearchIndex;
+import com.chaseelkins.assetmanagement.search.InMemoryAssetSearchIndex;
+import com.chaseelkins.assetmanagement.search.PostgresAssetSearchIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the asset search implementation.
+ * app.search.engine=postgres (default) uses the indexes created by V16; app.search.engine=memory
+ * keeps an in-process index and works on any database.
+ */
+@Configuration
+public class AssetSearchConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.search.engine", havingValue = "memory")
+    public AssetSearchIndex inMemoryAssetSearchIndex(AssetRepository assetRepository) {
+        return new InMemoryAssetSearchIndex(assetRepository);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AssetSearchIndex.class)
+    public AssetSearchIndex postgresAssetSearchIndex(AssetRepository assetRepository) {
+        return new PostgresAssetSearchIndex(assetRepository);
+    }
+}
@@ -0,0 +1,43 @@
+package com.chaseelkins.assetmanagement.config;
+
+import com.chaseelkins.assetmanagement.async.BoundedVirtualThreadExecutor;
+import com.chaseelkins.assetmanagement.async.ContextPropagatingTaskDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Executors for @Async integration work (email, Slack).
+ * Each integration has its own virtual-thread executor with a concurrency limit and bounded
+ * queue, so one slow downstream cannot starve the others, and tasks see the caller's tenant,
+ * MDC and security context. @Async without a qualifier uses taskExecutor, which rejects
+ * tasks once full; only the notification executors drop them.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Bean(name = "taskExecutor")
+    public BoundedVirtualThreadExecutor taskExecutor(@Value("${app.async.default.max-concurrency:16}") int maxConcurrency,
+                                                     @Value("${app.async.default.queue-capacity:1000}") int queueCapacity,
+                                                     MeterRegistry meterRegistry) {
+        return new BoundedVirtualThreadExecutor("async", maxConcurrency, queueCapacity, false,
+                new ContextPropagatingTaskDecorator(), meterRegistry);
+    }
+
+    @Bean(name = "emailExecutor")
+    public BoundedVirtualThreadExecutor emailExecutor(@Value("${app.async.email.max-concurrency:4}") int maxConcurrency,
+                                                      @Value("${app.async.email.queue-capacity:1000}") int queueCapacity,
+                                                      MeterRegistry meterRegistry) {
+        return new BoundedVirtualThreadExecutor("email", maxConcurrency, queueCapacity, true,
+                new ContextPropagatingTaskDecorator(), meterRegistry);
+    }
+
+    @Bean(name = "slackExecutor")
+    public BoundedVirtualThreadExecutor slackExecutor(@Value("${app.async.slack.max-concurrency:4}") int maxConcurrency,
+                                                      @Value("${app.async.slack.queue-capacity:500}") int queueCapacity,
+                                                      MeterRegistry meterRegistry) {
+        return new BoundedVirtualThreadExecutor("slack", maxConcurrency, queueCapacity, true,
+                new ContextPropagatingTaskDecorator(), meterRegistry);
+    }
+}
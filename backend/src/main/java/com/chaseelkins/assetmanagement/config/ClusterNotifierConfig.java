@@ -0,0 +1,35 @@
+package com.chaseelkins.assetmanagement.config;
+
+import com.chaseelkins.assetmanagement.cluster.ClusterNotifier;
+import com.chaseelkins.assetmanagement.cluster.LocalClusterNotifier;
+import com.chaseelkins.assetmanagement.cluster.PostgresClusterNotifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Selects how nodes tell each other about changes to cached data.
+ * app.cluster.notifier=postgres (default) uses LISTEN/NOTIFY; app.cluster.notifier=local only
+ * notifies this JVM, for single-node setups and databases without NOTIFY.
+ */
+@Configuration
+public class ClusterNotifierConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cluster.notifier", havingValue = "local")
+    public ClusterNotifier localClusterNotifier() {
+        return new LocalClusterNotifier();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ClusterNotifier.class)
+    public ClusterNotifier postgresClusterNotifier(DataSource dataSource,
+                                                   @Value("${app.cluster.listen-poll-ms:5000}") long pollMs) {
+        return new PostgresClusterNotifier(dataSource, Duration.ofMillis(pollMs));
+    }
+}
@@ -0,0 +1,28 @@
+package com.chaseelkins.assetmanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dedicated worker pool for asynchronous import jobs, so long-running imports
+ * never compete with webhook and notification tasks on the default executor.
+ */
+@Configuration
+public class ImportJobConfig {
+
+    @Bean(name = "importJobExecutor")
+    public ThreadPoolTaskExecutor importJobExecutor(@Value("${app.import.workers:2}") int workers,
+                                                    @Value("${app.import.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-job-");
+        // Running jobs checkpoint after every chunk, so shutdown does not wait for them
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,26 @@
+package com.chaseelkins.assetmanagement.config;
+
+import com.chaseelkins.assetmanagement.notification.NotificationChannel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Batching and retry tuning for the notification channels (Slack, Teams, email).
+ * Queue capacities are set per channel under app.notifications.&lt;channel&gt;.
+ */
+@Configuration
+public class NotificationConfig {
+
+    @Bean
+    public NotificationChannel.Settings notificationChannelSettings(
+            @Value("${app.notifications.batch-window-ms:5000}") long batchWindowMs,
+            @Value("${app.notifications.max-batch:500}") int maxBatch,
+            @Value("${app.notifications.max-attempts:4}") int maxAttempts,
+            @Value("${app.notifications.retry-backoff-ms:1000}") long retryBackoffMs) {
+        return new NotificationChannel.Settings(Duration.ofMillis(Math.max(0, batchWindowMs)), Math.max(1, maxBatch),
+                Math.max(1, maxAttempts), Duration.ofMillis(Math.max(1, retryBackoffMs)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.chaseelkins.assetmanagement.config;
+
+import com.chaseelkins.assetmanagement.ratelimit.LocalRateLimitStore;
+import com.chaseelkins.assetmanagement.ratelimit.RateLimitStore;
+import com.chaseelkins.assetmanagement.ratelimit.RedisRateLimitStore;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Selects where rate-limit counters live.
+ * app.rate-limit.store=local (default) keeps them per JVM; app.rate-limit.store=redis
+ * shares them across replicas through any Redis-protocol server.
+ */
+@Configuration
+public class RateLimitStoreConfig {
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "redis")
+    static class RedisStoreConfig {
+
+        @Bean(destroyMethod = "shutdown")
+        public RedisClient rateLimitRedisClient(@Value("${app.rate-limit.redis.url}") String url,
+                                                @Value("${app.rate-limit.redis.timeout-ms:200}") long timeoutMs) {
+            RedisClient client = RedisClient.create(url);
+            // Commands that outlive the timeout fail, and the store falls back to local limits
+            client.setOptions(ClientOptions.builder()
+                    .timeoutOptions(TimeoutOptions.enabled(Duration.ofMillis(timeoutMs)))
+                    .build());
+            return client;
+        }
+
+        @Bean(destroyMethod = "close")
+        public StatefulRedisConnection<String, String> rateLimitRedisConnection(RedisClient rateLimitRedisClient) {
+            return rateLimitRedisClient.connect();
+        }
+
+        @Bean
+        public RateLimitStore redisRateLimitStore(StatefulRedisConnection<String, String> rateLimitRedisConnection,
+                                                  @Value("${app.rate-limit.redis.key-prefix:rl:}") String keyPrefix,
+                                                  @Value("${app.rate-limit.lease-size:50}") int leaseSize) {
+            return new RedisRateLimitStore(rateLimitRedisConnection.sync(), keyPrefix, leaseSize);
+        }
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(RateLimitStore.class)
+    public RateLimitStore localRateLimitStore(@Value("${app.rate-limit.local.max-keys:100000}") long maxKeys) {
+        return new LocalRateLimitStore(maxKeys);
+    }
+}
@@ -0,0 +1,28 @@
+package com.chaseelkins.assetmanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Bounded worker pool for scheduled report generation.
+ * The runner only claims as many due schedules as this pool can queue.
+ */
+@Configuration
+public class ReportExecutorConfig {
+
+    @Bean(name = "reportExecutor")
+    public ThreadPoolTaskExecutor reportExecutor(@Value("${app.reports.workers:4}") int workers,
+                                                 @Value("${app.reports.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-");
+        // Unfinished runs keep their lease and are picked up again once it expires
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,5 +1,6 @@
 package com.chaseelkins.assetmanagement.config;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -13,7 +14,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -22,15 +22,30 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.chaseelkins.assetmanagement.security.BoundedPasswordEncoder;
 import com.chaseelkins.assetmanagement.security.JwtAuthenticationFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    /**
+     * BCrypt on a bounded pool (see BoundedPasswordEncoder).
+     * With app.auth.hashing.strength=0 the cost is calibrated at startup to the highest one
+     * that hashes within app.auth.hashing.target-ms here; existing hashes keep their own cost.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.auth.hashing.strength:0}") int strength,
+                                           @Value("${app.auth.hashing.target-ms:250}") long targetMs,
+                                           @Value("${app.auth.hashing.workers:0}") int workers,
+                                           @Value("${app.auth.hashing.queue-capacity:50}") int queueCapacity,
+                                           @Value("${app.auth.hashing.retry-after-seconds:2}") long retryAfterSeconds,
+                                           MeterRegistry meterRegistry) {
+        int cost = strength > 0 ? strength : BoundedPasswordEncoder.calibrate(Duration.ofMillis(targetMs));
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(cost, threads, queueCapacity, retryAfterSeconds, meterRegistry);
     }
 
     @Bean
@@ -1,12 +1,16 @@
 package com.chaseelkins.assetmanagement.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.Executors;
 
 @Configuration
 @EnableAsync
@@ -19,4 +23,28 @@ public class WebhookConfig {
             .setReadTimeout(Duration.ofSeconds(10))
             .build();
     }
+    
+    /**
+     * HTTP client for webhook deliveries. Requests run on virtual threads, so a slow
+     * endpoint only parks its own deliveries instead of holding a pool thread.
+     */
+    @Bean(name = "webhookHttpClient")
+    public HttpClient webhookHttpClient(@Value("${app.webhooks.connect-timeout-ms:3000}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+    
+    /**
+     * Runs webhook deliveries, one virtual thread per claimed webhook queue.
+     * The relay bounds how many are in flight.
+     */
+    @Bean(name = "webhookExecutor")
+    public SimpleAsyncTaskExecutor webhookExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("webhook-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
 }
@@ -1,5 +1,6 @@
 package com.chaseelkins.assetmanagement.controller;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -8,8 +9,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,6 +18,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.chaseelkins.assetmanagement.ratelimit.RateLimitStore;
+
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -31,8 +32,7 @@ import jakarta.validation.constraints.Size;
  * integration.
  * Provides categorization and asset insight scoring without external AI
  * dependencies.
- * Includes a naive in-memory per-user rate limiter (sliding window token bucket
- * hybrid).
+ * Includes a per-user rate limiter backed by the shared {@link RateLimitStore}.
  */
 @RestController
 @RequestMapping("/ai")
@@ -45,8 +45,10 @@ public class AIController {
     private final Counter rateLimitHits;
     private final Timer categorizeLatency;
     private final Timer insightsLatency;
+    private final RateLimitStore rateLimitStore;
 
-    public AIController(MeterRegistry registry) {
+    public AIController(MeterRegistry registry, RateLimitStore rateLimitStore) {
+        this.rateLimitStore = rateLimitStore;
         this.categorizeRequests = Counter.builder("ai_categorize_requests_total")
                 .description("Total categorize requests")
                 .register(registry);
@@ -105,33 +107,10 @@ public class AIController {
     // Rate limit: max 30 requests / 5 minutes per user principal for all /ai
     // endpoints combined
     private static final int LIMIT = 30;
-    private static final long WINDOW_MS = 5 * 60_000L;
-
-    /** Stores per-user counters & oldest timestamp. */
-    private static final Map<String, Window> RATE = new ConcurrentHashMap<>();
+    private static final Duration WINDOW = Duration.ofMinutes(5);
 
-    private record Window(AtomicInteger count, long windowStart) {
-    }
-
-    private int remaining(String user, Window w) {
-        return Math.max(0, LIMIT - w.count().get());
-    }
-
-    private Window getWindow(String user) {
-        return RATE.get(user);
-    }
-
-    private boolean checkRateLimit(String user) {
-        long now = System.currentTimeMillis();
-        RATE.compute(user, (k, v) -> {
-            if (v == null || now - v.windowStart() > WINDOW_MS) {
-                return new Window(new AtomicInteger(1), now);
-            }
-            v.count().incrementAndGet();
-            return v;
-        });
-        Window w = RATE.get(user);
-        return w.count().get() <= LIMIT;
+    private RateLimitStore.Decision checkRateLimit(String user) {
+        return rateLimitStore.tryAcquire("ai:" + user, LIMIT, WINDOW);
     }
 
     private String currentUser() {
@@ -146,21 +125,20 @@ public class AIController {
     public ResponseEntity<?> categorize(@Valid @RequestBody CategorizeRequest request) {
         long start = System.nanoTime();
         String user = currentUser();
-        boolean allowed = checkRateLimit(user);
-        Window w = getWindow(user);
-        if (!allowed) {
+        RateLimitStore.Decision rate = checkRateLimit(user);
+        if (!rate.allowed()) {
             rateLimitHits.increment();
-            long resetInMs = (w.windowStart() + WINDOW_MS) - System.currentTimeMillis();
+            long resetInMs = rate.resetAt().toEpochMilli() - System.currentTimeMillis();
             long retryAfterSec = Math.max(1, resetInMs / 1000);
             return ResponseEntity.status(429)
                     .header("Retry-After", String.valueOf(retryAfterSec))
                     .header("X-RateLimit-Limit", String.valueOf(LIMIT))
                     .header("X-RateLimit-Remaining", "0")
-                    .header("X-RateLimit-Reset", String.valueOf((w.windowStart() + WINDOW_MS) / 1000))
+                    .header("X-RateLimit-Reset", String.valueOf(rate.resetAt().getEpochSecond()))
                     .body(Map.of("error", "Rate limit exceeded. Try again later."));
         }
         // allowed
-        int remaining = remaining(user, w);
+        long remaining = rate.remaining();
         categorizeRequests.increment();
         String lower = request.text().toLowerCase(Locale.ROOT);
         String category = "GENERAL";
@@ -188,7 +166,7 @@ public class AIController {
         return ResponseEntity.ok()
                 .header("X-RateLimit-Limit", String.valueOf(LIMIT))
                 .header("X-RateLimit-Remaining", String.valueOf(remaining))
-                .header("X-RateLimit-Reset", String.valueOf((w.windowStart() + WINDOW_MS) / 1000))
+                .header("X-RateLimit-Reset", String.valueOf(rate.resetAt().getEpochSecond()))
                 .body(new CategorizeResponse(category, confidence, tags, latencyMs, Instant.now()));
     }
 
@@ -197,21 +175,20 @@ public class AIController {
     public ResponseEntity<?> analyzeAsset(@RequestBody AssetAnalysisRequest request) {
         long start = System.nanoTime();
         String user = currentUser();
-        boolean allowed = checkRateLimit(user);
-        Window w = getWindow(user);
-        if (!allowed) {
+        RateLimitStore.Decision rate = checkRateLimit(user);
+        if (!rate.allowed()) {
             rateLimitHits.increment();
-            long resetInMs = (w.windowStart() + WINDOW_MS) - System.currentTimeMillis();
+            long resetInMs = rate.resetAt().toEpochMilli() - System.currentTimeMillis();
             long retryAfterSec = Math.max(1, resetInMs / 1000);
             return ResponseEntity.status(429)
                     .header("Retry-After", String.valueOf(retryAfterSec))
                     .header("X-RateLimit-Limit", String.valueOf(LIMIT))
                     .header("X-RateLimit-Remaining", "0")
-                    .header("X-RateLimit-Reset", String.valueOf((w.windowStart() + WINDOW_MS) / 1000))
+                    .header("X-RateLimit-Reset", String.valueOf(rate.resetAt().getEpochSecond()))
                     .body(Map.of("error", "Rate limit exceeded. Try again later."));
         }
 
-        int remaining = remaining(user, w);
+        long remaining = rate.remaining();
         categorizeRequests.increment();
 
         // Analyze the asset based on name, brand, model, description
@@ -313,7 +290,7 @@ public class AIController {
         return ResponseEntity.ok()
                 .header("X-RateLimit-Limit", String.valueOf(LIMIT))
                 .header("X-RateLimit-Remaining", String.valueOf(remaining))
-                .header("X-RateLimit-Reset", String.valueOf((w.windowStart() + WINDOW_MS) / 1000))
+                .header("X-RateLimit-Reset", String.valueOf(rate.resetAt().getEpochSecond()))
                 .body(new AssetAnalysisResponse(
                         category,
                         detectedBrand,
@@ -331,20 +308,19 @@ public class AIController {
     public ResponseEntity<?> insights(@Valid @RequestBody InsightsRequest request) {
         long start = System.nanoTime();
         String user = currentUser();
-        boolean allowed = checkRateLimit(user);
-        Window w = getWindow(user);
-        if (!allowed) {
+        RateLimitStore.Decision rate = checkRateLimit(user);
+        if (!rate.allowed()) {
             rateLimitHits.increment();
-            long resetInMs = (w.windowStart() + WINDOW_MS) - System.currentTimeMillis();
+            long resetInMs = rate.resetAt().toEpochMilli() - System.currentTimeMillis();
             long retryAfterSec = Math.max(1, resetInMs / 1000);
             return ResponseEntity.status(429)
                     .header("Retry-After", String.valueOf(retryAfterSec))
                     .header("X-RateLimit-Limit", String.valueOf(LIMIT))
                     .header("X-RateLimit-Remaining", "0")
-                    .header("X-RateLimit-Reset", String.valueOf((w.windowStart() + WINDOW_MS) / 1000))
+                    .header("X-RateLimit-Reset", String.valueOf(rate.resetAt().getEpochSecond()))
                     .body(Map.of("error", "Rate limit exceeded. Try again later."));
         }
-        int remaining = remaining(user, w);
+        long remaining = rate.remaining();
         insightsRequests.increment();
         String lower = request.content().toLowerCase(Locale.ROOT);
 
@@ -365,7 +341,7 @@ public class AIController {
         return ResponseEntity.ok()
                 .header("X-RateLimit-Limit", String.valueOf(LIMIT))
                 .header("X-RateLimit-Remaining", String.valueOf(remaining))
-                .header("X-RateLimit-Reset", String.valueOf((w.windowStart() + WINDOW_MS) / 1000))
+                .header("X-RateLimit-Reset", String.valueOf(rate.resetAt().getEpochSecond()))
                 .body(new InsightsResponse(insights, latencyMs, Instant.now()));
     }
 
@@ -2,6 +2,7 @@ package com.chaseelkins.assetmanagement.controller;
 
 import com.chaseelkins.assetmanagement.dto.UserDTO;
 import com.chaseelkins.assetmanagement.model.User;
+import com.chaseelkins.assetmanagement.security.PasswordHashingBusyException;
 import com.chaseelkins.assetmanagement.service.UserService;
 import com.chaseelkins.assetmanagement.web.ErrorResponse;
 import jakarta.validation.Valid;
@@ -47,6 +48,8 @@ public class AdminController {
         try {
             User createdUser = userService.createUser(userDTO);
             return ResponseEntity.status(HttpStatus.CREATED).body(UserDTO.fromEntity(createdUser));
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
@@ -122,6 +125,8 @@ public class AdminController {
                 "temporaryPassword", tempPassword,
                 "note", "User must change password on next login"
             ));
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -162,6 +167,8 @@ public class AdminController {
             user.setMustChangePassword(false); // Admin set it, so no need to force change
             userService.updateUserDirect(user);
             return ResponseEntity.ok(Map.of("message", "Password changed successfully"));
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -1,9 +1,13 @@
 package com.chaseelkins.assetmanagement.controller;
 
 import com.chaseelkins.assetmanagement.dto.AssetDTO;
+import com.chaseelkins.assetmanagement.dto.AssetDetailDTO;
+import com.chaseelkins.assetmanagement.dto.AssetSummaryDTO;
 import com.chaseelkins.assetmanagement.model.Asset;
 import com.chaseelkins.assetmanagement.service.AssetService;
+import com.chaseelkins.assetmanagement.web.ErrorResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -29,11 +33,26 @@ public class AssetController {
      * Get all assets with pagination
      */
     @GetMapping
-    public ResponseEntity<Page<Asset>> getAllAssets(Pageable pageable) {
-        Page<Asset> assets = assetService.getAllAssets(pageable);
+    public ResponseEntity<Page<AssetSummaryDTO>> getAllAssets(Pageable pageable) {
+        Page<AssetSummaryDTO> assets = assetService.getAllAssets(pageable);
         return ResponseEntity.ok(assets);
     }
 
+    /**
+     * Get assets with keyset pagination: pass an empty cursor for the first page, then each nextCursor
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<?> scrollAssets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(assetService.scrollAssets(cursor, size, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
     /**
      * Create a new asset
      */
@@ -48,9 +67,9 @@ public class AssetController {
      * Get asset by ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Asset> getAssetById(@PathVariable @Min(1) Long id) {
+    public ResponseEntity<AssetDetailDTO> getAssetById(@PathVariable @Min(1) Long id) {
         try {
-            Asset asset = assetService.getAssetById(id);
+            AssetDetailDTO asset = assetService.getAssetDetail(id);
             return ResponseEntity.ok(asset);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -89,10 +108,10 @@ public class AssetController {
      * Search assets
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<Asset>> searchAssets(
+    public ResponseEntity<Page<AssetSummaryDTO>> searchAssets(
             @RequestParam String query,
             Pageable pageable) {
-        Page<Asset> assets = assetService.searchAssets(query, pageable);
+        Page<AssetSummaryDTO> assets = assetService.searchAssets(query, pageable);
         return ResponseEntity.ok(assets);
     }
 
@@ -100,10 +119,10 @@ public class AssetController {
      * Get assets by status
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<Page<Asset>> getAssetsByStatus(
+    public ResponseEntity<Page<AssetSummaryDTO>> getAssetsByStatus(
             @PathVariable Asset.AssetStatus status,
             Pageable pageable) {
-        Page<Asset> assets = assetService.getAssetsByStatus(status, pageable);
+        Page<AssetSummaryDTO> assets = assetService.getAssetsByStatus(status, pageable);
         return ResponseEntity.ok(assets);
     }
 
@@ -111,11 +130,11 @@ public class AssetController {
      * Get assets by category
      */
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<Page<Asset>> getAssetsByCategory(
+    public ResponseEntity<Page<AssetSummaryDTO>> getAssetsByCategory(
             @PathVariable Long categoryId,
             Pageable pageable) {
         try {
-            Page<Asset> assets = assetService.getAssetsByCategory(categoryId, pageable);
+            Page<AssetSummaryDTO> assets = assetService.getAssetsByCategory(categoryId, pageable);
             return ResponseEntity.ok(assets);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
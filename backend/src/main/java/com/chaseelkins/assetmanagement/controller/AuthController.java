@@ -2,6 +2,7 @@ package com.chaseelkins.assetmanagement.controller;
 
 import com.chaseelkins.assetmanagement.security.JwtTokenProvider;
 import com.chaseelkins.assetmanagement.security.AuthRateLimiter;
+import com.chaseelkins.assetmanagement.security.PasswordHashingBusyException;
 import com.chaseelkins.assetmanagement.service.RefreshTokenService;
 import com.chaseelkins.assetmanagement.service.RefreshTokenService.GeneratedToken;
 import com.chaseelkins.assetmanagement.service.UserService;
@@ -88,20 +89,27 @@ public class AuthController {
                     "Attempts remaining: " + remaining
                 ));
         }
+        // Over the account's failure budget attempts are paced, not locked out
+        long accountRetryAfter = authRateLimiter.getAccountRetryAfterSeconds(request.getEmail());
+        if (accountRetryAfter > 0) {
+            loginFailure.increment();
+            return ResponseEntity.status(429)
+                .header("Retry-After", String.valueOf(accountRetryAfter))
+                .body(new ErrorResponse("Too many login attempts for this account. Please try again shortly."));
+        }
         
         try {
             Authentication auth = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
             );
             UserDetails principal = (UserDetails) auth.getPrincipal();
-            String accessToken = jwtTokenProvider.generateToken(principal);
             String userAgent = httpRequest.getHeader("User-Agent");
             String ip = httpRequest.getRemoteAddr();
             // principal.getUsername() returns email now (changed in CustomUserDetailsService)
             User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
             if (Boolean.TRUE.equals(user.getMustChangePassword())) {
                 // Do not issue tokens, require password change
-                authRateLimiter.recordFailedLogin(request.getEmail(), ipAddress);
+                authRateLimiter.recordFailedLogin(request.getEmail(), ipAddress, true);
                 loginFailure.increment();
                 return ResponseEntity.status(403)
                         .body(new ErrorResponse("Password change required. Please change your password before logging in."));
@@ -110,6 +118,7 @@ public class AuthController {
             // Clear rate limits on successful login
             authRateLimiter.clearLimits(request.getEmail(), ipAddress);
             
+            String accessToken = jwtTokenProvider.generateToken(user);
             GeneratedToken refresh = refreshTokenService.generate(user, userAgent, ip);
             long expiresInSeconds = jwtTokenProvider.getAccessExpirationMillis() / 1000;
             AuthResponse payload = new AuthResponse(accessToken, refresh.raw(), expiresInSeconds, UserDTO.fromEntity(user));
@@ -119,23 +128,33 @@ public class AuthController {
             return builder.body(payload);
         } catch (BadCredentialsException ex) {
             // Record failed login for rate limiting
-            authRateLimiter.recordFailedLogin(request.getEmail(), ipAddress);
+            recordFailedLogin(request.getEmail(), ipAddress);
             loginFailure.increment();
             return ResponseEntity.status(401)
                     .body(new ErrorResponse("Invalid username or password. Please check your credentials and try again."));
+        } catch (PasswordHashingBusyException ex) {
+            // Shed before checking the password: not a failed attempt
+            return PasswordHashingBusyHandler.busy(ex);
         } catch (AuthenticationException ex) {
-            authRateLimiter.recordFailedLogin(request.getEmail(), ipAddress);
+            if (ex.getCause() instanceof PasswordHashingBusyException busy) {
+                return PasswordHashingBusyHandler.busy(busy);
+            }
+            recordFailedLogin(request.getEmail(), ipAddress);
             loginFailure.increment();
             return ResponseEntity.status(401)
                 .body(new ErrorResponse("Authentication failed. Please verify your account status and try again."));
         } catch (Exception ex) {
-            authRateLimiter.recordFailedLogin(request.getEmail(), ipAddress);
+            recordFailedLogin(request.getEmail(), ipAddress);
             loginFailure.increment();
             return ResponseEntity.status(500)
                     .body(new ErrorResponse("Login failed. Please try again."));
         }
     }
 
+    private void recordFailedLogin(String email, String ipAddress) {
+        authRateLimiter.recordFailedLogin(email, ipAddress, email != null && userRepository.existsByEmail(email));
+    }
+
     @PostMapping("/refresh")
     public ResponseEntity<?> refresh(@RequestHeader(value = "X-Refresh-Token", required = false) String refreshToken,
                                      HttpServletRequest httpRequest) {
@@ -147,10 +166,7 @@ public class AuthController {
             String ip = httpRequest.getRemoteAddr();
             GeneratedToken rotated = refreshTokenService.rotate(refreshToken, userAgent, ip);
             User user = rotated.entity().getUser();
-            UserDetails principal = new org.springframework.security.core.userdetails.User(
-                    user.getUsername(), user.getPassword(), java.util.List.of(new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-            );
-            String accessToken = jwtTokenProvider.generateToken(principal);
+            String accessToken = jwtTokenProvider.generateToken(user);
             long expiresInSeconds = jwtTokenProvider.getAccessExpirationMillis() / 1000;
             AuthResponse payload = new AuthResponse(accessToken, rotated.raw(), expiresInSeconds, UserDTO.fromEntity(user));
             ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
@@ -205,6 +221,8 @@ public class AuthController {
         try {
             userService.changePassword(user.getId(), request.getCurrentPassword(), request.getNewPassword());
             return ResponseEntity.ok(java.util.Map.of("message", "Password changed successfully"));
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
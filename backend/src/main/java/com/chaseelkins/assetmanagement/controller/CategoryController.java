@@ -4,7 +4,9 @@ import com.chaseelkins.assetmanagement.dto.CategoryDTO;
 import com.chaseelkins.assetmanagement.dto.CategorySummaryDTO;
 import com.chaseelkins.assetmanagement.model.Category;
 import com.chaseelkins.assetmanagement.service.CategoryService;
+import com.chaseelkins.assetmanagement.web.ErrorResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,7 +17,6 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/categories")
@@ -31,33 +32,36 @@ public class CategoryController {
 
     @GetMapping
     public ResponseEntity<List<CategorySummaryDTO>> getAll() {
-        List<Category> categories = categoryService.getAllCategories(Pageable.unpaged()).getContent();
-        List<CategorySummaryDTO> dtos = categories.stream()
-                .map(CategorySummaryDTO::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(categoryService.getAllCategories());
+    }
+
+    /**
+     * Get categories with keyset pagination: pass an empty cursor for the first page, then each nextCursor
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<?> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(categoryService.scrollCategories(cursor, size, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
     }
 
     @GetMapping("/active")
     public ResponseEntity<List<CategorySummaryDTO>> getActive() {
-        List<Category> categories = categoryService.getActiveCategories();
-        List<CategorySummaryDTO> dtos = categories.stream()
-                .map(CategorySummaryDTO::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(categoryService.getActiveCategories());
     }
 
     @GetMapping("/recent")
     public ResponseEntity<List<CategorySummaryDTO>> getRecent() {
-        List<Category> categories = categoryService.getRecentlyCreatedCategories();
-        List<CategorySummaryDTO> dtos = categories.stream()
-                .map(CategorySummaryDTO::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(categoryService.getRecentlyCreatedCategories());
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<Category>> search(@RequestParam String query, Pageable pageable) {
+    public ResponseEntity<Page<CategorySummaryDTO>> search(@RequestParam String query, Pageable pageable) {
         return ResponseEntity.ok(categoryService.searchCategories(query, pageable));
     }
 
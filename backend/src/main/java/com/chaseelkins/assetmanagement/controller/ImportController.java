@@ -2,12 +2,13 @@ package com.chaseelkins.assetmanagement.controller;
 
 import com.chaseelkins.assetmanagement.dto.imports.BulkImportRequests;
 import com.chaseelkins.assetmanagement.dto.imports.BulkImportResponses;
-import com.chaseelkins.assetmanagement.model.Asset;
-import com.chaseelkins.assetmanagement.repository.AssetRepository;
+import com.chaseelkins.assetmanagement.dto.imports.ImportJobDTO;
 import com.chaseelkins.assetmanagement.service.ExcelService;
+import com.chaseelkins.assetmanagement.service.ImportJobService;
 import com.chaseelkins.assetmanagement.service.ImportService;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -21,14 +22,16 @@ import java.util.List;
 @CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000", "http://localhost:3001", "http://127.0.0.1:3001", "http://localhost:5173", "http://127.0.0.1:5173", "http://localhost:3006", "http://127.0.0.1:3006"})
 public class ImportController {
 
+    private static final int EXCEL_IMPORT_BATCH_SIZE = 500;
+
     private final ImportService importService;
     private final ExcelService excelService;
-    private final AssetRepository assetRepository;
+    private final ImportJobService importJobService;
 
-    public ImportController(ImportService importService, ExcelService excelService, AssetRepository assetRepository) {
+    public ImportController(ImportService importService, ExcelService excelService, ImportJobService importJobService) {
         this.importService = importService;
         this.excelService = excelService;
-        this.assetRepository = assetRepository;
+        this.importJobService = importJobService;
     }
 
     @PostMapping("/categories")
@@ -49,31 +52,62 @@ public class ImportController {
     @PreAuthorize("hasAnyRole('IT_ADMIN','MANAGER','SUPER_ADMIN')")
     public ResponseEntity<BulkImportResponses.Summary> importExcel(@RequestParam("file") MultipartFile file) {
         try {
-            if (file.isEmpty()) {
-                throw new IllegalArgumentException("File is empty");
-            }
-            
-            String filename = file.getOriginalFilename();
-            if (filename == null || !filename.toLowerCase().endsWith(".xlsx")) {
-                throw new IllegalArgumentException("Only .xlsx files are supported");
-            }
+            validateExcelUpload(file);
             
-            BulkImportRequests.AssetsRequest request = excelService.parseExcelFile(file);
-            BulkImportResponses.Summary summary = importService.importAssets(request);
+            // Rows are persisted batch by batch while the sheet is still being read
+            BulkImportResponses.Summary summary = new BulkImportResponses.Summary();
+            excelService.streamExcelFile(file, EXCEL_IMPORT_BATCH_SIZE, summary,
+                    batch -> importService.importAssetBatch(batch, summary));
+            importService.finishAssetImport();
             return ResponseEntity.ok(summary);
         } catch (IOException e) {
             throw new RuntimeException("Failed to parse Excel file: " + e.getMessage(), e);
         }
     }
 
+    @PostMapping("/jobs/excel")
+    @PreAuthorize("hasAnyRole('IT_ADMIN','MANAGER','SUPER_ADMIN')")
+    public ResponseEntity<ImportJobDTO> submitExcelImportJob(@RequestParam("file") MultipartFile file) {
+        try {
+            validateExcelUpload(file);
+            // Runs in the background; poll GET /imports/jobs/{id} for progress
+            ImportJobDTO job = importJobService.submit(file);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    @GetMapping("/jobs/{id}")
+    @PreAuthorize("hasAnyRole('IT_ADMIN','MANAGER','SUPER_ADMIN')")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable Long id) {
+        return ResponseEntity.ok(importJobService.getJob(id));
+    }
+
+    @GetMapping("/jobs")
+    @PreAuthorize("hasAnyRole('IT_ADMIN','MANAGER','SUPER_ADMIN')")
+    public ResponseEntity<List<ImportJobDTO>> getRecentImportJobs() {
+        return ResponseEntity.ok(importJobService.getRecentJobs());
+    }
+
     @GetMapping("/export/excel")
     @PreAuthorize("hasAnyRole('IT_ADMIN','MANAGER','SUPER_ADMIN','IT_STAFF')")
     public void exportAssetsToExcel(HttpServletResponse response) {
         try {
-            List<Asset> assets = assetRepository.findAll();
-            excelService.exportAssetsToExcel(assets, response);
+            excelService.streamAssetsToExcel(response);
         } catch (IOException e) {
             throw new RuntimeException("Failed to export Excel file: " + e.getMessage(), e);
         }
     }
+
+    private void validateExcelUpload(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        
+        String filename = file.getOriginalFilename();
+        if (filename == null || !filename.toLowerCase().endsWith(".xlsx")) {
+            throw new IllegalArgumentException("Only .xlsx files are supported");
+        }
+    }
 }
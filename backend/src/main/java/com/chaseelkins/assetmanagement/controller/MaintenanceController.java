@@ -3,6 +3,7 @@ package com.chaseelkins.assetmanagement.controller;
 import com.chaseelkins.assetmanagement.dto.MaintenanceRecordDTO;
 import com.chaseelkins.assetmanagement.model.MaintenanceRecord;
 import com.chaseelkins.assetmanagement.service.MaintenanceService;
+import com.chaseelkins.assetmanagement.web.ErrorResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -33,6 +34,21 @@ public class MaintenanceController {
         return ResponseEntity.ok(maintenanceService.getAll(pageable));
     }
 
+    /**
+     * Get maintenance records with keyset pagination: pass an empty cursor for the first page, then each nextCursor
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<?> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(maintenanceService.scroll(cursor, size, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
     @GetMapping("/asset/{assetId}")
     public ResponseEntity<List<MaintenanceRecord>> getByAsset(@PathVariable @Min(1) Long assetId) {
         return ResponseEntity.ok(maintenanceService.getByAsset(assetId));
@@ -0,0 +1,27 @@
+package com.chaseelkins.assetmanagement.controller;
+
+import com.chaseelkins.assetmanagement.security.PasswordHashingBusyException;
+import com.chaseelkins.assetmanagement.web.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Sheds requests that need a password hash while the hashing pool is saturated
+ */
+@RestControllerAdvice
+public class PasswordHashingBusyHandler {
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handleBusy(PasswordHashingBusyException ex) {
+        return busy(ex);
+    }
+
+    static ResponseEntity<ErrorResponse> busy(PasswordHashingBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse("Server is busy. Please try again shortly."));
+    }
+}
@@ -2,8 +2,11 @@ package com.chaseelkins.assetmanagement.controller;
 
 import com.chaseelkins.assetmanagement.dto.UserDTO;
 import com.chaseelkins.assetmanagement.model.User;
+import com.chaseelkins.assetmanagement.security.PasswordHashingBusyException;
 import com.chaseelkins.assetmanagement.service.UserService;
+import com.chaseelkins.assetmanagement.web.ErrorResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -34,6 +37,21 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Get users with keyset pagination: pass an empty cursor for the first page, then each nextCursor
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<?> scrollUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(userService.scrollUsers(cursor, size, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
     /**
      * Create a new user
      */
@@ -66,6 +84,8 @@ public class UserController {
         try {
             User updatedUser = userService.updateUser(id, userDTO);
             return ResponseEntity.ok(updatedUser);
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,6 @@
+package com.chaseelkins.assetmanagement.dto;
+
+/**
+ * A user assigned to an asset, as shown in asset read models
+ */
+public record AssetAssigneeDTO(Long id, String firstName, String lastName, String email) {}
@@ -0,0 +1,52 @@
+package com.chaseelkins.assetmanagement.dto;
+
+import com.chaseelkins.assetmanagement.model.Asset;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Single-asset view: every asset field plus its category and assigned users.
+ * Maintenance history is served by the maintenance endpoints rather than embedded here.
+ */
+public record AssetDetailDTO(Long id,
+                             String name,
+                             String assetTag,
+                             String description,
+                             String brand,
+                             String model,
+                             String serialNumber,
+                             BigDecimal purchasePrice,
+                             LocalDate purchaseDate,
+                             String vendor,
+                             String location,
+                             Asset.AssetStatus status,
+                             Asset.AssetCondition condition,
+                             LocalDate warrantyExpiry,
+                             LocalDate nextMaintenance,
+                             String notes,
+                             LocalDateTime createdAt,
+                             LocalDateTime updatedAt,
+                             Long categoryId,
+                             String categoryName,
+                             List<AssetAssigneeDTO> assignedUsers) {
+
+    /**
+     * Expects category and assigned users to be fetched already (see AssetRepository#findDetailById)
+     */
+    public static AssetDetailDTO from(Asset asset) {
+        List<AssetAssigneeDTO> assignees = asset.getAssignedUsers().stream()
+                .map(u -> new AssetAssigneeDTO(u.getId(), u.getFirstName(), u.getLastName(), u.getEmail()))
+                .sorted(Comparator.comparing(AssetAssigneeDTO::id))
+                .toList();
+        return new AssetDetailDTO(asset.getId(), asset.getName(), asset.getAssetTag(), asset.getDescription(),
+                asset.getBrand(), asset.getModel(), asset.getSerialNumber(), asset.getPurchasePrice(),
+                asset.getPurchaseDate(), asset.getVendor(), asset.getLocation(), asset.getStatus(),
+                asset.getCondition(), asset.getWarrantyExpiry(), asset.getNextMaintenance(), asset.getNotes(),
+                asset.getCreatedAt(), asset.getUpdatedAt(), asset.getCategory().getId(),
+                asset.getCategory().getName(), assignees);
+    }
+}
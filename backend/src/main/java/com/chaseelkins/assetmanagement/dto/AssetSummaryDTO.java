@@ -0,0 +1,46 @@
+package com.chaseelkins.assetmanagement.dto;
+
+import com.chaseelkins.assetmanagement.model.Asset;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Asset row for list views. Built straight from a JPQL constructor expression, so listing a page
+ * never loads Asset entities or their lazy relations; assigned users are attached from one
+ * follow-up query per page.
+ */
+public record AssetSummaryDTO(Long id,
+                              String name,
+                              String assetTag,
+                              String brand,
+                              String model,
+                              String serialNumber,
+                              String location,
+                              Asset.AssetStatus status,
+                              Asset.AssetCondition condition,
+                              BigDecimal purchasePrice,
+                              LocalDate warrantyExpiry,
+                              LocalDate nextMaintenance,
+                              LocalDateTime createdAt,
+                              LocalDateTime updatedAt,
+                              Long categoryId,
+                              String categoryName,
+                              List<AssetAssigneeDTO> assignedUsers) {
+
+    // Used by the repository's constructor expressions
+    public AssetSummaryDTO(Long id, String name, String assetTag, String brand, String model, String serialNumber,
+                           String location, Asset.AssetStatus status, Asset.AssetCondition condition,
+                           BigDecimal purchasePrice, LocalDate warrantyExpiry, LocalDate nextMaintenance,
+                           LocalDateTime createdAt, LocalDateTime updatedAt, Long categoryId, String categoryName) {
+        this(id, name, assetTag, brand, model, serialNumber, location, status, condition, purchasePrice,
+             warrantyExpiry, nextMaintenance, createdAt, updatedAt, categoryId, categoryName, List.of());
+    }
+
+    public AssetSummaryDTO withAssignedUsers(List<AssetAssigneeDTO> users) {
+        return new AssetSummaryDTO(id, name, assetTag, brand, model, serialNumber, location, status, condition,
+                purchasePrice, warrantyExpiry, nextMaintenance, createdAt, updatedAt, categoryId, categoryName, users);
+    }
+}
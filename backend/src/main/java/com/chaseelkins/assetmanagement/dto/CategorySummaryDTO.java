@@ -22,6 +22,9 @@ public class CategorySummaryDTO {
     // Constructors
     public CategorySummaryDTO() {}
 
+    /**
+     * Copies the category's own fields; assetCount is left unset so the lazy assets collection is never loaded
+     */
     public CategorySummaryDTO(Category category) {
         this.id = category.getId();
         this.name = category.getName();
@@ -32,7 +35,24 @@ public class CategorySummaryDTO {
         this.sortOrder = category.getSortOrder();
         this.createdAt = category.getCreatedAt();
         this.updatedAt = category.getUpdatedAt();
-        this.assetCount = category.getAssetCount();
+    }
+
+    public CategorySummaryDTO(Category category, Integer assetCount) {
+        this(category);
+        this.assetCount = assetCount;
+    }
+
+    public CategorySummaryDTO(CategorySummaryDTO other, Integer assetCount) {
+        this.id = other.id;
+        this.name = other.name;
+        this.description = other.description;
+        this.colorCode = other.colorCode;
+        this.icon = other.icon;
+        this.active = other.active;
+        this.sortOrder = other.sortOrder;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.assetCount = assetCount;
     }
 
     // Getters and Setters
@@ -0,0 +1,63 @@
+package com.chaseelkins.assetmanagement.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing ordered by (updatedAt, id).
+ * Pass nextCursor back as ?cursor= to get the following page; each page is a single indexed
+ * range read no matter how deep it is. totalElements is only filled in when requested,
+ * since it costs a count over the whole table.
+ */
+public record CursorPage<T>(List<T> content, int size, boolean hasNext, String nextCursor, Long totalElements) {
+
+    /**
+     * Build a page from up to {@code size + 1} rows; the extra row only signals that more exist
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Key> keyOf, Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? keyOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, size, hasNext, nextCursor, totalElements);
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new CursorPage<>(mapped, size, hasNext, nextCursor, totalElements);
+    }
+
+    /**
+     * Position of the last row of a page. Encoded as URL-safe Base64 so clients treat it as opaque.
+     */
+    public record Key(LocalDateTime updatedAt, Long id) {
+
+        public String encode() {
+            String raw = updatedAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Decode a cursor; null or blank means the first page
+         * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+         */
+        public static Key decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                return new Key(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
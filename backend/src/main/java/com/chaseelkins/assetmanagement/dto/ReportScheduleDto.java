@@ -34,6 +34,9 @@ public class ReportScheduleDto {
     private LocalDateTime updatedAt;
     private LocalDateTime lastRunAt;
     private LocalDateTime nextRunAt;
+    private ReportSchedule.RunStatus lastStatus;
+    private Long lastDurationMs;
+    private String lastError;
 
     /**
      * Convert entity to DTO
@@ -57,6 +60,9 @@ public class ReportScheduleDto {
                 .updatedAt(entity.getUpdatedAt())
                 .lastRunAt(entity.getLastRunAt())
                 .nextRunAt(entity.getNextRunAt())
+                .lastStatus(entity.getLastStatus())
+                .lastDurationMs(entity.getLastDurationMs())
+                .lastError(entity.getLastError())
                 .build();
     }
 }
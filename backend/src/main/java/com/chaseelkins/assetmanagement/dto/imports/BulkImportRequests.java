@@ -41,4 +41,7 @@ public class BulkImportRequests {
     ) {}
 
     public record AssetsRequest(List<AssetItem> assets) {}
+
+    // An asset item tagged with its position in the source (list index or spreadsheet row)
+    public record AssetRow(int index, AssetItem item) {}
 }
@@ -0,0 +1,58 @@
+package com.chaseelkins.assetmanagement.dto.imports;
+
+import com.chaseelkins.assetmanagement.model.ImportJob;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of an asynchronous import job, returned by the polling endpoint
+ */
+@Data
+@NoArgsConstructor
+public class ImportJobDTO {
+
+    private Long id;
+    private ImportJob.Status status;
+    private String originalFilename;
+    private String createdBy;
+    private int processedRows;
+    private int createdRows;
+    private int updatedRows;
+    private int failedRows;
+    private int checkpointRow;
+    private double rowsPerSecond;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private List<BulkImportResponses.RowError> errors;
+
+    public static ImportJobDTO fromEntity(ImportJob job, List<BulkImportResponses.RowError> errors) {
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setId(job.getId());
+        dto.setStatus(job.getStatus());
+        dto.setOriginalFilename(job.getOriginalFilename());
+        dto.setCreatedBy(job.getCreatedBy());
+        dto.setProcessedRows(job.getProcessedRows());
+        dto.setCreatedRows(job.getCreatedRows());
+        dto.setUpdatedRows(job.getUpdatedRows());
+        dto.setFailedRows(job.getFailedRows());
+        dto.setCheckpointRow(job.getCheckpointRow());
+        dto.setErrorMessage(job.getErrorMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setErrors(errors);
+
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            long millis = Duration.between(job.getStartedAt(), end).toMillis();
+            dto.setRowsPerSecond(millis > 0 ? job.getProcessedRows() * 1000.0 / millis : 0);
+        }
+        return dto;
+    }
+}
@@ -1,5 +1,6 @@
 package com.chaseelkins.assetmanagement.model;
 
+import com.chaseelkins.assetmanagement.search.AssetSearchIndexListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
@@ -21,13 +22,18 @@ import java.util.Set;
 @Table(name = "assets", indexes = {
     @Index(name = "idx_assets_tenant", columnList = "tenant_id"),
     @Index(name = "idx_assets_asset_tag", columnList = "asset_tag"),
-    @Index(name = "idx_assets_status", columnList = "status")
+    @Index(name = "idx_assets_status", columnList = "status"),
+    @Index(name = "idx_assets_tenant_next_maintenance", columnList = "tenant_id, next_maintenance"),
+    @Index(name = "idx_assets_tenant_warranty_expiry", columnList = "tenant_id, warranty_expiry"),
+    @Index(name = "idx_assets_updated_id", columnList = "updated_at, id")
 })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, AssetSearchIndexListener.class})
 public class Asset extends TenantAwareEntity {
     
+    // Sequence (not identity) ids so Hibernate can batch inserts; allocationSize matches the sequence increment
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assets_id_seq")
+    @SequenceGenerator(name = "assets_id_seq", sequenceName = "assets_id_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Asset name is required")
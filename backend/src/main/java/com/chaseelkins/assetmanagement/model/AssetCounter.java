@@ -0,0 +1,91 @@
+package com.chaseelkins.assetmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Stored asset count for one tenant: the total, one status, or one category.
+ * Maintained by AssetCounterService in the same transaction as the asset change.
+ */
+@Entity
+@Table(name = "asset_counters",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_asset_counters_key", columnNames = {"tenant_id", "dimension", "dimension_key"})
+       })
+@Data
+@NoArgsConstructor
+public class AssetCounter {
+
+    // dimension_key of the TOTAL row
+    public static final String TOTAL_KEY = "*";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private Long tenantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Dimension dimension;
+
+    // Status name, category id, or TOTAL_KEY
+    @Column(name = "dimension_key", nullable = false, length = 50)
+    private String dimensionKey;
+
+    @Column(name = "asset_count", nullable = false)
+    private long assetCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public AssetCounter(Long tenantId, Key key, long assetCount) {
+        this.tenantId = tenantId;
+        this.dimension = key.dimension();
+        this.dimensionKey = key.value();
+        this.assetCount = assetCount;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Key key() {
+        return new Key(dimension, dimensionKey);
+    }
+
+    public enum Dimension {
+        TOTAL,
+        STATUS,
+        CATEGORY
+    }
+
+    /**
+     * Identifies one counter within a tenant. Ordered so every transaction touches
+     * counter rows in the same order.
+     */
+    public record Key(Dimension dimension, String value) implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER =
+                Comparator.comparing(Key::dimension).thenComparing(Key::value);
+
+        public static Key total() {
+            return new Key(Dimension.TOTAL, TOTAL_KEY);
+        }
+
+        public static Key status(Asset.AssetStatus status) {
+            return new Key(Dimension.STATUS, status.name());
+        }
+
+        public static Key category(Long categoryId) {
+            return new Key(Dimension.CATEGORY, String.valueOf(categoryId));
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -15,7 +15,8 @@ import java.util.Set;
 @Entity
 @Table(name = "categories", indexes = {
     @Index(name = "idx_categories_tenant", columnList = "tenant_id"),
-    @Index(name = "idx_categories_active", columnList = "active")
+    @Index(name = "idx_categories_active", columnList = "active"),
+    @Index(name = "idx_categories_updated_id", columnList = "updated_at, id")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class Category extends TenantAwareEntity {
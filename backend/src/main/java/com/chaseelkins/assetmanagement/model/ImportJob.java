@@ -0,0 +1,92 @@
+package com.chaseelkins.assetmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Asynchronous asset import job.
+ * Tracks progress and the last committed row so an interrupted job can resume
+ * from its checkpoint. A job is owned by one node at a time through a lease
+ * (lockedBy + heartbeatAt) that other nodes may take over once it goes stale.
+ */
+@Entity
+@Table(name = "import_jobs", indexes = {
+    @Index(name = "idx_import_jobs_tenant", columnList = "tenant_id"),
+    @Index(name = "idx_import_jobs_status", columnList = "status")
+})
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+public class ImportJob extends TenantAwareEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.QUEUED;
+
+    @Column(name = "original_filename")
+    private String originalFilename;
+
+    @Column(name = "storage_path", nullable = false, length = 1024)
+    private String storagePath;
+
+    @Column(name = "created_by")
+    private String createdBy;
+
+    @Column(name = "processed_rows", nullable = false)
+    private int processedRows = 0;
+
+    @Column(name = "created_rows", nullable = false)
+    private int createdRows = 0;
+
+    @Column(name = "updated_rows", nullable = false)
+    private int updatedRows = 0;
+
+    @Column(name = "failed_rows", nullable = false)
+    private int failedRows = 0;
+
+    // Index of the last row whose chunk has been committed (-1 = nothing committed yet)
+    @Column(name = "checkpoint_row", nullable = false)
+    private int checkpointRow = -1;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public enum Status {
+        QUEUED,     // Accepted and stored, waiting for a worker
+        RUNNING,    // Being processed (or interrupted and waiting to be resumed)
+        COMPLETED,  // All rows processed
+        FAILED      // Stopped on an unrecoverable error (e.g. unreadable file)
+    }
+}
@@ -0,0 +1,36 @@
+package com.chaseelkins.assetmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row-level error recorded by an import job
+ */
+@Entity
+@Table(name = "import_job_errors", indexes = {
+    @Index(name = "idx_import_job_errors_job", columnList = "job_id, row_index")
+})
+@Data
+@NoArgsConstructor
+public class ImportJobError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "row_index", nullable = false)
+    private int rowIndex;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    public ImportJobError(Long jobId, int rowIndex, String message) {
+        this.jobId = jobId;
+        this.rowIndex = rowIndex;
+        this.message = message;
+    }
+}
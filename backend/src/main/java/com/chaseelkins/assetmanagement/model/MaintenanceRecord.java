@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "maintenance_records", indexes = {
     @Index(name = "idx_maintenance_tenant", columnList = "tenant_id"),
-    @Index(name = "idx_maintenance_asset", columnList = "asset_id")
+    @Index(name = "idx_maintenance_asset", columnList = "asset_id"),
+    @Index(name = "idx_maintenance_updated_id", columnList = "updated_at, id")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class MaintenanceRecord extends TenantAwareEntity {
@@ -88,6 +88,27 @@ public class ReportSchedule extends TenantAwareEntity {
     @Column(name = "next_run_at")
     private LocalDateTime nextRunAt;
 
+    // Lease held by the node generating this report; expired leases can be claimed again
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_status", length = 20)
+    private RunStatus lastStatus;
+
+    @Column(name = "last_duration_ms")
+    private Long lastDurationMs;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Builder.Default
+    @Column(name = "consecutive_failures", nullable = false)
+    private Integer consecutiveFailures = 0;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -152,6 +173,11 @@ public class ReportSchedule extends TenantAwareEntity {
         calculateNextRun();
     }
 
+    public enum RunStatus {
+        SUCCESS,
+        FAILED
+    }
+
     public enum ReportType {
         ASSET_LIST("Complete Asset List"),
         MAINTENANCE_DUE("Maintenance Due Soon"),
@@ -188,6 +214,7 @@ public class ReportSchedule extends TenantAwareEntity {
 
     public enum ReportFormat {
         CSV("CSV"),
+        XLSX("Excel"),
         PDF("PDF");
 
         private final String displayName;
@@ -1,6 +1,8 @@
 package com.chaseelkins.assetmanagement.model;
 
+import com.chaseelkins.assetmanagement.security.UserSecurityListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
@@ -12,15 +14,17 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 
 @Entity
 @Table(name = "users", indexes = {
     @Index(name = "idx_users_tenant", columnList = "tenant_id"),
     @Index(name = "idx_users_username", columnList = "username"),
-    @Index(name = "idx_users_email", columnList = "email")
+    @Index(name = "idx_users_email", columnList = "email"),
+    @Index(name = "idx_users_updated_id", columnList = "updated_at, id")
 })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, UserSecurityListener.class})
 public class User extends TenantAwareEntity {
     
     @Id
@@ -89,6 +93,11 @@ public class User extends TenantAwareEntity {
     @Column(name = "profile_picture_url")
     private String profilePictureUrl;
     
+    // Bumped whenever the email, password, role or active flag changes; invalidates issued tokens
+    @JsonIgnore
+    @Column(name = "security_version", nullable = false)
+    private int securityVersion = 0;
+    
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -150,6 +159,9 @@ public class User extends TenantAwareEntity {
     }
     
     public void setEmail(String email) {
+        if (!Objects.equals(this.email, email)) {
+            securityVersion++;
+        }
         this.email = email;
     }
     
@@ -158,6 +170,9 @@ public class User extends TenantAwareEntity {
     }
     
     public void setPassword(String password) {
+        if (!Objects.equals(this.password, password)) {
+            securityVersion++;
+        }
         this.password = password;
     }
     
@@ -206,6 +221,9 @@ public class User extends TenantAwareEntity {
     }
     
     public void setRole(Role role) {
+        if (this.role != role) {
+            securityVersion++;
+        }
         this.role = role;
     }
     
@@ -214,9 +232,16 @@ public class User extends TenantAwareEntity {
     }
     
     public void setActive(Boolean active) {
+        if (!Objects.equals(this.active, active)) {
+            securityVersion++;
+        }
         this.active = active;
     }
     
+    public int getSecurityVersion() {
+        return securityVersion;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
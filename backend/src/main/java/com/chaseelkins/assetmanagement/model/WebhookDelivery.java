@@ -0,0 +1,79 @@
+package com.chaseelkins.assetmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row: one event to be delivered to one webhook.
+ * Written in the same transaction as the change that raised the event and sent later
+ * by WebhookDeliveryRelay. Rows of one webhook are delivered in id order; a row that
+ * keeps failing is retried with backoff and finally moved to DEAD.
+ */
+@Entity
+@Table(name = "webhook_deliveries", indexes = {
+    @Index(name = "idx_webhook_deliveries_due", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_webhook_deliveries_webhook", columnList = "webhook_id, status, id")
+})
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+public class WebhookDelivery extends TenantAwareEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "webhook_id", nullable = false)
+    private Long webhookId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private Webhook.WebhookEvent event;
+
+    // Request body as sent, built when the event was raised
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    public enum Status {
+        PENDING,
+        DELIVERED,
+        DEAD
+    }
+}
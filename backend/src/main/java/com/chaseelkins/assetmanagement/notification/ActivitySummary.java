@@ -0,0 +1,84 @@
+package com.chaseelkins.assetmanagement.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of events folded into what the chat channels (Slack, Teams) post about it:
+ * asset changes collapse into one activity summary, and the daily checks into one list each.
+ * The daily checks only carry the first assets of a large result, so their totals are kept
+ * apart from the lists.
+ */
+record ActivitySummary(List<AssetSnapshot> created,
+                       List<AssetSnapshot> updated,
+                       int importedCreated,
+                       int importedUpdated,
+                       List<AssetSnapshot> maintenanceDue,
+                       int maintenanceDueTotal,
+                       List<AssetSnapshot> warrantyExpiring,
+                       int warrantyExpiringTotal) {
+
+    // Assets listed by name in a summary before falling back to "...and N more"
+    static final int LISTED_ASSETS = 10;
+
+    static ActivitySummary of(List<NotificationEvent> batch) {
+        List<AssetSnapshot> created = new ArrayList<>();
+        List<AssetSnapshot> updated = new ArrayList<>();
+        List<AssetSnapshot> maintenanceDue = new ArrayList<>();
+        List<AssetSnapshot> warrantyExpiring = new ArrayList<>();
+        int importedCreated = 0;
+        int importedUpdated = 0;
+        int maintenanceDueTotal = 0;
+        int warrantyExpiringTotal = 0;
+        for (NotificationEvent event : batch) {
+            switch (event) {
+                case NotificationEvent.AssetCreated e -> created.add(e.asset());
+                case NotificationEvent.AssetUpdated e -> updated.add(e.asset());
+                case NotificationEvent.AssetsImported e -> {
+                    importedCreated += e.created();
+                    importedUpdated += e.updated();
+                }
+                case NotificationEvent.MaintenanceDue e -> {
+                    addListed(maintenanceDue, e.assets());
+                    maintenanceDueTotal += e.total();
+                }
+                case NotificationEvent.WarrantyExpiring e -> {
+                    addListed(warrantyExpiring, e.assets());
+                    warrantyExpiringTotal += e.total();
+                }
+                case NotificationEvent.AssetAssigned e -> {
+                    // Only emailed to the assignee
+                }
+            }
+        }
+        return new ActivitySummary(created, updated, importedCreated, importedUpdated,
+                maintenanceDue, maintenanceDueTotal, warrantyExpiring, warrantyExpiringTotal);
+    }
+
+    // Chat messages only name the first LISTED_ASSETS, so there is no point keeping more
+    private static void addListed(List<AssetSnapshot> listed, List<AssetSnapshot> assets) {
+        int room = LISTED_ASSETS - listed.size();
+        if (room > 0) {
+            listed.addAll(assets.subList(0, Math.min(room, assets.size())));
+        }
+    }
+
+    boolean hasAssetChanges() {
+        return !created.isEmpty() || !updated.isEmpty() || importedCreated > 0 || importedUpdated > 0;
+    }
+
+    /**
+     * The batch is exactly one interactive create or update, worth a detailed message
+     */
+    boolean isSingleChange() {
+        return created.size() + updated.size() == 1 && importedCreated == 0 && importedUpdated == 0;
+    }
+
+    int totalCreated() {
+        return created.size() + importedCreated;
+    }
+
+    int totalUpdated() {
+        return updated.size() + importedUpdated;
+    }
+}
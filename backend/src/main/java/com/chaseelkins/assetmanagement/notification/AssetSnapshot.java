@@ -0,0 +1,36 @@
+package com.chaseelkins.assetmanagement.notification;
+
+import com.chaseelkins.assetmanagement.model.Asset;
+import org.hibernate.Hibernate;
+
+import java.time.LocalDate;
+
+/**
+ * The fields of an asset that notifications render, copied when the event is published.
+ * Events are delivered after commit on another thread, so they never hold entities.
+ * The category name is only copied if the category is already loaded; taking a snapshot
+ * never triggers a lazy load.
+ */
+public record AssetSnapshot(Long id,
+                            String name,
+                            String assetTag,
+                            String serialNumber,
+                            String category,
+                            String status,
+                            String location,
+                            LocalDate nextMaintenance,
+                            LocalDate warrantyExpiry) {
+
+    public static AssetSnapshot of(Asset asset) {
+        return new AssetSnapshot(
+                asset.getId(),
+                asset.getName(),
+                asset.getAssetTag(),
+                asset.getSerialNumber(),
+                asset.getCategory() != null && Hibernate.isInitialized(asset.getCategory()) ? asset.getCategory().getName() : null,
+                asset.getStatus() != null ? asset.getStatus().name() : null,
+                asset.getLocation(),
+                asset.getNextMaintenance(),
+                asset.getWarrantyExpiry());
+    }
+}
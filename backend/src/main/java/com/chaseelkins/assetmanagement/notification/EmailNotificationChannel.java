@@ -0,0 +1,91 @@
+package com.chaseelkins.assetmanagement.notification;
+
+import com.chaseelkins.assetmanagement.service.EmailService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Emails assignees and digest recipients. Within one batch every recipient gets at most one
+ * email per kind, so assigning twenty assets to someone sends one message, not twenty.
+ */
+@Component
+public class EmailNotificationChannel extends NotificationChannel {
+
+    private final EmailService emailService;
+
+    public EmailNotificationChannel(EmailService emailService,
+                                    NotificationChannel.Settings settings,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.notifications.email.queue-capacity:5000}") int queueCapacity) {
+        super("email", queueCapacity, settings, meterRegistry);
+        this.emailService = emailService;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return emailService.isConfigured();
+    }
+
+    @Override
+    public boolean accepts(NotificationEvent event) {
+        return event instanceof NotificationEvent.AssetAssigned
+                || event instanceof NotificationEvent.MaintenanceDue
+                || event instanceof NotificationEvent.WarrantyExpiring;
+    }
+
+    @Override
+    protected List<Message> render(List<NotificationEvent> batch) {
+        Map<String, Collected> assigned = new LinkedHashMap<>();
+        Map<String, Collected> maintenanceDue = new LinkedHashMap<>();
+        Map<String, Collected> warrantyExpiring = new LinkedHashMap<>();
+        for (NotificationEvent event : batch) {
+            switch (event) {
+                case NotificationEvent.AssetAssigned e -> collect(assigned, e.assignee(), List.of(e.asset()), 1);
+                case NotificationEvent.MaintenanceDue e -> e.digests().forEach(d -> collect(maintenanceDue, d.recipient(), d.assets(), d.total()));
+                case NotificationEvent.WarrantyExpiring e -> e.digests().forEach(d -> collect(warrantyExpiring, d.recipient(), d.assets(), d.total()));
+                default -> {
+                    // Not accepted by this channel
+                }
+            }
+        }
+
+        List<Message> messages = new ArrayList<>();
+        assigned.values().forEach(c ->
+                messages.add(() -> emailService.sendAssetsAssignedEmail(c.assets, c.recipient.email(), c.recipient.name())));
+        maintenanceDue.values().forEach(c ->
+                messages.add(() -> emailService.sendMaintenanceDueEmail(c.assets, c.total, c.recipient.email(), c.recipient.name())));
+        warrantyExpiring.values().forEach(c ->
+                messages.add(() -> emailService.sendWarrantyExpiringEmail(c.assets, c.total, c.recipient.email(), c.recipient.name())));
+        return messages;
+    }
+
+    private static void collect(Map<String, Collected> byEmail, NotificationEvent.Recipient recipient,
+                                List<AssetSnapshot> assets, int total) {
+        if (recipient.email() == null || assets.isEmpty()) {
+            return;
+        }
+        Collected collected = byEmail.computeIfAbsent(recipient.email().toLowerCase(Locale.ROOT), e -> new Collected(recipient));
+        collected.assets.addAll(assets);
+        collected.total += total;
+    }
+
+    /**
+     * One recipient's email: the assets listed in it and how many it is about in total
+     */
+    private static class Collected {
+        final NotificationEvent.Recipient recipient;
+        final List<AssetSnapshot> assets = new ArrayList<>();
+        int total;
+
+        Collected(NotificationEvent.Recipient recipient) {
+            this.recipient = recipient;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.chaseelkins.assetmanagement.notification;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Internal event bus between the services that change assets and the outbound notification
+ * channels (Slack, Teams, email). Services publish what happened; each enabled channel that
+ * renders the event gets it in its own bounded queue and decides how to batch and send it.
+ * Webhooks are not a channel here: they are written to the transactional outbox by the
+ * services and sent by WebhookDeliveryRelay.
+ */
+@Component
+public class NotificationBus {
+
+    private final List<NotificationChannel> channels;
+
+    public NotificationBus(List<NotificationChannel> channels) {
+        this.channels = channels;
+    }
+
+    /**
+     * Hand the event to the channels once the current transaction commits (immediately if
+     * there is none), so nothing is announced for a change that is rolled back.
+     * Never blocks: a channel with a full queue drops the event and counts it.
+     */
+    public void publish(NotificationEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(event);
+            }
+        });
+    }
+
+    /**
+     * Whether any channel would deliver something; lets callers skip building events nobody reads
+     */
+    public boolean isEnabled() {
+        return channels.stream().anyMatch(NotificationChannel::isEnabled);
+    }
+
+    /**
+     * Backpressure signal: at least one enabled channel is close to dropping events
+     */
+    public boolean isSaturated() {
+        return channels.stream().anyMatch(channel -> channel.isEnabled() && channel.isSaturated());
+    }
+
+    private void dispatch(NotificationEvent event) {
+        for (NotificationChannel channel : channels) {
+            if (channel.isEnabled() && channel.accepts(event)) {
+                channel.offer(event);
+            }
+        }
+    }
+}
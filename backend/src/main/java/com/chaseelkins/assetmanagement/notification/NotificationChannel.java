@@ -0,0 +1,229 @@
+package com.chaseelkins.assetmanagement.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One outbound integration fed by the {@link NotificationBus}.
+ * Events wait in a bounded queue; a single worker takes the first one, keeps collecting for
+ * the batching window (or until the batch is full) and hands the whole batch to
+ * {@link #render}, so a burst of events becomes a few messages instead of one each.
+ * Every rendered message is retried with exponential backoff on the worker, so a slow or
+ * failing downstream fills this channel's queue only. Once the queue is full new events
+ * are dropped and counted, and {@link #isSaturated()} signals backpressure before that.
+ */
+public abstract class NotificationChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationChannel.class);
+
+    // Queue fill ratio from which the channel reports itself saturated
+    private static final double SATURATION_RATIO = 0.8;
+
+    /**
+     * Batching and retry tuning shared by all channels
+     */
+    public record Settings(Duration batchWindow, int maxBatch, int maxAttempts, Duration retryBackoff) {}
+
+    /**
+     * One outbound message covering part of a batch; throws if the downstream rejects it
+     */
+    @FunctionalInterface
+    protected interface Message {
+        void send() throws Exception;
+    }
+
+    private record Queued(NotificationEvent event, long enqueuedAt) {}
+
+    private final String name;
+    private final Settings settings;
+    private final int capacity;
+    private final BlockingQueue<Queued> queue;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Counter retries;
+    private final Timer latency;
+    private final DistributionSummary batchSize;
+    private volatile boolean running = true;
+    private Thread worker;
+
+    protected NotificationChannel(String name, int queueCapacity, Settings settings, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.settings = settings;
+        this.capacity = Math.max(1, queueCapacity);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        Gauge.builder("notification_queue_depth", queue, BlockingQueue::size)
+                .description("Notification events waiting to be delivered")
+                .tag("channel", name)
+                .register(meterRegistry);
+        Gauge.builder("notification_backpressure", this, c -> c.isSaturated() ? 1 : 0)
+                .description("1 while the channel queue is close to full")
+                .tag("channel", name)
+                .register(meterRegistry);
+        this.dropped = Counter.builder("notification_dropped")
+                .description("Notification events dropped because the channel queue was full")
+                .tag("channel", name)
+                .register(meterRegistry);
+        this.failed = Counter.builder("notification_failed")
+                .description("Notification messages given up on after the last retry")
+                .tag("channel", name)
+                .register(meterRegistry);
+        this.retries = Counter.builder("notification_retries")
+                .description("Notification messages sent again after a failure")
+                .tag("channel", name)
+                .register(meterRegistry);
+        this.latency = Timer.builder("notification_latency")
+                .description("Time from publishing an event to delivering it")
+                .tag("channel", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("notification_batch_size")
+                .description("Events collapsed into one delivery batch")
+                .tag("channel", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the integration is configured; disabled channels receive no events
+     */
+    public abstract boolean isEnabled();
+
+    /**
+     * Whether this channel renders the event at all
+     */
+    public abstract boolean accepts(NotificationEvent event);
+
+    /**
+     * Turn a batch of accepted events into the messages to send
+     */
+    protected abstract List<Message> render(List<NotificationEvent> batch);
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Queue an event without blocking; false (and counted) if the queue is full
+     */
+    public boolean offer(NotificationEvent event) {
+        if (queue.offer(new Queued(event, System.nanoTime()))) {
+            return true;
+        }
+        dropped.increment();
+        log.warn("Notification channel {} is full ({} queued), dropping {}", name, capacity, event.getClass().getSimpleName());
+        return false;
+    }
+
+    /**
+     * Backpressure signal: the queue is close to full, so publishers should expect drops
+     */
+    public boolean isSaturated() {
+        return queue.size() >= capacity * SATURATION_RATIO;
+    }
+
+    @PostConstruct
+    void start() {
+        worker = Thread.ofVirtual().name("notify-" + name).start(this::run);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(settings.batchWindow().toMillis() + 1000);
+        if (!queue.isEmpty()) {
+            log.info("Notification channel {} stopped with {} undelivered events", name, queue.size());
+        }
+    }
+
+    private void run() {
+        List<Queued> batch = new ArrayList<>();
+        while (running) {
+            try {
+                collect(batch);
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                }
+            } catch (InterruptedException e) {
+                // Shutting down
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Notification channel {} failed to deliver a batch of {}", name, batch.size(), e);
+                failed.increment();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Wait for the first event, then keep collecting until the window closes or the batch is full
+     */
+    private void collect(List<Queued> batch) throws InterruptedException {
+        Queued first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + settings.batchWindow().toNanos();
+        while (batch.size() < settings.maxBatch()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            Queued next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void deliver(List<Queued> batch) throws InterruptedException {
+        batchSize.record(batch.size());
+        List<NotificationEvent> events = batch.stream().map(Queued::event).toList();
+        for (Message message : render(events)) {
+            if (!sendWithRetry(message)) {
+                failed.increment();
+            }
+        }
+        long now = System.nanoTime();
+        for (Queued queued : batch) {
+            latency.record(now - queued.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean sendWithRetry(Message message) throws InterruptedException {
+        long backoff = settings.retryBackoff().toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                message.send();
+                return true;
+            } catch (Exception e) {
+                if (attempt >= settings.maxAttempts()) {
+                    log.error("Notification channel {} failed after {} attempts", name, attempt, e);
+                    return false;
+                }
+                log.warn("Notification channel {} send failed (attempt {}), retrying in {} ms: {}",
+                        name, attempt, backoff, e.getMessage());
+                retries.increment();
+                Thread.sleep(backoff);
+                backoff *= 2;
+            }
+        }
+    }
+}
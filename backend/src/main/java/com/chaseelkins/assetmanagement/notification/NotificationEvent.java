@@ -0,0 +1,42 @@
+package com.chaseelkins.assetmanagement.notification;
+
+import java.util.List;
+
+/**
+ * Domain events published on the {@link NotificationBus}.
+ * Each channel picks the events it renders and may collapse many of them into one message.
+ */
+public sealed interface NotificationEvent {
+
+    Long tenantId();
+
+    record AssetCreated(Long tenantId, AssetSnapshot asset) implements NotificationEvent {}
+
+    record AssetUpdated(Long tenantId, AssetSnapshot asset) implements NotificationEvent {}
+
+    /**
+     * One committed import chunk; imports never publish per-row events
+     */
+    record AssetsImported(Long tenantId, int created, int updated) implements NotificationEvent {}
+
+    record AssetAssigned(Long tenantId, AssetSnapshot asset, Recipient assignee) implements NotificationEvent {}
+
+    /**
+     * One tenant's daily maintenance check: the first matching assets (up to the listing cap),
+     * how many match in total, and the per-recipient digests
+     */
+    record MaintenanceDue(Long tenantId, List<AssetSnapshot> assets, int total, List<Digest> digests) implements NotificationEvent {}
+
+    /**
+     * One tenant's daily warranty check: the first matching assets (up to the listing cap),
+     * how many match in total, and the per-recipient digests
+     */
+    record WarrantyExpiring(Long tenantId, List<AssetSnapshot> assets, int total, List<Digest> digests) implements NotificationEvent {}
+
+    record Recipient(String email, String name) {}
+
+    /**
+     * Assets to list in one recipient's digest email, out of {@code total} that concern them
+     */
+    record Digest(Recipient recipient, List<AssetSnapshot> assets, int total) {}
+}
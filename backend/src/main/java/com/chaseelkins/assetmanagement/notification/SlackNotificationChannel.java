@@ -0,0 +1,155 @@
+package com.chaseelkins.assetmanagement.notification;
+
+import com.chaseelkins.assetmanagement.service.SlackService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Posts asset activity and the daily checks to the Slack incoming webhook.
+ * A lone create or update keeps its detailed message; anything more within the batching
+ * window is collapsed into one summary.
+ */
+@Component
+public class SlackNotificationChannel extends NotificationChannel {
+
+    private final SlackService slackService;
+
+    public SlackNotificationChannel(SlackService slackService,
+                                    NotificationChannel.Settings settings,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.notifications.slack.queue-capacity:1000}") int queueCapacity) {
+        super("slack", queueCapacity, settings, meterRegistry);
+        this.slackService = slackService;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return slackService.isConfigured();
+    }
+
+    @Override
+    public boolean accepts(NotificationEvent event) {
+        return !(event instanceof NotificationEvent.AssetAssigned);
+    }
+
+    @Override
+    protected List<Message> render(List<NotificationEvent> batch) {
+        ActivitySummary summary = ActivitySummary.of(batch);
+        List<String> texts = new ArrayList<>();
+        if (summary.isSingleChange()) {
+            texts.add(summary.created().isEmpty()
+                    ? assetUpdated(summary.updated().get(0))
+                    : assetCreated(summary.created().get(0)));
+        } else if (summary.hasAssetChanges()) {
+            texts.add(activity(summary));
+        }
+        if (summary.maintenanceDueTotal() > 0) {
+            texts.add(assetList("🔧 *Maintenance Due Soon*\n",
+                    "_%d assets need maintenance within 30 days_\n\n", "Due", summary.maintenanceDue(),
+                    summary.maintenanceDueTotal(), AssetSnapshot::nextMaintenance));
+        }
+        if (summary.warrantyExpiringTotal() > 0) {
+            texts.add(assetList("⚠️ *Warranties Expiring Soon*\n",
+                    "_%d assets have warranties expiring within 30 days_\n\n", "Expires", summary.warrantyExpiring(),
+                    summary.warrantyExpiringTotal(), AssetSnapshot::warrantyExpiry));
+        }
+        return texts.stream().<Message>map(text -> () -> slackService.sendMessage(text)).toList();
+    }
+
+    private static String assetCreated(AssetSnapshot asset) {
+        return String.format(
+            "🆕 *New Asset Created*\n" +
+            "• *Name:* %s\n" +
+            "• *Asset Tag:* %s\n" +
+            "• *Category:* %s\n" +
+            "• *Status:* %s\n" +
+            "• *Location:* %s",
+            asset.name(),
+            asset.assetTag(),
+            orNotSpecified(asset.category()),
+            asset.status(),
+            orNotSpecified(asset.location())
+        );
+    }
+
+    private static String assetUpdated(AssetSnapshot asset) {
+        return String.format(
+            "✏️ *Asset Updated*\n" +
+            "• *Name:* %s\n" +
+            "• *Asset Tag:* %s\n" +
+            "• *Status:* %s\n" +
+            "• *Location:* %s",
+            asset.name(),
+            asset.assetTag(),
+            asset.status(),
+            orNotSpecified(asset.location())
+        );
+    }
+
+    private static String activity(ActivitySummary summary) {
+        StringBuilder message = new StringBuilder(String.format(
+            "📥 *Asset Activity*\n" +
+            "• *Created:* %d\n" +
+            "• *Updated:* %d\n",
+            summary.totalCreated(),
+            summary.totalUpdated()
+        ));
+        // Imports only report counts; interactive changes are listed by name
+        List<AssetSnapshot> changed = new ArrayList<>(summary.created());
+        changed.addAll(summary.updated());
+        appendNames(message, changed);
+        return message.toString();
+    }
+
+    private static String assetList(String title, String countLine, String dateLabel, List<AssetSnapshot> assets,
+                                    int total, Function<AssetSnapshot, LocalDate> date) {
+        StringBuilder message = new StringBuilder(title);
+        message.append(String.format(countLine, total));
+        int count = 0;
+        for (AssetSnapshot asset : assets) {
+            if (count >= ActivitySummary.LISTED_ASSETS) {
+                break;
+            }
+            LocalDate value = date.apply(asset);
+            message.append(String.format(
+                "• %s (%s) - %s: %s\n",
+                asset.name(),
+                asset.assetTag(),
+                dateLabel,
+                value != null ? value.format(DateTimeFormatter.ISO_LOCAL_DATE) : "Unknown"
+            ));
+            count++;
+        }
+        if (total > count) {
+            message.append(String.format("_...and %d more_", total - count));
+        }
+        return message.toString();
+    }
+
+    private static void appendNames(StringBuilder message, List<AssetSnapshot> assets) {
+        if (assets.isEmpty()) {
+            return;
+        }
+        message.append('\n');
+        int count = 0;
+        for (AssetSnapshot asset : assets) {
+            if (count >= ActivitySummary.LISTED_ASSETS) {
+                message.append(String.format("_...and %d more_", assets.size() - ActivitySummary.LISTED_ASSETS));
+                break;
+            }
+            message.append(String.format("• %s (%s)\n", asset.name(), asset.assetTag()));
+            count++;
+        }
+    }
+
+    private static String orNotSpecified(String value) {
+        return value != null ? value : "Not specified";
+    }
+}
@@ -0,0 +1,89 @@
+package com.chaseelkins.assetmanagement.notification;
+
+import com.chaseelkins.assetmanagement.service.TeamsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Posts asset activity and the daily checks to the Microsoft Teams incoming webhook,
+ * one card per kind of activity in each batch.
+ */
+@Component
+public class TeamsNotificationChannel extends NotificationChannel {
+
+    private final TeamsService teamsService;
+
+    public TeamsNotificationChannel(TeamsService teamsService,
+                                    NotificationChannel.Settings settings,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.notifications.teams.queue-capacity:1000}") int queueCapacity) {
+        super("teams", queueCapacity, settings, meterRegistry);
+        this.teamsService = teamsService;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return teamsService.isConfigured();
+    }
+
+    @Override
+    public boolean accepts(NotificationEvent event) {
+        return !(event instanceof NotificationEvent.AssetAssigned);
+    }
+
+    @Override
+    protected List<Message> render(List<NotificationEvent> batch) {
+        ActivitySummary summary = ActivitySummary.of(batch);
+        List<Message> messages = new ArrayList<>();
+        if (summary.isSingleChange()) {
+            boolean created = !summary.created().isEmpty();
+            AssetSnapshot asset = created ? summary.created().get(0) : summary.updated().get(0);
+            String title = created ? "🆕 New Asset Created" : "✏️ Asset Updated";
+            String text = String.format("**%s** (%s) is now %s at %s",
+                    asset.name(), asset.assetTag(), asset.status(),
+                    asset.location() != null ? asset.location() : "an unspecified location");
+            messages.add(() -> teamsService.sendCustomMessage(title, text));
+        } else if (summary.hasAssetChanges()) {
+            String text = String.format("**Created:** %d  \n**Updated:** %d",
+                    summary.totalCreated(), summary.totalUpdated());
+            messages.add(() -> teamsService.sendCustomMessage("📥 Asset Activity", text));
+        }
+        if (summary.maintenanceDueTotal() > 0) {
+            String text = assetList(summary.maintenanceDueTotal() + " assets need maintenance within 30 days",
+                    summary.maintenanceDue(), summary.maintenanceDueTotal(), AssetSnapshot::nextMaintenance);
+            messages.add(() -> teamsService.sendCustomMessage("🔧 Maintenance Due Soon", text));
+        }
+        if (summary.warrantyExpiringTotal() > 0) {
+            String text = assetList(summary.warrantyExpiringTotal() + " assets have warranties expiring within 30 days",
+                    summary.warrantyExpiring(), summary.warrantyExpiringTotal(), AssetSnapshot::warrantyExpiry);
+            messages.add(() -> teamsService.sendCustomMessage("⚠️ Warranties Expiring Soon", text));
+        }
+        return messages;
+    }
+
+    private static String assetList(String intro, List<AssetSnapshot> assets, int total,
+                                    Function<AssetSnapshot, LocalDate> date) {
+        StringBuilder text = new StringBuilder(intro).append("\n\n");
+        int count = 0;
+        for (AssetSnapshot asset : assets) {
+            if (count >= ActivitySummary.LISTED_ASSETS) {
+                break;
+            }
+            LocalDate value = date.apply(asset);
+            text.append(String.format("- **%s** (%s): %s\n", asset.name(), asset.assetTag(),
+                    value != null ? value.format(DateTimeFormatter.ISO_LOCAL_DATE) : "Unknown"));
+            count++;
+        }
+        if (total > count) {
+            text.append(String.format("...and %d more", total - count));
+        }
+        return text.toString();
+    }
+}
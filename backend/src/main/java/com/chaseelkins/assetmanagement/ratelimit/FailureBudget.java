@@ -0,0 +1,78 @@
+package com.chaseelkins.assetmanagement.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Failures per key over a window, checked against a budget without letting sketch
+ * collisions exhaust it.
+ * Every failure goes into a {@link WindowedCountMinSketch}. Only keys whose estimate
+ * passes half the budget are then counted exactly, in a bounded table of heavy hitters,
+ * and only that exact count decides whether the budget is spent. A key is never over
+ * budget before {@code budget} real failures, however saturated the sketch is (a spray of
+ * distinct keys just admits more of them to the table); a key that really fails gets at
+ * most about 1.5 x budget failures before it is.
+ * <p>
+ * The exact count starts when a key enters the table and lasts one window from then.
+ * Beyond {@code maxTracked} keys the least used are evicted and start again from zero.
+ */
+public class FailureBudget {
+
+    private final int budget;
+    private final long admitAbove;
+    private final WindowedCountMinSketch sketch;
+    private final Cache<String, AtomicInteger> heavyHitters;
+
+    public FailureBudget(int budget, int sketchWidth, int sketchDepth, long maxTracked, Duration window) {
+        this.budget = budget;
+        this.admitAbove = budget / 2;
+        this.sketch = new WindowedCountMinSketch(sketchWidth, sketchDepth, window);
+        // Counts are updated in place, so expiry runs from the first counted failure
+        this.heavyHitters = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Count one failure for the key
+     */
+    public void recordFailure(String key) {
+        if (sketch.increment(key) > admitAbove) {
+            heavyHitters.get(key, k -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Exact failures counted for the key since it entered the heavy-hitter table
+     */
+    public int failures(String key) {
+        AtomicInteger count = heavyHitters.getIfPresent(key);
+        return count == null ? 0 : count.get();
+    }
+
+    public boolean isExhausted(String key) {
+        return failures(key) >= budget;
+    }
+
+    /**
+     * Forget the key's exact count; it needs {@code budget} new failures to be exhausted again
+     */
+    public void reset(String key) {
+        heavyHitters.invalidate(key);
+    }
+
+    public int budget() {
+        return budget;
+    }
+
+    /**
+     * Approximate memory held by the sketch (the heavy-hitter table is bounded separately)
+     */
+    public long sketchSizeInBytes() {
+        return sketch.sizeInBytes();
+    }
+}
@@ -0,0 +1,190 @@
+package com.chaseelkins.assetmanagement.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory rate-limit store. Limits apply per JVM, so with several replicas the
+ * effective limit is multiplied by the replica count.
+ * At most {@code maxKeys} windows are kept. A window idle for its whole length holds no
+ * counts and expires on its own (Caffeine's timer wheel, O(1) per entry); beyond the
+ * ceiling rarely used keys are evicted and start again from zero.
+ */
+public class LocalRateLimitStore implements RateLimitStore {
+
+    // Sub-buckets per window; the window slides in steps of window / BUCKETS
+    private static final int BUCKETS = 60;
+    private static final long DEFAULT_MAX_KEYS = 100_000;
+
+    private final Cache<String, SlidingWindow> windows;
+
+    public LocalRateLimitStore() {
+        this(DEFAULT_MAX_KEYS);
+    }
+
+    public LocalRateLimitStore(long maxKeys) {
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfter(new IdleWindowExpiry())
+                .build();
+    }
+
+    @Override
+    public Decision tryAcquire(String key, int limit, Duration window) {
+        SlidingWindow w = windows.get(key, k -> new SlidingWindow(window));
+        boolean allowed = w.tryAcquire(limit);
+        return new Decision(allowed, Math.max(0, limit - w.count()), w.resetAt());
+    }
+
+    @Override
+    public Decision peek(String key, int limit, Duration window) {
+        SlidingWindow w = windows.getIfPresent(key);
+        if (w == null) {
+            return new Decision(true, limit, Instant.now().plus(window));
+        }
+        long remaining = Math.max(0, limit - w.count());
+        return new Decision(remaining > 0, remaining, w.resetAt());
+    }
+
+    @Override
+    public void reset(String key) {
+        windows.invalidate(key);
+    }
+
+    @Override
+    public void cleanup() {
+        windows.cleanUp();
+    }
+
+    /**
+     * A window expires once it has gone a full window length without being touched
+     */
+    private static class IdleWindowExpiry implements Expiry<String, SlidingWindow> {
+
+        @Override
+        public long expireAfterCreate(String key, SlidingWindow window, long currentTime) {
+            return window.lengthNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, SlidingWindow window, long currentTime, long currentDuration) {
+            return window.lengthNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, SlidingWindow window, long currentTime, long currentDuration) {
+            return window.lengthNanos();
+        }
+    }
+
+    /**
+     * Fixed-memory sliding window made of {@link #BUCKETS} sub-buckets.
+     * Each slot packs (bucket number << 32 | count) into one long and is updated with CAS,
+     * so there is no lock per key and every call does constant work. A slot whose bucket
+     * number is older than the window counts as empty and is reused by the next bucket.
+     */
+    private static class SlidingWindow {
+        private final AtomicLongArray slots = new AtomicLongArray(BUCKETS);
+        private final long bucketMillis;
+
+        SlidingWindow(Duration window) {
+            this.bucketMillis = Math.max(1, window.toMillis() / BUCKETS);
+        }
+
+        boolean tryAcquire(int limit) {
+            long bucket = currentBucket();
+            int slot = (int) (bucket % BUCKETS);
+            increment(slot, bucket);
+            // Count first, then check, so concurrent callers can never admit more than the limit
+            if (countSince(bucket) > limit) {
+                decrement(slot, bucket);
+                return false;
+            }
+            return true;
+        }
+
+        long count() {
+            return countSince(currentBucket());
+        }
+
+        /**
+         * When the oldest counted request leaves the window
+         */
+        Instant resetAt() {
+            long bucket = currentBucket();
+            long oldest = Long.MAX_VALUE;
+            for (int i = 0; i < BUCKETS; i++) {
+                long value = slots.get(i);
+                long slotBucket = bucketOf(value);
+                if (countOf(value) > 0 && isInWindow(slotBucket, bucket)) {
+                    oldest = Math.min(oldest, slotBucket);
+                }
+            }
+            long start = oldest == Long.MAX_VALUE ? bucket : oldest;
+            return Instant.ofEpochMilli((start + BUCKETS) * bucketMillis);
+        }
+
+        long lengthNanos() {
+            return Duration.ofMillis(bucketMillis * BUCKETS).toNanos();
+        }
+
+        private long countSince(long bucket) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                long value = slots.get(i);
+                if (isInWindow(bucketOf(value), bucket)) {
+                    total += countOf(value);
+                }
+            }
+            return total;
+        }
+
+        private void increment(int slot, long bucket) {
+            while (true) {
+                long value = slots.get(slot);
+                long next = bucketOf(value) == bucket ? value + 1 : pack(bucket, 1);
+                if (slots.compareAndSet(slot, value, next)) {
+                    return;
+                }
+            }
+        }
+
+        private void decrement(int slot, long bucket) {
+            while (true) {
+                long value = slots.get(slot);
+                // Slot already rolled over to a newer bucket: nothing of ours left to undo
+                if (bucketOf(value) != bucket || countOf(value) == 0) {
+                    return;
+                }
+                if (slots.compareAndSet(slot, value, value - 1)) {
+                    return;
+                }
+            }
+        }
+
+        private long currentBucket() {
+            return System.currentTimeMillis() / bucketMillis;
+        }
+
+        private static boolean isInWindow(long slotBucket, long bucket) {
+            return slotBucket > bucket - BUCKETS && slotBucket <= bucket;
+        }
+
+        private static long pack(long bucket, long count) {
+            return (bucket << 32) | count;
+        }
+
+        private static long bucketOf(long value) {
+            return value >>> 32;
+        }
+
+        private static long countOf(long value) {
+            return value & 0xFFFFFFFFL;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.chaseelkins.assetmanagement.ratelimit;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Storage for rate-limit counters.
+ * A key may take at most {@code limit} permits per {@code window}. Implementations decide
+ * where counters live: {@link LocalRateLimitStore} keeps them in this JVM,
+ * {@link RedisRateLimitStore} shares them across nodes through a Redis-protocol server.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Take one permit for the key if the limit allows it
+     */
+    Decision tryAcquire(String key, int limit, Duration window);
+
+    /**
+     * Current state of the key without taking a permit
+     */
+    Decision peek(String key, int limit, Duration window);
+
+    /**
+     * Forget all usage for the key (e.g. after a successful login)
+     */
+    void reset(String key);
+
+    /**
+     * Drop idle local state. Called periodically.
+     */
+    default void cleanup() {
+    }
+
+    /**
+     * Outcome of a rate-limit check
+     * @param allowed whether the permit was granted
+     * @param remaining permits left in the current window
+     * @param resetAt when at least one permit becomes available again
+     */
+    record Decision(boolean allowed, long remaining, Instant resetAt) {}
+}
@@ -0,0 +1,235 @@
+package com.chaseelkins.assetmanagement.ratelimit;
+
+import io.lettuce.core.RedisException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rate-limit store shared by all nodes through a Redis-protocol server.
+ * Each key has one counter, a hash holding the current fixed window and the permits used
+ * in it, so any node can reset a key without knowing its window. Instead of a round trip
+ * per request, a node leases a batch of permits from the counter with one atomic script
+ * call and hands them out locally until the batch is used up. Permits are only leased while the shared count is
+ * below the limit, so the cluster-wide total never exceeds it; permits still leased to one
+ * node when the window ends are simply lost. A node that found a key exhausted asks the
+ * server again at most once per second, so a reset made on another node (e.g. after a
+ * successful login) takes effect here within a second rather than at the end of the window.
+ * Only one thread per key asks the server at a time; others wanting the same key wait for
+ * its answer without holding a lock. If the server cannot be reached, checks fall back to
+ * a {@link LocalRateLimitStore}, and keep doing so without trying the server for
+ * {@code UNAVAILABLE_BACKOFF_MILLIS}, so an outage costs one command timeout, not one per request.
+ */
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisRateLimitStore.class);
+
+    // How long an exhausted lease answers from memory before asking the server again
+    private static final long EXHAUSTED_RECHECK_MILLIS = 1000;
+
+    // How long checks go straight to the local fallback after the server failed to answer
+    private static final long UNAVAILABLE_BACKOFF_MILLIS = 5000;
+
+    // Lease up to `want` permits in window ARGV[4] without passing `limit`; a counter left
+    // from an older window starts over. Returns {granted, usedAfterLease}
+    private static final String LEASE_SCRIPT =
+            "local used = 0 " +
+            "if redis.call('HGET', KEYS[1], 'w') == ARGV[4] then " +
+            "  used = tonumber(redis.call('HGET', KEYS[1], 'n')) " +
+            "else " +
+            "  redis.call('HSET', KEYS[1], 'w', ARGV[4], 'n', 0) " +
+            "  redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+            "end " +
+            "local grant = math.min(tonumber(ARGV[2]), tonumber(ARGV[1]) - used) " +
+            "if grant <= 0 then return {0, used} end " +
+            "used = redis.call('HINCRBY', KEYS[1], 'n', grant) " +
+            "return {grant, used}";
+
+    private final RedisCommands<String, String> redis;
+    private final String keyPrefix;
+    private final int maxLeaseSize;
+    private final LocalRateLimitStore fallback = new LocalRateLimitStore();
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private volatile String leaseScriptSha;
+    // Until then the server is treated as down
+    private volatile long unavailableUntil;
+
+    public RedisRateLimitStore(RedisCommands<String, String> redis, String keyPrefix, int maxLeaseSize) {
+        this.redis = redis;
+        this.keyPrefix = keyPrefix;
+        this.maxLeaseSize = Math.max(1, maxLeaseSize);
+    }
+
+    @Override
+    public Decision tryAcquire(String key, int limit, Duration window) {
+        long windowMillis = window.toMillis();
+        long windowIndex = System.currentTimeMillis() / windowMillis;
+        Instant resetAt = Instant.ofEpochMilli((windowIndex + 1) * windowMillis);
+
+        Lease lease = currentLease(key, windowIndex, windowMillis);
+        while (true) {
+            if (lease.take()) {
+                return new Decision(true, lease.remaining(limit), resetAt);
+            }
+            long now = System.currentTimeMillis();
+            if (now < unavailableUntil) {
+                return fallback.tryAcquire(key, limit, window);
+            }
+            if (now < lease.exhaustedUntil) {
+                return new Decision(false, 0, resetAt);
+            }
+
+            CompletableFuture<Boolean> refill = new CompletableFuture<>();
+            CompletableFuture<Boolean> inFlight = lease.refill.compareAndExchange(null, refill);
+            if (inFlight != null) {
+                // Another thread is asking the server for this key; take from what it leases
+                if (!inFlight.join()) {
+                    return fallback.tryAcquire(key, limit, window);
+                }
+                continue;
+            }
+
+            boolean answered = false;
+            try {
+                long[] result = leaseFromServer(key, windowIndex, limit, leaseSize(limit), windowMillis);
+                answered = true;
+                lease.usedGlobally = result[1];
+                if (result[0] == 0) {
+                    // Nothing left; answer locally for a while instead of asking on every request
+                    lease.exhaustedUntil = now + EXHAUSTED_RECHECK_MILLIS;
+                    return new Decision(false, 0, resetAt);
+                }
+                // The key may have been reset elsewhere since it was exhausted
+                lease.exhaustedUntil = 0;
+                lease.tokens.addAndGet(result[0] - 1);
+                return new Decision(true, lease.remaining(limit), resetAt);
+            } catch (RedisException e) {
+                unavailableUntil = System.currentTimeMillis() + UNAVAILABLE_BACKOFF_MILLIS;
+                logger.warn("Rate limit store unavailable, using local limits for {} ms: {}",
+                        UNAVAILABLE_BACKOFF_MILLIS, e.getMessage());
+                return fallback.tryAcquire(key, limit, window);
+            } finally {
+                // Cleared first so woken waiters can start the next refill
+                lease.refill.set(null);
+                refill.complete(answered);
+            }
+        }
+    }
+
+    @Override
+    public Decision peek(String key, int limit, Duration window) {
+        long windowMillis = window.toMillis();
+        long windowIndex = System.currentTimeMillis() / windowMillis;
+        Instant resetAt = Instant.ofEpochMilli((windowIndex + 1) * windowMillis);
+
+        // Answered from the last lease so headers never cost a round trip
+        Lease lease = leases.get(key);
+        if (lease == null || lease.windowIndex != windowIndex) {
+            return new Decision(true, limit, resetAt);
+        }
+        long remaining = lease.remaining(limit);
+        return new Decision(remaining > 0, remaining, resetAt);
+    }
+
+    @Override
+    public void reset(String key) {
+        leases.remove(key);
+        fallback.reset(key);
+        try {
+            redis.del(counterKey(key));
+        } catch (RedisException e) {
+            logger.warn("Failed to reset rate limit for {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        long now = System.currentTimeMillis();
+        leases.values().removeIf(lease -> lease.expiresAt <= now);
+        fallback.cleanup();
+    }
+
+    private Lease currentLease(String key, long windowIndex, long windowMillis) {
+        return leases.compute(key, (k, existing) ->
+                existing != null && existing.windowIndex == windowIndex
+                        ? existing
+                        : new Lease(windowIndex, (windowIndex + 1) * windowMillis));
+    }
+
+    /**
+     * Low limits get small leases so one node cannot hold most of a key's permits
+     */
+    private long leaseSize(int limit) {
+        return Math.max(1, Math.min(maxLeaseSize, limit / 20));
+    }
+
+    private long[] leaseFromServer(String key, long windowIndex, int limit, long want, long windowMillis) {
+        String counterKey = counterKey(key);
+        String[] args = {String.valueOf(limit), String.valueOf(want), String.valueOf(windowMillis * 2),
+                String.valueOf(windowIndex)};
+        List<Long> result;
+        try {
+            if (leaseScriptSha == null) {
+                leaseScriptSha = redis.scriptLoad(LEASE_SCRIPT);
+            }
+            result = redis.evalsha(leaseScriptSha, ScriptOutputType.MULTI, new String[]{counterKey}, args);
+        } catch (RedisException e) {
+            if (e.getMessage() == null || !e.getMessage().startsWith("NOSCRIPT")) {
+                throw e;
+            }
+            // Script cache was flushed (restart or failover); load it again
+            leaseScriptSha = redis.scriptLoad(LEASE_SCRIPT);
+            result = redis.evalsha(leaseScriptSha, ScriptOutputType.MULTI, new String[]{counterKey}, args);
+        }
+        return new long[]{result.get(0), result.get(1)};
+    }
+
+    private String counterKey(String key) {
+        return keyPrefix + key;
+    }
+
+    /**
+     * Permits this node holds for one key in one window
+     */
+    private static class Lease {
+        final long windowIndex;
+        final long expiresAt;
+        final AtomicLong tokens = new AtomicLong();
+        volatile long usedGlobally;
+        // Until then the server had nothing left for this key
+        volatile long exhaustedUntil;
+        // Server call in progress for this key; completes with whether the server answered
+        final AtomicReference<CompletableFuture<Boolean>> refill = new AtomicReference<>();
+
+        Lease(long windowIndex, long expiresAt) {
+            this.windowIndex = windowIndex;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean take() {
+            while (true) {
+                long current = tokens.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (tokens.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        long remaining(int limit) {
+            return Math.max(0, limit - usedGlobally + tokens.get());
+        }
+    }
+}
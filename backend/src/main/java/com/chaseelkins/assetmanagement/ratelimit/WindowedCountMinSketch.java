@@ -0,0 +1,132 @@
+package com.chaseelkins.assetmanagement.ratelimit;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate per-key event counts over a sliding window, in fixed memory.
+ * A count-min sketch ({@code depth} rows of {@code width} counters) where every counter is a
+ * small time wheel of {@link #SLOTS} slots. Each slot packs (tick << 32 | count) like
+ * LocalRateLimitStore's windows: a slot whose tick has left the window counts as zero and
+ * is reused in place, so expiry costs nothing per tick and there is no sweep.
+ * <p>
+ * Estimates never undercount; they may overcount by about e * (events in window) / width
+ * when many keys are active. Updates are conservative (only the rows at the current
+ * minimum are incremented), which keeps that error well below the bound in practice.
+ * Hash seeds are random per process so keys cannot be crafted to collide.
+ */
+public class WindowedCountMinSketch {
+
+    private static final int SLOTS = 15;
+
+    private final int depth;
+    private final int widthMask;
+    private final long tickMillis;
+    private final long seed1;
+    private final long seed2;
+    private final AtomicLongArray cells;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     */
+    public WindowedCountMinSketch(int width, int depth, Duration window) {
+        int roundedWidth = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = depth;
+        this.widthMask = roundedWidth - 1;
+        this.tickMillis = Math.max(1, window.toMillis() / SLOTS);
+        SecureRandom random = new SecureRandom();
+        this.seed1 = random.nextLong();
+        this.seed2 = random.nextLong() | 1;
+        this.cells = new AtomicLongArray(depth * roundedWidth * SLOTS);
+    }
+
+    /**
+     * Count one event for the key and return the new estimate for the window
+     */
+    public long increment(String key) {
+        long tick = currentTick();
+        int[] counters = counters(key);
+        long[] sums = new long[depth];
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            sums[row] = sum(counters[row], tick);
+            min = Math.min(min, sums[row]);
+        }
+        for (int row = 0; row < depth; row++) {
+            if (sums[row] == min) {
+                add(counters[row], tick);
+            }
+        }
+        return min + 1;
+    }
+
+    /**
+     * Events counted for the key in the window (never less than the true count)
+     */
+    public long estimate(String key) {
+        long tick = currentTick();
+        long min = Long.MAX_VALUE;
+        for (int counter : counters(key)) {
+            min = Math.min(min, sum(counter, tick));
+        }
+        return min;
+    }
+
+    /**
+     * Approximate memory held by the counters
+     */
+    public long sizeInBytes() {
+        return (long) cells.length() * Long.BYTES;
+    }
+
+    private int[] counters(String key) {
+        long h1 = hash(key, seed1);
+        long h2 = hash(key, seed2) | 1;
+        int[] counters = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            // Double hashing: row i uses h1 + i * h2
+            int column = (int) ((h1 + row * h2) >>> 32) & widthMask;
+            counters[row] = (row * (widthMask + 1) + column) * SLOTS;
+        }
+        return counters;
+    }
+
+    private long sum(int counter, long tick) {
+        long total = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            long value = cells.get(counter + slot);
+            long slotTick = value >>> 32;
+            if (slotTick > tick - SLOTS && slotTick <= tick) {
+                total += value & 0xFFFFFFFFL;
+            }
+        }
+        return total;
+    }
+
+    private void add(int counter, long tick) {
+        int index = counter + (int) (tick % SLOTS);
+        while (true) {
+            long value = cells.get(index);
+            long next = (value >>> 32) == tick ? value + 1 : (tick << 32) | 1;
+            if (cells.compareAndSet(index, value, next)) {
+                return;
+            }
+        }
+    }
+
+    private long currentTick() {
+        return System.currentTimeMillis() / tickMillis;
+    }
+
+    private static long hash(String key, long seed) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        // splitmix64 finalizer
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -2,8 +2,12 @@ package com.chaseelkins.assetmanagement.repository;
 
 import com.chaseelkins.assetmanagement.model.ApiKey;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +23,9 @@ public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
     boolean existsByName(String name);
     
     boolean existsByPrefix(String prefix);
+    
+    // Bump last-used time without loading the entity; never moves it backwards
+    @Modifying
+    @Query("UPDATE ApiKey k SET k.lastUsedAt = :usedAt WHERE k.id = :id AND (k.lastUsedAt IS NULL OR k.lastUsedAt < :usedAt)")
+    int updateLastUsedAt(@Param("id") Long id, @Param("usedAt") LocalDateTime usedAt);
 }
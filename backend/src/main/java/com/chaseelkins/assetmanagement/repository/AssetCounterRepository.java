@@ -0,0 +1,39 @@
+package com.chaseelkins.assetmanagement.repository;
+
+import com.chaseelkins.assetmanagement.model.AssetCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AssetCounterRepository extends JpaRepository<AssetCounter, Long> {
+
+    List<AssetCounter> findByTenantId(Long tenantId);
+
+    // Lock a tenant's counters while reconciling so concurrent deltas apply on top of the corrected values
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM AssetCounter c WHERE c.tenantId = :tenantId")
+    List<AssetCounter> findByTenantIdForUpdate(@Param("tenantId") Long tenantId);
+
+    boolean existsByTenantIdAndDimensionAndDimensionKey(Long tenantId, AssetCounter.Dimension dimension, String dimensionKey);
+
+    // Apply a delta in the caller's transaction; returns 0 if the counter row does not exist yet
+    @Modifying
+    @Query("UPDATE AssetCounter c SET c.assetCount = c.assetCount + :delta, c.updatedAt = :now " +
+           "WHERE c.tenantId = :tenantId AND c.dimension = :dimension AND c.dimensionKey = :dimensionKey")
+    int increment(@Param("tenantId") Long tenantId,
+                  @Param("dimension") AssetCounter.Dimension dimension,
+                  @Param("dimensionKey") String dimensionKey,
+                  @Param("delta") long delta,
+                  @Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT c.tenantId FROM AssetCounter c")
+    List<Long> findTenantIds();
+}
@@ -1,28 +1,64 @@
 package com.chaseelkins.assetmanagement.repository;
 
+import com.chaseelkins.assetmanagement.dto.AssetSummaryDTO;
 import com.chaseelkins.assetmanagement.model.Asset;
 import com.chaseelkins.assetmanagement.model.Category;
 import com.chaseelkins.assetmanagement.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AssetRepository extends JpaRepository<Asset, Long> {
     
+    // Shared WHERE clause for the filtered export queries (all filters optional)
+    String EXPORT_FILTER =
+           "(:status IS NULL OR a.status = :status) AND " +
+           "(:condition IS NULL OR a.condition = :condition) AND " +
+           "(:categoryId IS NULL OR a.category.id = :categoryId) AND " +
+           "(:location IS NULL OR LOWER(a.location) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
+           "(:purchaseDateFrom IS NULL OR a.purchaseDate >= :purchaseDateFrom) AND " +
+           "(:purchaseDateTo IS NULL OR a.purchaseDate <= :purchaseDateTo) AND " +
+           "(:warrantyExpiryFrom IS NULL OR a.warrantyExpiry >= :warrantyExpiryFrom) AND " +
+           "(:warrantyExpiryTo IS NULL OR a.warrantyExpiry <= :warrantyExpiryTo) AND " +
+           "(:minPrice IS NULL OR a.purchasePrice >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR a.purchasePrice <= :maxPrice)";
+    
+    // List read model: asset columns and category name in one statement, no entities loaded
+    String SUMMARY_SELECT =
+           "SELECT new com.chaseelkins.assetmanagement.dto.AssetSummaryDTO(" +
+           "a.id, a.name, a.assetTag, a.brand, a.model, a.serialNumber, a.location, a.status, a.condition, " +
+           "a.purchasePrice, a.warrantyExpiry, a.nextMaintenance, a.createdAt, a.updatedAt, c.id, c.name) " +
+           "FROM Asset a JOIN a.category c";
+    
     // Basic finder methods
     Optional<Asset> findByAssetTag(String assetTag);
     
     boolean existsByAssetTag(String assetTag);
     
+    // Batch lookups by tag for bulk import. Tags are unique across tenants, so tags held by
+    // other tenants are fetched separately, as plain strings, to be rejected per row
+    List<Asset> findByTenantIdAndAssetTagIn(Long tenantId, Collection<String> assetTags);
+    
+    @Query("SELECT a.assetTag FROM Asset a WHERE a.assetTag IN :assetTags AND a.tenantId <> :tenantId")
+    List<String> findAssetTagsOfOtherTenants(@Param("tenantId") Long tenantId,
+                                             @Param("assetTags") Collection<String> assetTags);
+    
     Optional<Asset> findBySerialNumber(String serialNumber);
     
     // Find by status
@@ -63,6 +99,29 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
            "LOWER(a.serialNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     Page<Asset> searchAssets(@Param("searchTerm") String searchTerm, Pageable pageable);
     
+    // Ranked search for PostgreSQL (V16): prefix full-text match on search_vector, or a tag/serial
+    // fragment via the trigram indexes. Exact tag matches first, then text rank plus trigram similarity
+    @Query(value = "SELECT a.* FROM assets a WHERE a.tenant_id = :tenantId AND (" +
+                   "a.search_vector @@ to_tsquery('simple', :tsQuery) OR " +
+                   "a.asset_tag ILIKE :pattern OR a.serial_number ILIKE :pattern) " +
+                   "ORDER BY CASE WHEN LOWER(a.asset_tag) = LOWER(:term) THEN 1 ELSE 0 END DESC, " +
+                   "ts_rank_cd(a.search_vector, to_tsquery('simple', :tsQuery)) + " +
+                   "GREATEST(similarity(a.asset_tag, :term), similarity(COALESCE(a.serial_number, ''), :term)) DESC, " +
+                   "a.id",
+           countQuery = "SELECT COUNT(*) FROM assets a WHERE a.tenant_id = :tenantId AND (" +
+                        "a.search_vector @@ to_tsquery('simple', :tsQuery) OR " +
+                        "a.asset_tag ILIKE :pattern OR a.serial_number ILIKE :pattern)",
+           nativeQuery = true)
+    Page<Asset> searchRanked(@Param("tenantId") Long tenantId,
+                             @Param("term") String term,
+                             @Param("tsQuery") String tsQuery,
+                             @Param("pattern") String pattern,
+                             Pageable pageable);
+    
+    // Searchable fields of a tenant's assets, for the in-memory search index
+    @Query("SELECT a.id, a.name, a.assetTag, a.brand, a.model, a.serialNumber FROM Asset a WHERE a.tenantId = :tenantId")
+    List<Object[]> findSearchFieldsByTenantId(@Param("tenantId") Long tenantId);
+    
     // Find available assets
     @Query("SELECT a FROM Asset a WHERE a.status = 'AVAILABLE'")
     List<Asset> findAvailableAssets();
@@ -97,11 +156,37 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
     // Count assets by tenant
     long countByTenantId(Long tenantId);
     
+    long countByTenantIdAndStatus(Long tenantId, Asset.AssetStatus status);
+    
+    long countByTenantIdAndCategoryId(Long tenantId, Long categoryId);
+    
+    // Per-tenant breakdowns used to rebuild the asset counters
+    @Query("SELECT a.status, COUNT(a) FROM Asset a WHERE a.tenantId = :tenantId GROUP BY a.status")
+    List<Object[]> countByStatusForTenant(@Param("tenantId") Long tenantId);
+    
+    @Query("SELECT a.category.id, COUNT(a) FROM Asset a WHERE a.tenantId = :tenantId GROUP BY a.category.id")
+    List<Object[]> countByCategoryForTenant(@Param("tenantId") Long tenantId);
+    
+    @Query("SELECT DISTINCT a.tenantId FROM Asset a")
+    List<Long> findDistinctTenantIds();
+    
     // Count assets by category
     long countByCategory(Category category);
     
     long countByCategoryId(Long categoryId);
     
+    // Asset count per category id across all tenants, for category listings without a tenant bound
+    @Query("SELECT a.category.id, COUNT(a) FROM Asset a GROUP BY a.category.id")
+    List<Object[]> countGroupedByCategoryId();
+    
+    // Summary report breakdowns for one tenant (status uses countByStatusForTenant)
+    @Query("SELECT a.condition, COUNT(a) FROM Asset a WHERE a.tenantId = :tenantId GROUP BY a.condition")
+    List<Object[]> countByConditionForTenant(@Param("tenantId") Long tenantId);
+    
+    @Query("SELECT c.name, COUNT(a) FROM Asset a JOIN a.category c WHERE a.tenantId = :tenantId " +
+           "GROUP BY c.name ORDER BY c.name")
+    List<Object[]> countByCategoryNameForTenant(@Param("tenantId") Long tenantId);
+    
     // Count assets by condition
     long countByCondition(Asset.AssetCondition condition);
     
@@ -118,6 +203,22 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
     List<Asset> findOverdueMaintenanceAssets();
     
     // Statistical queries
+    // Every dashboard figure in one scan: total, per-status counts, price sum and priced count,
+    // maintenance due by :maintenanceDate and warranties expiring between :today and :warrantyDate
+    @Query("SELECT COUNT(a), " +
+           "SUM(CASE WHEN a.status = 'AVAILABLE' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN a.status = 'ASSIGNED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN a.status = 'IN_MAINTENANCE' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN a.status = 'RETIRED' THEN 1 ELSE 0 END), " +
+           "SUM(a.purchasePrice), COUNT(a.purchasePrice), " +
+           "SUM(CASE WHEN a.nextMaintenance <= :maintenanceDate AND a.status != 'RETIRED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN a.warrantyExpiry BETWEEN :today AND :warrantyDate AND a.status != 'RETIRED' THEN 1 ELSE 0 END) " +
+           "FROM Asset a WHERE (:tenantId IS NULL OR a.tenantId = :tenantId)")
+    List<Object[]> summarizeAssets(@Param("tenantId") Long tenantId,
+                                   @Param("maintenanceDate") LocalDate maintenanceDate,
+                                   @Param("today") LocalDate today,
+                                   @Param("warrantyDate") LocalDate warrantyDate);
+    
     @Query("SELECT AVG(a.purchasePrice) FROM Asset a WHERE a.purchasePrice IS NOT NULL")
     BigDecimal findAveragePurchasePrice();
     
@@ -148,4 +249,133 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
     // Find distinct vendors
     @Query("SELECT DISTINCT a.vendor FROM Asset a WHERE a.vendor IS NOT NULL ORDER BY a.vendor")
     List<String> findDistinctVendors();
+    
+    // Filtered export - forward-only cursor, must be consumed inside a transaction and closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Asset a JOIN FETCH a.category WHERE " + EXPORT_FILTER + " ORDER BY a.id")
+    Stream<Asset> streamAssetsForExport(@Param("status") Asset.AssetStatus status,
+                                        @Param("condition") Asset.AssetCondition condition,
+                                        @Param("categoryId") Long categoryId,
+                                        @Param("location") String location,
+                                        @Param("purchaseDateFrom") LocalDate purchaseDateFrom,
+                                        @Param("purchaseDateTo") LocalDate purchaseDateTo,
+                                        @Param("warrantyExpiryFrom") LocalDate warrantyExpiryFrom,
+                                        @Param("warrantyExpiryTo") LocalDate warrantyExpiryTo,
+                                        @Param("minPrice") BigDecimal minPrice,
+                                        @Param("maxPrice") BigDecimal maxPrice);
+    
+    // Scheduled checks: tenants with matching assets, then keyset pages of ids over the
+    // (tenant_id, date) indexes, then one fetch-joined load per page
+    @Query("SELECT DISTINCT a.tenantId FROM Asset a WHERE a.nextMaintenance <= :date")
+    List<Long> findTenantIdsWithMaintenanceDue(@Param("date") LocalDate date);
+    
+    @Query("SELECT a.id FROM Asset a WHERE a.tenantId = :tenantId AND a.nextMaintenance <= :date " +
+           "AND a.id > :afterId ORDER BY a.id")
+    List<Long> findMaintenanceDueIds(@Param("tenantId") Long tenantId,
+                                     @Param("date") LocalDate date,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+    
+    @Query("SELECT DISTINCT a.tenantId FROM Asset a WHERE a.warrantyExpiry BETWEEN :startDate AND :endDate")
+    List<Long> findTenantIdsWithWarrantyExpiring(@Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT a.id FROM Asset a WHERE a.tenantId = :tenantId AND a.warrantyExpiry BETWEEN :startDate AND :endDate " +
+           "AND a.id > :afterId ORDER BY a.id")
+    List<Long> findWarrantyExpiringIds(@Param("tenantId") Long tenantId,
+                                       @Param("startDate") LocalDate startDate,
+                                       @Param("endDate") LocalDate endDate,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+    
+    @Query("SELECT DISTINCT a FROM Asset a LEFT JOIN FETCH a.assignedUsers WHERE a.id IN :ids ORDER BY a.id")
+    List<Asset> findWithAssignedUsersByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Scheduled reports run outside any request, so they name the tenant explicitly;
+    // same cursor settings as the filtered export
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Asset a JOIN FETCH a.category WHERE a.tenantId = :tenantId AND " + EXPORT_FILTER +
+           " ORDER BY a.id")
+    Stream<Asset> streamTenantAssetsForReport(@Param("tenantId") Long tenantId,
+                                              @Param("status") Asset.AssetStatus status,
+                                              @Param("condition") Asset.AssetCondition condition,
+                                              @Param("categoryId") Long categoryId,
+                                              @Param("location") String location,
+                                              @Param("purchaseDateFrom") LocalDate purchaseDateFrom,
+                                              @Param("purchaseDateTo") LocalDate purchaseDateTo,
+                                              @Param("warrantyExpiryFrom") LocalDate warrantyExpiryFrom,
+                                              @Param("warrantyExpiryTo") LocalDate warrantyExpiryTo,
+                                              @Param("minPrice") BigDecimal minPrice,
+                                              @Param("maxPrice") BigDecimal maxPrice);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Asset a JOIN FETCH a.category WHERE a.tenantId = :tenantId AND a.nextMaintenance <= :date " +
+           "AND a.status != 'RETIRED' ORDER BY a.nextMaintenance, a.id")
+    Stream<Asset> streamTenantAssetsNeedingMaintenance(@Param("tenantId") Long tenantId,
+                                                       @Param("date") LocalDate date);
+    
+    @Query("SELECT COUNT(a) FROM Asset a WHERE " + EXPORT_FILTER)
+    long countAssetsForExport(@Param("status") Asset.AssetStatus status,
+                              @Param("condition") Asset.AssetCondition condition,
+                              @Param("categoryId") Long categoryId,
+                              @Param("location") String location,
+                              @Param("purchaseDateFrom") LocalDate purchaseDateFrom,
+                              @Param("purchaseDateTo") LocalDate purchaseDateTo,
+                              @Param("warrantyExpiryFrom") LocalDate warrantyExpiryFrom,
+                              @Param("warrantyExpiryTo") LocalDate warrantyExpiryTo,
+                              @Param("minPrice") BigDecimal minPrice,
+                              @Param("maxPrice") BigDecimal maxPrice);
+    
+    @Query("SELECT SUM(a.purchasePrice) FROM Asset a WHERE a.purchasePrice IS NOT NULL AND " + EXPORT_FILTER)
+    BigDecimal sumPurchasePriceForExport(@Param("status") Asset.AssetStatus status,
+                                         @Param("condition") Asset.AssetCondition condition,
+                                         @Param("categoryId") Long categoryId,
+                                         @Param("location") String location,
+                                         @Param("purchaseDateFrom") LocalDate purchaseDateFrom,
+                                         @Param("purchaseDateTo") LocalDate purchaseDateTo,
+                                         @Param("warrantyExpiryFrom") LocalDate warrantyExpiryFrom,
+                                         @Param("warrantyExpiryTo") LocalDate warrantyExpiryTo,
+                                         @Param("minPrice") BigDecimal minPrice,
+                                         @Param("maxPrice") BigDecimal maxPrice);
+    
+    // Keyset pagination ordered by (updatedAt, id); the Pageable only carries the row limit
+    @Query(SUMMARY_SELECT + " ORDER BY a.updatedAt, a.id")
+    List<AssetSummaryDTO> findKeysetFirst(Pageable limit);
+    
+    @Query(SUMMARY_SELECT + " WHERE (a.updatedAt, a.id) > (:updatedAt, :id) ORDER BY a.updatedAt, a.id")
+    List<AssetSummaryDTO> findKeysetAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Pageable limit);
+    
+    // List read models (see SUMMARY_SELECT); assigned users come from findAssigneesByAssetIdIn
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(a) FROM Asset a")
+    Page<AssetSummaryDTO> findSummaries(Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + " WHERE a.status = :status",
+           countQuery = "SELECT COUNT(a) FROM Asset a WHERE a.status = :status")
+    Page<AssetSummaryDTO> findSummariesByStatus(@Param("status") Asset.AssetStatus status, Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + " WHERE c.id = :categoryId",
+           countQuery = "SELECT COUNT(a) FROM Asset a WHERE a.category.id = :categoryId")
+    Page<AssetSummaryDTO> findSummariesByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + " WHERE a.id IN :ids")
+    List<AssetSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Assigned users of a page of assets as (assetId, userId, firstName, lastName, email) rows
+    @Query("SELECT a.id, u.id, u.firstName, u.lastName, u.email FROM Asset a JOIN a.assignedUsers u " +
+           "WHERE a.id IN :assetIds ORDER BY a.id, u.id")
+    List<Object[]> findAssigneesByAssetIdIn(@Param("assetIds") Collection<Long> assetIds);
+    
+    // Detail read model: category and assigned users fetched with the asset in one statement
+    @EntityGraph(attributePaths = {"category", "assignedUsers"})
+    @Query("SELECT a FROM Asset a WHERE a.id = :id")
+    Optional<Asset> findDetailById(@Param("id") Long id);
 }
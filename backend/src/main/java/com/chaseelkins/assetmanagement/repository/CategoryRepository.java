@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +23,18 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     Optional<Category> findByNameIgnoreCase(String name);
     
+    // Batch lookups of one tenant's categories (used by bulk import)
+    @Query("SELECT c FROM Category c WHERE c.tenantId = :tenantId AND LOWER(c.name) IN :names")
+    List<Category> findByTenantIdAndNameLowerIn(@Param("tenantId") Long tenantId,
+                                                @Param("names") Collection<String> names);
+    
+    List<Category> findByTenantIdAndIdIn(Long tenantId, Collection<Long> ids);
+    
+    // Categories of one tenant, for the category list cache
+    List<Category> findByTenantIdOrderByIdAsc(Long tenantId);
+    
+    List<Category> findAllByOrderByIdAsc();
+    
     // Find active/inactive categories
     List<Category> findByActive(Boolean active);
     
@@ -74,4 +88,11 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     // Find next sort order
     @Query("SELECT COALESCE(MAX(c.sortOrder), 0) + 1 FROM Category c")
     Integer findNextSortOrder();
-}
\ No newline at end of file
+    
+    // Keyset pagination ordered by (updatedAt, id); the Pageable only carries the row limit
+    @Query("SELECT c FROM Category c ORDER BY c.updatedAt, c.id")
+    List<Category> findKeysetFirst(Pageable limit);
+    
+    @Query("SELECT c FROM Category c WHERE (c.updatedAt, c.id) > (:updatedAt, :id) ORDER BY c.updatedAt, c.id")
+    List<Category> findKeysetAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Pageable limit);
+}
@@ -0,0 +1,14 @@
+package com.chaseelkins.assetmanagement.repository;
+
+import com.chaseelkins.assetmanagement.model.ImportJobError;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+
+    List<ImportJobError> findByJobIdOrderByRowIndexAsc(Long jobId, Pageable pageable);
+}
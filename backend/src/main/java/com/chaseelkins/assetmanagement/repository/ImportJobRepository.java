@@ -0,0 +1,49 @@
+package com.chaseelkins.assetmanagement.repository;
+
+import com.chaseelkins.assetmanagement.model.ImportJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    List<ImportJob> findTop20ByTenantIdOrderByCreatedAtDesc(Long tenantId);
+
+    // Lock the job row while a chunk and its checkpoint are committed together
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ImportJob j WHERE j.id = :id")
+    Optional<ImportJob> findByIdForUpdate(@Param("id") Long id);
+
+    // Take the lease for one run of a job that is unowned, reserved for this node at submit time,
+    // or whose owner stopped heartbeating. A run token never matches :nodeId, so a job that is
+    // already running cannot be claimed again by a second worker on the same node
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImportJob j SET j.lockedBy = :runToken, j.heartbeatAt = :now, j.status = :running, " +
+           "j.startedAt = COALESCE(j.startedAt, :now) " +
+           "WHERE j.id = :id AND j.status IN :claimable " +
+           "AND (j.lockedBy IS NULL OR j.lockedBy = :nodeId OR j.heartbeatAt < :staleBefore)")
+    int claim(@Param("id") Long id,
+              @Param("nodeId") String nodeId,
+              @Param("runToken") String runToken,
+              @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore,
+              @Param("running") ImportJob.Status running,
+              @Param("claimable") Collection<ImportJob.Status> claimable);
+
+    // Unfinished jobs nobody is actively working on
+    @Query("SELECT j.id FROM ImportJob j WHERE j.status IN :claimable " +
+           "AND (j.lockedBy IS NULL OR j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore) " +
+           "ORDER BY j.createdAt")
+    List<Long> findResumableJobIds(@Param("claimable") Collection<ImportJob.Status> claimable,
+                                   @Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -12,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -158,4 +159,11 @@ public interface MaintenanceRepository extends JpaRepository<MaintenanceRecord,
     // Find distinct performers
     @Query("SELECT DISTINCT m.performedBy FROM MaintenanceRecord m WHERE m.performedBy IS NOT NULL ORDER BY m.performedBy")
     List<String> findDistinctPerformers();
-}
\ No newline at end of file
+    
+    // Keyset pagination ordered by (updatedAt, id); the Pageable only carries the row limit
+    @Query("SELECT m FROM MaintenanceRecord m ORDER BY m.updatedAt, m.id")
+    List<MaintenanceRecord> findKeysetFirst(Pageable limit);
+    
+    @Query("SELECT m FROM MaintenanceRecord m WHERE (m.updatedAt, m.id) > (:updatedAt, :id) ORDER BY m.updatedAt, m.id")
+    List<MaintenanceRecord> findKeysetAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Pageable limit);
+}
@@ -1,11 +1,19 @@
 package com.chaseelkins.assetmanagement.repository;
 
 import com.chaseelkins.assetmanagement.model.ReportSchedule;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,6 +39,35 @@ public interface ReportScheduleRepository extends JpaRepository<ReportSchedule,
     @Query("SELECT rs FROM ReportSchedule rs WHERE rs.enabled = true AND rs.nextRunAt <= :now")
     List<ReportSchedule> findDueSchedules(LocalDateTime now);
 
+    /**
+     * Lock a batch of due schedules that no node holds a live lease on.
+     * Rows already locked by another node's claim are skipped rather than waited on
+     * (lock timeout -2 = SKIP LOCKED), so concurrent pollers never block each other.
+     *
+     * @param now current timestamp
+     * @param pageable batch size
+     * @return locked schedules, oldest due first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT rs FROM ReportSchedule rs WHERE rs.enabled = true AND rs.nextRunAt <= :now " +
+           "AND (rs.lockedUntil IS NULL OR rs.lockedUntil < :now) ORDER BY rs.nextRunAt")
+    List<ReportSchedule> findDueForClaim(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Extend the leases a node still holds; schedules it no longer holds are left alone
+     *
+     * @param ids schedules the node is running or has queued
+     * @param nodeId the node holding the leases
+     * @param lockedUntil new lease end
+     * @return number of leases extended
+     */
+    @Modifying
+    @Query("UPDATE ReportSchedule rs SET rs.lockedUntil = :lockedUntil WHERE rs.id IN :ids AND rs.lockedBy = :nodeId")
+    int renewLeases(@Param("ids") Collection<Long> ids,
+                    @Param("nodeId") String nodeId,
+                    @Param("lockedUntil") LocalDateTime lockedUntil);
+
     /**
      * Find all enabled schedules
      *
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +33,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find users by role
     List<User> findByRole(User.Role role);
     
+    List<User> findByTenantIdAndRole(Long tenantId, User.Role role);
+    
     // Find active/inactive users
     List<User> findByActive(Boolean active);
     
@@ -82,4 +85,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
        // Find recently created users (last N days) using method naming
        List<User> findByCreatedAtAfterOrderByCreatedAtDesc(java.time.LocalDateTime cutoffDate);
+    
+    // Keyset pagination ordered by (updatedAt, id); the Pageable only carries the row limit
+    @Query("SELECT u FROM User u ORDER BY u.updatedAt, u.id")
+    List<User> findKeysetFirst(Pageable limit);
+    
+    @Query("SELECT u FROM User u WHERE (u.updatedAt, u.id) > (:updatedAt, :id) ORDER BY u.updatedAt, u.id")
+    List<User> findKeysetAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Pageable limit);
 }
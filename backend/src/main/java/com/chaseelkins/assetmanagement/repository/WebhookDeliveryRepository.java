@@ -0,0 +1,75 @@
+package com.chaseelkins.assetmanagement.repository;
+
+import com.chaseelkins.assetmanagement.model.WebhookDelivery;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WebhookDeliveryRepository extends JpaRepository<WebhookDelivery, Long> {
+
+    // Lock the oldest due delivery of each webhook that has no earlier pending delivery
+    // and no live lease, skipping rows another node is claiming (lock timeout -2 = SKIP LOCKED).
+    // Only the head of a webhook's queue is claimable, which keeps deliveries per webhook in order.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT d FROM WebhookDelivery d WHERE d.status = 'PENDING' AND d.nextAttemptAt <= :now " +
+           "AND (d.lockedUntil IS NULL OR d.lockedUntil < :now) " +
+           "AND NOT EXISTS (SELECT e.id FROM WebhookDelivery e WHERE e.webhookId = d.webhookId " +
+           "                AND e.status = 'PENDING' AND e.id < d.id) " +
+           "AND EXISTS (SELECT w.id FROM Webhook w WHERE w.id = d.webhookId AND w.active = true) " +
+           "ORDER BY d.nextAttemptAt, d.id")
+    List<WebhookDelivery> findHeadsForClaim(@Param("now") LocalDateTime now, Pageable limit);
+
+    // Pending deliveries queued behind a claimed head, in delivery order
+    @Query("SELECT d FROM WebhookDelivery d WHERE d.webhookId = :webhookId AND d.status = 'PENDING' " +
+           "AND d.id > :headId AND d.nextAttemptAt <= :now " +
+           "AND (d.lockedUntil IS NULL OR d.lockedUntil < :now) ORDER BY d.id")
+    List<WebhookDelivery> findQueuedAfter(@Param("webhookId") Long webhookId,
+                                          @Param("headId") Long headId,
+                                          @Param("now") LocalDateTime now,
+                                          Pageable limit);
+
+    @Modifying
+    @Query("UPDATE WebhookDelivery d SET d.status = 'DELIVERED', d.deliveredAt = :now, d.attempts = d.attempts + 1, " +
+           "d.lastError = NULL, d.lockedBy = NULL, d.lockedUntil = NULL " +
+           "WHERE d.id IN :ids AND d.lockedBy = :nodeId")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("nodeId") String nodeId, @Param("now") LocalDateTime now);
+
+    // Give up a lease without an attempt (the rows become claimable again)
+    @Modifying
+    @Query("UPDATE WebhookDelivery d SET d.lockedBy = NULL, d.lockedUntil = NULL " +
+           "WHERE d.id IN :ids AND d.lockedBy = :nodeId")
+    int release(@Param("ids") Collection<Long> ids, @Param("nodeId") String nodeId);
+
+    // Give up a lease without an attempt and hold the rows back until notBefore
+    // (endpoint circuit open or at its concurrency limit)
+    @Modifying
+    @Query("UPDATE WebhookDelivery d SET d.lockedBy = NULL, d.lockedUntil = NULL, " +
+           "d.nextAttemptAt = CASE WHEN d.nextAttemptAt < :notBefore THEN :notBefore ELSE d.nextAttemptAt END " +
+           "WHERE d.id IN :ids AND d.lockedBy = :nodeId")
+    int defer(@Param("ids") Collection<Long> ids, @Param("nodeId") String nodeId, @Param("notBefore") LocalDateTime notBefore);
+
+    @Modifying
+    @Query("DELETE FROM WebhookDelivery d WHERE d.status = :status AND d.createdAt < :cutoff")
+    int deleteByStatusCreatedBefore(@Param("status") WebhookDelivery.Status status, @Param("cutoff") LocalDateTime cutoff);
+
+    // Pending rows of a deactivated webhook are never claimed (deleting a webhook cascades to its rows)
+    @Modifying
+    @Query("DELETE FROM WebhookDelivery d WHERE d.status = 'PENDING' AND d.createdAt < :cutoff " +
+           "AND NOT EXISTS (SELECT w.id FROM Webhook w WHERE w.id = d.webhookId AND w.active = true)")
+    int deleteInactivePendingCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    long countByStatus(WebhookDelivery.Status status);
+}
@@ -3,8 +3,12 @@ package com.chaseelkins.assetmanagement.repository;
 import com.chaseelkins.assetmanagement.model.Webhook;
 import com.chaseelkins.assetmanagement.model.Webhook.WebhookEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -13,4 +17,29 @@ public interface WebhookRepository extends JpaRepository<Webhook, Long> {
     List<Webhook> findByActiveTrue();
     
     List<Webhook> findByActiveTrueAndEventsContaining(WebhookEvent event);
+    
+    // Active webhooks with their events in one query, for WebhookRegistry
+    @Query("SELECT DISTINCT w FROM Webhook w LEFT JOIN FETCH w.events WHERE w.active = true")
+    List<Webhook> findActiveWithEvents();
+    
+    @Query("SELECT DISTINCT w FROM Webhook w LEFT JOIN FETCH w.events WHERE w.active = true AND w.tenantId = :tenantId")
+    List<Webhook> findActiveWithEventsByTenantId(@Param("tenantId") Long tenantId);
+    
+    // Delivery outcome bookkeeping, written in batches without loading the webhook.
+    // Reset when a delivery succeeded since the last flush, otherwise add to the running count.
+    @Modifying
+    @Query("UPDATE Webhook w SET w.lastTriggeredAt = :lastTriggeredAt, w.failureCount = :failures, " +
+           "w.lastError = :error WHERE w.id = :id")
+    int resetDeliveryStats(@Param("id") Long id, @Param("failures") int failures, @Param("error") String error,
+                           @Param("lastTriggeredAt") LocalDateTime lastTriggeredAt);
+    
+    @Modifying
+    @Query("UPDATE Webhook w SET w.lastTriggeredAt = :lastTriggeredAt, w.failureCount = w.failureCount + :failures, " +
+           "w.lastError = :error WHERE w.id = :id")
+    int addDeliveryFailures(@Param("id") Long id, @Param("failures") int failures, @Param("error") String error,
+                            @Param("lastTriggeredAt") LocalDateTime lastTriggeredAt);
+    
+    @Modifying
+    @Query("UPDATE Webhook w SET w.active = false WHERE w.id = :id AND w.active = true AND w.failureCount >= :maxFailures")
+    int disableIfFailing(@Param("id") Long id, @Param("maxFailures") int maxFailures);
 }
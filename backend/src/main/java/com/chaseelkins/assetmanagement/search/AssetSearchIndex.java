@@ -0,0 +1,30 @@
+package com.chaseelkins.assetmanagement.search;
+
+import com.chaseelkins.assetmanagement.model.Asset;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Relevance-ranked asset search within one tenant.
+ * {@link PostgresAssetSearchIndex} uses the full-text and trigram indexes from V16;
+ * {@link InMemoryAssetSearchIndex} keeps an in-process index for databases without them (H2 in dev).
+ */
+public interface AssetSearchIndex {
+
+    /**
+     * Assets of the tenant matching the term, best match first. The page's sort is ignored.
+     */
+    Page<Asset> search(Long tenantId, String term, Pageable pageable);
+
+    /**
+     * Called once the transaction that inserted or updated an asset has committed
+     */
+    default void assetSaved(Asset asset) {
+    }
+
+    /**
+     * Called once the transaction that deleted an asset has committed
+     */
+    default void assetRemoved(Asset asset) {
+    }
+}
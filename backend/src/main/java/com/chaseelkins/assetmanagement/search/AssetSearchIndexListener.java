@@ -0,0 +1,92 @@
+package com.chaseelkins.assetmanagement.search;
+
+import com.chaseelkins.assetmanagement.model.Asset;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JPA listener on {@link Asset} that forwards changes to the search index.
+ * The JPA callbacks fire at flush, before the transaction commits, so changes are collected
+ * per transaction and handed to the index in afterCommit; a rolled back transaction never
+ * reaches it. The index is looked up lazily because listeners are created with the entity
+ * manager factory, before the repositories the index depends on.
+ */
+@Component
+public class AssetSearchIndexListener {
+
+    private final ObjectProvider<AssetSearchIndex> searchIndex;
+
+    public AssetSearchIndexListener(ObjectProvider<AssetSearchIndex> searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Asset asset) {
+        searchIndex.ifAvailable(index -> enqueue(index, new Change(asset, false)));
+    }
+
+    @PostRemove
+    public void removed(Asset asset) {
+        searchIndex.ifAvailable(index -> enqueue(index, new Change(asset, true)));
+    }
+
+    /**
+     * Hold the change until the current transaction commits (apply it now if there is none).
+     * Changes live in the transaction's own synchronization, so a transaction suspended by
+     * REQUIRES_NEW keeps its changes apart from the inner one.
+     */
+    private static void enqueue(AssetSearchIndex index, Change change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.applyTo(index);
+            return;
+        }
+        PendingChanges pending = null;
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges changes && changes.index == index) {
+                pending = changes;
+                break;
+            }
+        }
+        if (pending == null) {
+            pending = new PendingChanges(index);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        // The last change per asset wins
+        pending.changes.put(change.asset().getId(), change);
+    }
+
+    private record Change(Asset asset, boolean removed) {
+
+        // Read at commit, so the entity carries the committed field values
+        void applyTo(AssetSearchIndex index) {
+            if (removed) {
+                index.assetRemoved(asset);
+            } else {
+                index.assetSaved(asset);
+            }
+        }
+    }
+
+    private static final class PendingChanges implements TransactionSynchronization {
+        private final AssetSearchIndex index;
+        private final Map<Long, Change> changes = new LinkedHashMap<>();
+
+        PendingChanges(AssetSearchIndex index) {
+            this.index = index;
+        }
+
+        @Override
+        public void afterCommit() {
+            changes.values().forEach(change -> change.applyTo(index));
+        }
+    }
+}
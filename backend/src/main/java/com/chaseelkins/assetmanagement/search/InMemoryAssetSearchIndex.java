@@ -0,0 +1,186 @@
+package com.chaseelkins.assetmanagement.search;
+
+import com.chaseelkins.assetmanagement.model.Asset;
+import com.chaseelkins.assetmanagement.repository.AssetRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process search index for databases without full-text support (H2 in dev).
+ * Each tenant's index is built from the database on its first search and then kept
+ * current by {@link AssetSearchIndexListener}, which applies each change once its
+ * transaction commits. Words are held in a sorted map so prefix lookups are range scans;
+ * tag and serial fragments are matched by scanning the tenant's documents. Matches are
+ * re-read from the database, so a search racing a commit never returns stale fields.
+ */
+public class InMemoryAssetSearchIndex implements AssetSearchIndex {
+
+    // Ranking weights: exact tag > exact word > word prefix = tag/serial fragment
+    private static final double EXACT_TAG = 100;
+    private static final double EXACT_WORD = 2;
+    private static final double PREFIX_WORD = 1;
+    private static final double FRAGMENT = 1;
+
+    private final AssetRepository assetRepository;
+    private final Map<Long, TenantIndex> tenants = new ConcurrentHashMap<>();
+
+    public InMemoryAssetSearchIndex(AssetRepository assetRepository) {
+        this.assetRepository = assetRepository;
+    }
+
+    @Override
+    public Page<Asset> search(Long tenantId, String term, Pageable pageable) {
+        TenantIndex index = tenants.computeIfAbsent(tenantId, this::build);
+        List<Long> ranked = index.search(term);
+
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), ranked.size()) : 0;
+        int to = pageable.isPaged() ? Math.min(ranked.size(), from + pageable.getPageSize()) : ranked.size();
+        List<Long> ids = ranked.subList(from, to);
+
+        Map<Long, Asset> assets = assetRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Asset::getId, Function.identity()));
+        List<Asset> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Asset asset = assets.get(id);
+            if (asset != null) {
+                content.add(asset);
+            }
+        }
+        return new PageImpl<>(content, pageable, ranked.size());
+    }
+
+    @Override
+    public void assetSaved(Asset asset) {
+        TenantIndex index = tenants.get(asset.getTenantId());
+        if (index != null) {
+            index.put(new Document(asset.getId(), asset.getName(), asset.getAssetTag(),
+                    asset.getBrand(), asset.getModel(), asset.getSerialNumber()));
+        }
+    }
+
+    @Override
+    public void assetRemoved(Asset asset) {
+        TenantIndex index = tenants.get(asset.getTenantId());
+        if (index != null) {
+            index.remove(asset.getId());
+        }
+    }
+
+    private TenantIndex build(Long tenantId) {
+        TenantIndex index = new TenantIndex();
+        for (Object[] row : assetRepository.findSearchFieldsByTenantId(tenantId)) {
+            index.put(new Document((Long) row[0], (String) row[1], (String) row[2],
+                    (String) row[3], (String) row[4], (String) row[5]));
+        }
+        return index;
+    }
+
+    private static class TenantIndex {
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+        private final ConcurrentNavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+
+        synchronized void put(Document document) {
+            remove(document.id());
+            documents.put(document.id(), document);
+            for (String token : document.tokens()) {
+                postings.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(document.id());
+            }
+        }
+
+        synchronized void remove(Long id) {
+            Document old = documents.remove(id);
+            if (old == null) {
+                return;
+            }
+            for (String token : old.tokens()) {
+                Set<Long> ids = postings.get(token);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(token, ids);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Matching ids, best first. An asset matches if every word of the term is a prefix
+         * of one of its words, or if the whole term occurs in its tag or serial number.
+         */
+        List<Long> search(String term) {
+            Map<Long, Double> scores = new HashMap<>();
+
+            List<String> tokens = SearchTerms.tokenize(term);
+            Map<Long, Double> wordMatches = null;
+            for (String token : tokens) {
+                Map<Long, Double> hits = new HashMap<>();
+                for (Map.Entry<String, Set<Long>> posting :
+                        postings.subMap(token, true, token + Character.MAX_VALUE, true).entrySet()) {
+                    double weight = posting.getKey().equals(token) ? EXACT_WORD : PREFIX_WORD;
+                    for (Long id : posting.getValue()) {
+                        hits.merge(id, weight, Math::max);
+                    }
+                }
+                if (wordMatches == null) {
+                    wordMatches = hits;
+                } else {
+                    Map<Long, Double> previous = wordMatches;
+                    wordMatches = new HashMap<>();
+                    for (Map.Entry<Long, Double> hit : hits.entrySet()) {
+                        Double score = previous.get(hit.getKey());
+                        if (score != null) {
+                            wordMatches.put(hit.getKey(), score + hit.getValue());
+                        }
+                    }
+                }
+            }
+            if (wordMatches != null) {
+                scores.putAll(wordMatches);
+            }
+
+            String fragment = term.toLowerCase(Locale.ROOT);
+            for (Document document : documents.values()) {
+                if (document.tag().equals(fragment)) {
+                    scores.merge(document.id(), EXACT_TAG, Double::sum);
+                } else if (document.tag().contains(fragment) || document.serial().contains(fragment)) {
+                    scores.merge(document.id(), FRAGMENT, Double::sum);
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey(Comparator.naturalOrder())))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private record Document(Long id, List<String> tokens, String tag, String serial) {
+
+        Document(Long id, String name, String assetTag, String brand, String model, String serialNumber) {
+            this(id,
+                 SearchTerms.tokenize(String.join(" ", nullToEmpty(name), nullToEmpty(assetTag),
+                         nullToEmpty(brand), nullToEmpty(model), nullToEmpty(serialNumber))),
+                 nullToEmpty(assetTag).toLowerCase(Locale.ROOT),
+                 nullToEmpty(serialNumber).toLowerCase(Locale.ROOT));
+        }
+
+        private static String nullToEmpty(String value) {
+            return value != null ? value : "";
+        }
+    }
+}
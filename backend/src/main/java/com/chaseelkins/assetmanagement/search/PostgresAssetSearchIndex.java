@@ -0,0 +1,33 @@
+package com.chaseelkins.assetmanagement.search;
+
+import com.chaseelkins.assetmanagement.model.Asset;
+import com.chaseelkins.assetmanagement.repository.AssetRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Search backed by the generated search_vector column (GIN) and trigram indexes on
+ * asset_tag and serial_number. Words match as prefixes so results update per keystroke;
+ * tags and serials also match on any fragment. The database keeps both indexes current,
+ * so nothing needs to be done when assets change.
+ */
+public class PostgresAssetSearchIndex implements AssetSearchIndex {
+
+    private final AssetRepository assetRepository;
+
+    public PostgresAssetSearchIndex(AssetRepository assetRepository) {
+        this.assetRepository = assetRepository;
+    }
+
+    @Override
+    public Page<Asset> search(Long tenantId, String term, Pageable pageable) {
+        List<String> tokens = SearchTerms.tokenize(term);
+        // Ranking decides the order, so drop any requested sort
+        Pageable page = pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : pageable;
+        return assetRepository.searchRanked(tenantId, term, SearchTerms.prefixTsQuery(tokens),
+                SearchTerms.containsPattern(term), page);
+    }
+}
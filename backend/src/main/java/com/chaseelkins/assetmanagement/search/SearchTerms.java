@@ -0,0 +1,53 @@
+package com.chaseelkins.assetmanagement.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenizing shared by the search implementations
+ */
+final class SearchTerms {
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private SearchTerms() {
+    }
+
+    /**
+     * Lower-cased letter/digit runs; everything else separates words
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        Matcher matcher = WORD.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        return tokens;
+    }
+
+    /**
+     * tsquery requiring every word as a prefix, e.g. "dell lat" becomes "dell:* & lat:*".
+     * Tokens only contain letters and digits, so the result is always valid tsquery syntax.
+     */
+    static String prefixTsQuery(List<String> tokens) {
+        List<String> parts = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            parts.add(token + ":*");
+        }
+        return String.join(" & ", parts);
+    }
+
+    /**
+     * ILIKE pattern matching the term anywhere, with LIKE wildcards in the term escaped
+     */
+    static String containsPattern(String term) {
+        String escaped = term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
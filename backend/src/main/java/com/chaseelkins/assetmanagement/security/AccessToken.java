@@ -0,0 +1,8 @@
+package com.chaseelkins.assetmanagement.security;
+
+/**
+ * Claims of a verified access token.
+ * userId and securityVersion are null in tokens issued before they were added.
+ */
+public record AccessToken(String subject, Long userId, Integer securityVersion, Long tenantId) {
+}
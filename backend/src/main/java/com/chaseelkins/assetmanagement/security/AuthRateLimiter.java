@@ -1,13 +1,16 @@
 package com.chaseelkins.assetmanagement.security;
 
+import com.chaseelkins.assetmanagement.ratelimit.FailureBudget;
+import com.chaseelkins.assetmanagement.ratelimit.RateLimitStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Instant;
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Rate limiter for authentication endpoints to prevent brute force attacks.
@@ -16,6 +19,16 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Tracks failed login attempts per email + IP address combination
  * - Locks out after MAX_LOGIN_ATTEMPTS within the window
  * - Automatically resets after LOCKOUT_DURATION
+ * - Counters live in the shared {@link RateLimitStore}, so lockouts apply on every node
+ * - Separately, failed logins are budgeted per IP (any account) and per account (any IP),
+ *   so spraying many accounts from one IP, or one account from many IPs, is also stopped.
+ *   These are node-local {@link FailureBudget}s: a fixed-size sketch plus an exact table of
+ *   heavy hitters, so an attack with any number of distinct emails/IPs cannot grow memory,
+ *   and sketch collisions alone never exhaust a budget
+ * - An IP over its budget is refused. An account over its budget is only paced (one
+ *   attempt per interval, the rest get 429 with Retry-After at once), so failures sent by
+ *   someone else cannot lock the real user out; only failures for existing accounts count
+ *   against it
  * 
  * Security features:
  * - Prevents credential stuffing attacks
@@ -32,8 +45,34 @@ public class AuthRateLimiter {
     private static final int MAX_LOGIN_ATTEMPTS = 5;
     private static final Duration LOCKOUT_DURATION = Duration.ofMinutes(15);
     
-    // In-memory storage (use Redis for distributed systems)
-    private final Map<String, RateLimitBucket> buckets = new ConcurrentHashMap<>();
+    private static final String KEY_PREFIX = "auth:";
+    
+    private final RateLimitStore store;
+    private final FailureBudget ipFailures;
+    private final FailureBudget accountFailures;
+    private final Duration accountThrottleInterval;
+    // Earliest time (epoch ms) the next attempt on an over-budget account is let through
+    private final Cache<String, AtomicLong> nextAccountAttempt;
+    
+    public AuthRateLimiter(RateLimitStore store,
+                           @Value("${app.auth.rate-limit.ip-failure-budget:50}") int ipFailureBudget,
+                           @Value("${app.auth.rate-limit.account-failure-budget:20}") int accountFailureBudget,
+                           @Value("${app.auth.rate-limit.sketch-width:4096}") int sketchWidth,
+                           @Value("${app.auth.rate-limit.sketch-depth:4}") int sketchDepth,
+                           @Value("${app.auth.rate-limit.max-tracked:100000}") long maxTracked,
+                           @Value("${app.auth.rate-limit.account-throttle-interval-ms:2000}") long accountThrottleIntervalMs) {
+        this.store = store;
+        this.ipFailures = new FailureBudget(ipFailureBudget, sketchWidth, sketchDepth, maxTracked, LOCKOUT_DURATION);
+        this.accountFailures = new FailureBudget(accountFailureBudget, sketchWidth, sketchDepth, maxTracked, LOCKOUT_DURATION);
+        this.accountThrottleInterval = Duration.ofMillis(accountThrottleIntervalMs);
+        this.nextAccountAttempt = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterAccess(LOCKOUT_DURATION)
+                .build();
+        logger.info("Login failure budgets: {} per IP, {} per account per {} min ({} KB of counters)",
+                ipFailureBudget, accountFailureBudget, LOCKOUT_DURATION.toMinutes(),
+                (ipFailures.sketchSizeInBytes() + accountFailures.sketchSizeInBytes()) / 1024);
+    }
     
     /**
      * Check if a login attempt should be allowed for the given email and IP address.
@@ -43,24 +82,50 @@ public class AuthRateLimiter {
      * @return true if login attempt is allowed, false if rate limited
      */
     public boolean allowLoginAttempt(String email, String ipAddress) {
-        String identifier = createIdentifier(email, ipAddress);
+        // The IP budget is checked first so a blocked attempt does not use up the pair's permits
+        if (ipFailures.isExhausted(ipAddress)) {
+            logger.warn("🚫 Failed-login budget exhausted for IP: ip={}, email={}", ipAddress, email);
+            return false;
+        }
         
-        RateLimitBucket bucket = buckets.computeIfAbsent(
-            identifier,
-            k -> new RateLimitBucket(MAX_LOGIN_ATTEMPTS, LOCKOUT_DURATION)
-        );
+        String identifier = createIdentifier(email, ipAddress);
         
-        boolean allowed = bucket.tryConsume();
+        RateLimitStore.Decision decision = store.tryAcquire(identifier, MAX_LOGIN_ATTEMPTS, LOCKOUT_DURATION);
         
-        if (!allowed) {
+        if (!decision.allowed()) {
             logger.warn("🚫 Rate limit exceeded for login attempt: email={}, ip={}, lockout_until={}", 
-                       email, ipAddress, bucket.getLockoutUntil());
+                       email, ipAddress, decision.resetAt());
         } else {
             logger.debug("✅ Login attempt allowed: email={}, ip={}, remaining={}", 
-                        email, ipAddress, bucket.getRemaining());
+                        email, ipAddress, decision.remaining());
         }
         
-        return allowed;
+        return decision.allowed();
+    }
+    
+    /**
+     * Pace attempts on an account that has used up its failed-login budget: one attempt per
+     * {@code account-throttle-interval-ms} goes on to the password check, the others are
+     * refused at once. Nothing waits on the request thread, and the pacing is per account,
+     * so flooding one account never turns away the owner of another.
+     * 
+     * @param email User's email address
+     * @return 0 if the attempt may go ahead, otherwise seconds until the account takes another
+     */
+    public long getAccountRetryAfterSeconds(String email) {
+        String account = normalizeEmail(email);
+        if (!accountFailures.isExhausted(account)) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        AtomicLong next = nextAccountAttempt.get(account, k -> new AtomicLong());
+        long allowedAt = next.get();
+        if (allowedAt <= now && next.compareAndSet(allowedAt, now + accountThrottleInterval.toMillis())) {
+            logger.debug("⏳ Failed-login budget exhausted for account, letting paced attempt through: email={}", email);
+            return 0;
+        }
+        logger.warn("🚫 Login attempt refused, account over its failure budget: email={}", email);
+        return Math.max(1, (next.get() - now + 999) / 1000);
     }
     
     /**
@@ -68,14 +133,17 @@ public class AuthRateLimiter {
      * 
      * @param email User's email address
      * @param ipAddress Client's IP address
+     * @param accountExists whether the email belongs to an account; unknown emails only
+     *                      count against the IP, so they cannot use up a real account's budget
      */
-    public void recordFailedLogin(String email, String ipAddress) {
-        String identifier = createIdentifier(email, ipAddress);
+    public void recordFailedLogin(String email, String ipAddress, boolean accountExists) {
+        ipFailures.recordFailure(ipAddress);
+        if (accountExists) {
+            accountFailures.recordFailure(normalizeEmail(email));
+        }
         
-        RateLimitBucket bucket = buckets.get(identifier);
-        if (bucket != null) {
-            int remaining = bucket.getRemaining();
-            
+        int remaining = getRemainingAttempts(email, ipAddress);
+        if (remaining < MAX_LOGIN_ATTEMPTS) {
             logger.warn("⚠️  Failed login attempt: email={}, ip={}, attempts_remaining={}", 
                        email, ipAddress, remaining);
             
@@ -93,18 +161,18 @@ public class AuthRateLimiter {
     
     /**
      * Clear rate limits for a user (e.g., after successful login).
+     * Clears the email + IP counter and the account's failure budget; the per-IP budget
+     * ages out with the window.
      * 
      * @param email User's email address
      * @param ipAddress Client's IP address
      */
     public void clearLimits(String email, String ipAddress) {
-        String identifier = createIdentifier(email, ipAddress);
-        RateLimitBucket removed = buckets.remove(identifier);
-        
-        if (removed != null) {
-            logger.info("✅ Cleared rate limits after successful login: email={}, ip={}", 
-                       email, ipAddress);
-        }
+        store.reset(createIdentifier(email, ipAddress));
+        accountFailures.reset(normalizeEmail(email));
+        nextAccountAttempt.invalidate(normalizeEmail(email));
+        logger.debug("✅ Cleared rate limits after successful login: email={}, ip={}", 
+                    email, ipAddress);
     }
     
     /**
@@ -112,12 +180,11 @@ public class AuthRateLimiter {
      * 
      * @param email User's email address
      * @param ipAddress Client's IP address
-     * @return Number of remaining attempts, or MAX_LOGIN_ATTEMPTS if no bucket exists
+     * @return Number of remaining attempts, or MAX_LOGIN_ATTEMPTS if none were made
      */
     public int getRemainingAttempts(String email, String ipAddress) {
         String identifier = createIdentifier(email, ipAddress);
-        RateLimitBucket bucket = buckets.get(identifier);
-        return bucket != null ? bucket.getRemaining() : MAX_LOGIN_ATTEMPTS;
+        return (int) store.peek(identifier, MAX_LOGIN_ATTEMPTS, LOCKOUT_DURATION).remaining();
     }
     
     /**
@@ -128,9 +195,7 @@ public class AuthRateLimiter {
      * @return true if locked out, false otherwise
      */
     public boolean isLockedOut(String email, String ipAddress) {
-        String identifier = createIdentifier(email, ipAddress);
-        RateLimitBucket bucket = buckets.get(identifier);
-        return bucket != null && bucket.isLockedOut();
+        return getRemainingAttempts(email, ipAddress) == 0;
     }
     
     /**
@@ -138,79 +203,15 @@ public class AuthRateLimiter {
      * This prevents memory leaks in long-running applications.
      */
     public void cleanupExpiredEntries() {
-        int sizeBefore = buckets.size();
-        buckets.entrySet().removeIf(entry -> !entry.getValue().isLockedOut());
-        int sizeAfter = buckets.size();
-        
-        if (sizeBefore > sizeAfter) {
-            logger.info("🧹 Cleaned up {} expired rate limit entries", sizeBefore - sizeAfter);
-        }
+        store.cleanup();
     }
     
     private String createIdentifier(String email, String ipAddress) {
-        // Normalize email to lowercase for consistent rate limiting
-        return email.toLowerCase().trim() + ":" + ipAddress;
+        return KEY_PREFIX + normalizeEmail(email) + ":" + ipAddress;
     }
     
-    /**
-     * Internal rate limit bucket implementing sliding window algorithm.
-     */
-    private static class RateLimitBucket {
-        private final int maxAttempts;
-        private final Duration lockoutDuration;
-        private int remainingAttempts;
-        private Instant lockoutUntil;
-        
-        public RateLimitBucket(int maxAttempts, Duration lockoutDuration) {
-            this.maxAttempts = maxAttempts;
-            this.lockoutDuration = lockoutDuration;
-            this.remainingAttempts = maxAttempts;
-            this.lockoutUntil = null;
-        }
-        
-        public synchronized boolean tryConsume() {
-            Instant now = Instant.now();
-            
-            // Check if currently locked out
-            if (isLockedOut()) {
-                return false;
-            }
-            
-            // Reset if lockout expired
-            if (lockoutUntil != null && now.isAfter(lockoutUntil)) {
-                remainingAttempts = maxAttempts;
-                lockoutUntil = null;
-            }
-            
-            // Consume an attempt
-            if (remainingAttempts > 0) {
-                remainingAttempts--;
-                
-                // Initiate lockout if no attempts remaining
-                if (remainingAttempts == 0) {
-                    lockoutUntil = now.plus(lockoutDuration);
-                }
-                
-                return true;
-            }
-            
-            return false;
-        }
-        
-        public boolean isLockedOut() {
-            if (lockoutUntil == null) {
-                return false;
-            }
-            Instant now = Instant.now();
-            return now.isBefore(lockoutUntil);
-        }
-        
-        public int getRemaining() {
-            return isLockedOut() ? 0 : remainingAttempts;
-        }
-        
-        public Instant getLockoutUntil() {
-            return lockoutUntil;
-        }
+    private static String normalizeEmail(String email) {
+        // Normalize email to lowercase for consistent rate limiting
+        return email.toLowerCase().trim();
     }
 }
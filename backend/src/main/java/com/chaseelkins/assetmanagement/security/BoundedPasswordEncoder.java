@@ -0,0 +1,149 @@
+package com.chaseelkins.assetmanagement.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt on a dedicated, bounded pool.
+ * Hashing and verification run on at most {@code workers} threads with at most
+ * {@code queueCapacity} waiting; anything beyond that fails fast with
+ * {@link PasswordHashingBusyException} rather than tying up request threads, so a burst of
+ * logins cannot starve the rest of the API. The caller still waits for its own result.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    // BCrypt cost range considered by calibrate(); below 10 is too cheap to brute-force
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor pool;
+    private final long retryAfterSeconds;
+    private final Timer encodeWait;
+    private final Timer matchesWait;
+    private final Timer encodeTime;
+    private final Timer matchesTime;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(int strength, int workers, int queueCapacity, long retryAfterSeconds,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.encodeWait = waitTimer(meterRegistry, "encode");
+        this.matchesWait = waitTimer(meterRegistry, "matches");
+        this.encodeTime = hashTimer(meterRegistry, "encode");
+        this.matchesTime = hashTimer(meterRegistry, "matches");
+        this.rejected = Counter.builder("password_hash_rejected")
+                .description("Password hash requests shed because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("password_hash_queue_depth", pool, p -> p.getQueue().size())
+                .description("Password hash requests waiting for a worker")
+                .register(meterRegistry);
+        log.info("Password hashing: BCrypt cost {}, {} worker(s), queue of {}", strength, workers, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), encodeWait, encodeTime);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), matchesWait, matchesTime);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Highest BCrypt cost whose hash takes no longer than {@code target} on this machine,
+     * and never less than {@value #MIN_STRENGTH}. Each extra step doubles the time.
+     */
+    public static int calibrate(Duration target) {
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+            // First hash warms up the JIT; time the second
+            encoder.encode("calibration");
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            long elapsed = System.nanoTime() - start;
+            // The next cost would take about twice as long
+            if (elapsed * 2 > target.toNanos()) {
+                break;
+            }
+            strength++;
+        }
+        return strength;
+    }
+
+    private <T> T run(Callable<T> task, Timer waitTimer, Timer hashTimer) {
+        long queuedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = pool.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hash", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password_hash_queue_wait")
+                .description("Time password hash requests wait for a worker")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password_hash_duration")
+                .description("BCrypt time per hash or verification")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
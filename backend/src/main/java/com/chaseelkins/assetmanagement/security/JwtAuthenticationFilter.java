@@ -13,6 +13,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -25,10 +26,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     private final JwtTokenProvider tokenProvider;
+    private final JwtPrincipalCache principalCache;
     private final UserDetailsService userDetailsService;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, JwtPrincipalCache principalCache,
+                                   UserDetailsService userDetailsService) {
         this.tokenProvider = tokenProvider;
+        this.principalCache = principalCache;
         this.userDetailsService = userDetailsService;
     }
 
@@ -37,20 +41,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (header != null && header.startsWith("Bearer ")) {
-            String token = header.substring(7);
-            if (tokenProvider.validateToken(token)) {
-                String username = tokenProvider.getUsernameFromToken(token);
-                
-                // Extract tenant ID from JWT token
-                Long tenantId = tokenProvider.getTenantIdFromToken(token);
+            // Verified once; everything below reads the parsed claims
+            AccessToken token = tokenProvider.parse(header.substring(7));
+            UserDetails userDetails = token != null ? loadPrincipal(token) : null;
+            if (userDetails != null && userDetails.isEnabled()) {
+                Long tenantId = token.tenantId();
                 if (tenantId != null) {
                     TenantContext.setTenantId(tenantId);
-                    logger.debug("Set tenant context from JWT: tenant_id={}, user={}", tenantId, username);
+                    logger.debug("Set tenant context from JWT: tenant_id={}, user={}", tenantId, token.subject());
                 } else {
-                    logger.warn("JWT token does not contain tenant_id for user: {}", username);
+                    logger.warn("JWT token does not contain tenant_id for user: {}", token.subject());
                 }
                 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -59,4 +61,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails loadPrincipal(AccessToken token) {
+        if (token.userId() != null && token.securityVersion() != null) {
+            return principalCache.get(token);
+        }
+        // Issued before tokens carried the user id; load by email until they expire
+        try {
+            return userDetailsService.loadUserByUsername(token.subject());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
 }
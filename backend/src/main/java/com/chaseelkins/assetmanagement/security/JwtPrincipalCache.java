@@ -0,0 +1,117 @@
+package com.chaseelkins.assetmanagement.security;
+
+import com.chaseelkins.assetmanagement.cluster.ClusterNotifier;
+import com.chaseelkins.assetmanagement.model.User;
+import com.chaseelkins.assetmanagement.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Principals of authenticated requests, by user id, so a valid access token costs no query.
+ * An entry is only used for tokens carrying the user's current security version (see
+ * {@link User#getSecurityVersion()}); tokens with an older one are rejected. User writes
+ * drop the entry on every node through {@link ClusterNotifier}.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private static final String CHANNEL = "users_changed";
+
+    private final UserRepository userRepository;
+    private final ClusterNotifier clusterNotifier;
+    private final Cache<Long, CachedPrincipal> principals;
+
+    public JwtPrincipalCache(UserRepository userRepository,
+                             ClusterNotifier clusterNotifier,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.auth.principal-cache-max-size:10000}") long maxSize,
+                             @Value("${app.auth.principal-cache-ttl-seconds:600}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.clusterNotifier = clusterNotifier;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "jwt_principal");
+
+        clusterNotifier.subscribe(CHANNEL, new ClusterNotifier.Listener() {
+            @Override
+            public void onMessage(String payload) {
+                principals.invalidate(Long.valueOf(payload));
+            }
+
+            @Override
+            public void onResync() {
+                principals.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Principal for the token, or null if the user no longer exists or the token predates a
+     * change to the user's email, password, role or active flag
+     */
+    public UserDetails get(AccessToken token) {
+        CachedPrincipal cached = principals.get(token.userId(), this::load);
+        if (cached.version() < token.securityVersion()) {
+            // Newer token than our entry: a change notification was missed, reload once
+            principals.invalidate(token.userId());
+            cached = principals.get(token.userId(), this::load);
+        }
+        if (cached.principal() == null || cached.version() != token.securityVersion()
+                || !cached.principal().getUsername().equals(token.subject())) {
+            return null;
+        }
+        return cached.principal();
+    }
+
+    /**
+     * Drop the user's entry on every node once the current transaction commits
+     */
+    public void userChanged(Long userId) {
+        clusterNotifier.publish(CHANNEL, userId.toString());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            principals.invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                principals.invalidate(userId);
+            }
+        });
+    }
+
+    private CachedPrincipal load(Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            // Cached too, so tokens of a deleted user don't query on every request
+            return new CachedPrincipal(Integer.MAX_VALUE, null);
+        }
+        // The password hash is not needed to authenticate a token, so it is not kept in memory
+        UserDetails principal = new org.springframework.security.core.userdetails.User(
+                user.getEmail(),
+                "",
+                user.getActive(),
+                true,
+                true,
+                true,
+                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
+        );
+        return new CachedPrincipal(user.getSecurityVersion(), principal);
+    }
+
+    private record CachedPrincipal(int version, UserDetails principal) {}
+}
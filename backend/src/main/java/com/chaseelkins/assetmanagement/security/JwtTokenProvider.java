@@ -1,28 +1,32 @@
 package com.chaseelkins.assetmanagement.security;
 
+import com.chaseelkins.assetmanagement.model.User;
 import com.chaseelkins.assetmanagement.tenant.TenantContext;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
-import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
     private static final int MINIMUM_SECRET_LENGTH = 32; // 256 bits minimum for HS256
+    private static final String TENANT_ID_CLAIM = "tenantId";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String SECURITY_VERSION_CLAIM = "sv";
 
     private final SecretKey secretKey;
+    // Immutable and thread-safe; built once rather than per token
+    private final JwtParser parser;
     private final long accessExpirationMillis;
     // legacy expiration kept only for backward compatibility logic in constructor
 
@@ -65,79 +69,61 @@ public class JwtTokenProvider {
         }
         
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
         this.accessExpirationMillis = accessExpiration > 0 ? accessExpiration : legacyExpiration; // prefer new property
         
         logger.info("JWT Token Provider initialized successfully with secret length: {} characters", secret.length());
     }
 
-    public String generateToken(UserDetails userDetails) {
+    /**
+     * Access token for the user. Besides the email (subject) and roles it carries the user id
+     * and security version, which JwtAuthenticationFilter uses to authenticate without a query.
+     */
+    public String generateToken(User user) {
         long now = System.currentTimeMillis();
         Date issuedAt = new Date(now);
         Date expiry = new Date(now + accessExpirationMillis);
 
-        String roles = userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(","));
-        
         // Get tenant ID from context
         Long tenantId = TenantContext.getTenantId();
         
         var builder = Jwts.builder()
-                .subject(userDetails.getUsername())
+                .subject(user.getEmail())
                 .issuedAt(issuedAt)
                 .expiration(expiry)
-                .claim("roles", roles);
+                .claim("roles", "ROLE_" + user.getRole().name())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(SECURITY_VERSION_CLAIM, user.getSecurityVersion());
         
         // Include tenant ID in token if present
         if (tenantId != null) {
-            builder.claim("tenantId", tenantId);
-            logger.debug("Generated JWT token with tenant_id: {} for user: {}", tenantId, userDetails.getUsername());
+            builder.claim(TENANT_ID_CLAIM, tenantId);
+            logger.debug("Generated JWT token with tenant_id: {} for user: {}", tenantId, user.getEmail());
         } else {
-            logger.warn("Generated JWT token without tenant_id for user: {}", userDetails.getUsername());
+            logger.warn("Generated JWT token without tenant_id for user: {}", user.getEmail());
         }
         
         return builder.signWith(secretKey).compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
-    }
-    
-    public Long getTenantIdFromToken(String token) {
+    /**
+     * Verify the token and read its claims, or null if it is invalid or expired
+     */
+    public AccessToken parse(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            
-            Object tenantIdClaim = claims.get("tenantId");
-            if (tenantIdClaim != null) {
-                if (tenantIdClaim instanceof Integer) {
-                    return ((Integer) tenantIdClaim).longValue();
-                } else if (tenantIdClaim instanceof Long) {
-                    return (Long) tenantIdClaim;
-                }
-            }
-            return null;
-        } catch (Exception e) {
-            logger.error("Error extracting tenant ID from token", e);
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            return new AccessToken(claims.getSubject(),
+                    longClaim(claims, USER_ID_CLAIM),
+                    claims.get(SECURITY_VERSION_CLAIM, Integer.class),
+                    longClaim(claims, TENANT_ID_CLAIM));
+        } catch (io.jsonwebtoken.JwtException | IllegalArgumentException ex) {
             return null;
         }
     }
 
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
-            return true;
-        } catch (io.jsonwebtoken.JwtException | IllegalArgumentException ex) {
-            return false;
-        }
+    private static Long longClaim(Claims claims, String name) {
+        Object value = claims.get(name);
+        return value instanceof Number number ? number.longValue() : null;
     }
 
     public long getAccessExpirationMillis() {
@@ -0,0 +1,19 @@
+package com.chaseelkins.assetmanagement.security;
+
+/**
+ * Thrown when the password hashing pool is saturated and the request is shed instead of queued.
+ * Answered with 503 and a Retry-After header.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("Password hashing is at capacity, retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
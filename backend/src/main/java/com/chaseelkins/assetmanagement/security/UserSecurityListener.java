@@ -0,0 +1,28 @@
+package com.chaseelkins.assetmanagement.security;
+
+import com.chaseelkins.assetmanagement.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link User} that drops the cached principal whenever a user is written.
+ * The cache is looked up lazily because listeners are created with the entity manager
+ * factory, before the repositories it depends on.
+ */
+@Component
+public class UserSecurityListener {
+
+    private final ObjectProvider<JwtPrincipalCache> principalCache;
+
+    public UserSecurityListener(ObjectProvider<JwtPrincipalCache> principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void changed(User user) {
+        principalCache.ifAvailable(cache -> cache.userChanged(user.getId()));
+    }
+}
@@ -5,16 +5,21 @@ import com.chaseelkins.assetmanagement.model.ApiKey;
 import com.chaseelkins.assetmanagement.model.User;
 import com.chaseelkins.assetmanagement.repository.ApiKeyRepository;
 import com.chaseelkins.assetmanagement.repository.UserRepository;
+import com.chaseelkins.assetmanagement.security.PasswordHashingBusyException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -30,16 +35,22 @@ public class ApiKeyService {
     private final ApiKeyRepository apiKeyRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final VerifiedApiKeyCache verifiedKeyCache;
     private final String environment;
 
+    // Latest use per key id, written out in batches by flushLastUsed()
+    private final Map<Long, LocalDateTime> pendingLastUsed = new ConcurrentHashMap<>();
+
     public ApiKeyService(
             ApiKeyRepository apiKeyRepository, 
             UserRepository userRepository,
             PasswordEncoder passwordEncoder,
+            VerifiedApiKeyCache verifiedKeyCache,
             @Value("${spring.profiles.active:dev}") String environment) {
         this.apiKeyRepository = apiKeyRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.verifiedKeyCache = verifiedKeyCache;
         this.environment = environment;
     }
 
@@ -87,14 +98,22 @@ public class ApiKeyService {
     }
 
     /**
-     * Validate API key and return associated API key entity
+     * Validate API key and return associated API key entity.
+     * Keys verified within the cache TTL skip the database lookup and BCrypt check.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<ApiKey> validateApiKey(String fullApiKey) {
         if (fullApiKey == null || fullApiKey.length() < 16) {
             return Optional.empty();
         }
 
         try {
+            ApiKey cached = verifiedKeyCache.get(fullApiKey);
+            if (cached != null && cached.isValid()) {
+                recordUsage(cached);
+                return Optional.of(cached);
+            }
+
             String prefix = ApiKey.extractPrefix(fullApiKey);
             Optional<ApiKey> apiKeyOpt = apiKeyRepository.findByPrefix(prefix);
 
@@ -117,17 +136,41 @@ public class ApiKeyService {
                 return Optional.empty();
             }
 
-            // Update last used timestamp
-            apiKey.setLastUsedAt(LocalDateTime.now());
-            apiKeyRepository.save(apiKey);
+            verifiedKeyCache.put(fullApiKey, apiKey);
+            recordUsage(apiKey);
 
             return Optional.of(apiKey);
+        } catch (PasswordHashingBusyException e) {
+            // Not an invalid key; surfaces as 503 so the client retries
+            throw e;
         } catch (Exception e) {
             logger.error("Error validating API key", e);
             return Optional.empty();
         }
     }
 
+    /**
+     * Write the coalesced last-used timestamps collected since the previous flush
+     */
+    @Scheduled(fixedDelayString = "${app.api-keys.last-used-flush-ms:30000}")
+    public void flushLastUsed() {
+        if (pendingLastUsed.isEmpty()) {
+            return;
+        }
+        int updated = 0;
+        for (Long id : List.copyOf(pendingLastUsed.keySet())) {
+            LocalDateTime usedAt = pendingLastUsed.remove(id);
+            if (usedAt != null) {
+                updated += apiKeyRepository.updateLastUsedAt(id, usedAt);
+            }
+        }
+        logger.debug("Flushed last-used time for {} API keys", updated);
+    }
+
+    private void recordUsage(ApiKey apiKey) {
+        pendingLastUsed.put(apiKey.getId(), LocalDateTime.now());
+    }
+
     /**
      * Get all API keys for a user
      */
@@ -167,6 +210,7 @@ public class ApiKeyService {
         
         apiKey.setActive(false);
         apiKeyRepository.save(apiKey);
+        verifiedKeyCache.invalidateAfterCommit(id);
         logger.info("Revoked API key {}", apiKey.getPrefix());
     }
 
@@ -178,6 +222,8 @@ public class ApiKeyService {
                 .orElseThrow(() -> new RuntimeException("API key not found with ID: " + id));
         
         apiKeyRepository.delete(apiKey);
+        pendingLastUsed.remove(id);
+        verifiedKeyCache.invalidateAfterCommit(id);
         logger.info("Deleted API key {}", apiKey.getPrefix());
     }
 
@@ -208,6 +254,7 @@ public class ApiKeyService {
         }
 
         ApiKey updated = apiKeyRepository.save(apiKey);
+        verifiedKeyCache.invalidateAfterCommit(id);
         logger.info("Updated API key {}", updated.getPrefix());
         
         return toDTO(updated);
@@ -0,0 +1,398 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.dto.AssetDTO;
+import com.chaseelkins.assetmanagement.dto.imports.BulkImportRequests;
+import com.chaseelkins.assetmanagement.dto.imports.BulkImportResponses;
+import com.chaseelkins.assetmanagement.model.Asset;
+import com.chaseelkins.assetmanagement.model.Category;
+import com.chaseelkins.assetmanagement.model.Webhook.WebhookEvent;
+import com.chaseelkins.assetmanagement.notification.NotificationBus;
+import com.chaseelkins.assetmanagement.notification.NotificationEvent;
+import com.chaseelkins.assetmanagement.repository.AssetRepository;
+import com.chaseelkins.assetmanagement.repository.CategoryRepository;
+import com.chaseelkins.assetmanagement.tenant.TenantContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based upsert of one chunk of imported assets.
+ * Categories and existing asset tags for the whole chunk are loaded with one query each,
+ * scoped to the current tenant, inserts and updates are flushed as JDBC batches, and a
+ * single aggregated notification is sent per chunk instead of one per row. While a
+ * notification channel is saturated the chunk counts are held back and sent with the
+ * tenant's next import notification, at the latest when the import calls
+ * {@link #flushNotifications()}.
+ */
+@Service
+public class AssetBatchImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetBatchImporter.class);
+
+    private final AssetRepository assetRepository;
+    private final CategoryRepository categoryRepository;
+    private final WebhookService webhookService;
+    private final NotificationBus notificationBus;
+    private final Validator validator;
+    private final AssetCounterService assetCounterService;
+    private final CategoryCatalogCache categoryCatalogCache;
+    // Committed import counts not yet announced because the channels were saturated, per tenant
+    private final Map<Long, ImportedCounts> heldBack = new ConcurrentHashMap<>();
+
+    public AssetBatchImporter(AssetRepository assetRepository,
+                              CategoryRepository categoryRepository,
+                              WebhookService webhookService,
+                              NotificationBus notificationBus,
+                              Validator validator,
+                              AssetCounterService assetCounterService,
+                              CategoryCatalogCache categoryCatalogCache) {
+        this.assetRepository = assetRepository;
+        this.categoryRepository = categoryRepository;
+        this.webhookService = webhookService;
+        this.notificationBus = notificationBus;
+        this.validator = validator;
+        this.assetCounterService = assetCounterService;
+        this.categoryCatalogCache = categoryCatalogCache;
+    }
+
+    /**
+     * Import one chunk in its own transaction. Row-level problems are returned as
+     * errors; anything thrown from here rolls back the whole chunk.
+     */
+    @Transactional
+    public ChunkResult importChunk(List<BulkImportRequests.AssetRow> rows) {
+        List<BulkImportResponses.RowError> errors = new ArrayList<>();
+        Long tenantId = TenantContext.getTenantId();
+
+        Map<String, Category> categoriesByName = resolveCategoriesByName(tenantId, rows);
+        Map<Long, Category> categoriesById = loadCategoriesById(tenantId, rows);
+        Set<String> tags = requestedTags(rows);
+        Map<String, Asset> assetsByTag = loadAssetsByTag(tenantId, tags);
+        Set<String> foreignTags = tags.isEmpty()
+                ? Set.of()
+                : new HashSet<>(assetRepository.findAssetTagsOfOtherTenants(tenantId, tags));
+        Map<Long, Long> originalCategoryIds = assetsByTag.values().stream()
+                .collect(Collectors.toMap(Asset::getId, a -> a.getCategory().getId()));
+
+        List<Asset> created = new ArrayList<>();
+        Set<Asset> updated = new HashSet<>();
+        int updatedRows = 0;
+
+        for (BulkImportRequests.AssetRow row : rows) {
+            BulkImportRequests.AssetItem it = row.item();
+
+            if (it.assetTag() == null || it.assetTag().isBlank()) {
+                errors.add(new BulkImportResponses.RowError(row.index(), "assetTag is required"));
+                continue;
+            }
+            if (foreignTags.contains(it.assetTag())) {
+                // Tags are unique across tenants; inserting it would fail the whole chunk
+                errors.add(new BulkImportResponses.RowError(row.index(), "Asset tag is already in use: " + it.assetTag()));
+                continue;
+            }
+
+            Category category = resolveCategory(it, categoriesById, categoriesByName);
+            if (category == null) {
+                String message = it.categoryId() != null
+                        ? "Category not found with ID: " + it.categoryId()
+                        : "categoryId or categoryName is required";
+                errors.add(new BulkImportResponses.RowError(row.index(), message));
+                continue;
+            }
+
+            Asset existing = assetsByTag.get(it.assetTag());
+            Asset asset = existing != null ? existing : new Asset();
+            // Snapshot so a rejected row does not leave a half-applied update behind
+            AssetDTO previous = existing != null ? AssetDTO.fromEntity(existing) : null;
+            Category previousCategory = existing != null ? existing.getCategory() : null;
+
+            applyItem(asset, it, category, existing == null);
+
+            String violations = validate(asset);
+            if (violations != null) {
+                if (existing != null) {
+                    restore(existing, previous, previousCategory);
+                }
+                errors.add(new BulkImportResponses.RowError(row.index(), violations));
+                continue;
+            }
+
+            if (existing == null) {
+                assetsByTag.put(asset.getAssetTag(), asset);
+                created.add(asset);
+            } else if (asset.getId() != null) {
+                // A tag repeated within the chunk only changes the pending insert: still one create
+                updatedRows++;
+                updated.add(asset);
+            }
+        }
+
+        // New rows are inserted in JDBC batches; updated rows are managed and flushed with the commit
+        assetRepository.saveAll(created);
+        assetRepository.flush();
+        recordCounters(created, updated, originalCategoryIds);
+
+        notifyChunk(created, updated);
+
+        log.info("Imported asset chunk: {} created, {} updated, {} failed", created.size(), updatedRows, errors.size());
+        return new ChunkResult(created.size(), updatedRows, errors);
+    }
+
+    /**
+     * Look up all category names referenced by the chunk and create the missing ones in bulk
+     */
+    private Map<String, Category> resolveCategoriesByName(Long tenantId, List<BulkImportRequests.AssetRow> rows) {
+        Map<String, String> requestedNames = new LinkedHashMap<>();
+        for (BulkImportRequests.AssetRow row : rows) {
+            String name = row.item().categoryName();
+            if (row.item().categoryId() == null && name != null && !name.isBlank()) {
+                requestedNames.putIfAbsent(name.trim().toLowerCase(Locale.ROOT), name.trim());
+            }
+        }
+        if (requestedNames.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Map<String, Category> categories = categoryRepository.findByTenantIdAndNameLowerIn(tenantId, requestedNames.keySet()).stream()
+                .collect(Collectors.toMap(c -> c.getName().toLowerCase(Locale.ROOT), c -> c, (a, b) -> a));
+
+        List<Category> missing = new ArrayList<>();
+        int nextSortOrder = -1;
+        for (Map.Entry<String, String> entry : requestedNames.entrySet()) {
+            if (!categories.containsKey(entry.getKey())) {
+                if (nextSortOrder < 0) {
+                    nextSortOrder = categoryRepository.findNextSortOrder();
+                }
+                Category category = new Category(entry.getValue(), null, null, null, true, nextSortOrder++);
+                missing.add(category);
+                categories.put(entry.getKey(), category);
+            }
+        }
+        if (!missing.isEmpty()) {
+            categoryRepository.saveAll(missing);
+            categoryCatalogCache.invalidateAfterCommit(missing.get(0).getTenantId());
+            log.info("Created {} categories during asset import", missing.size());
+        }
+        return categories;
+    }
+
+    private Map<Long, Category> loadCategoriesById(Long tenantId, List<BulkImportRequests.AssetRow> rows) {
+        Set<Long> ids = rows.stream()
+                .map(row -> row.item().categoryId())
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        // Another tenant's category id reads as not found, like a missing one
+        return categoryRepository.findByTenantIdAndIdIn(tenantId, ids).stream()
+                .collect(Collectors.toMap(Category::getId, c -> c));
+    }
+
+    private Set<String> requestedTags(List<BulkImportRequests.AssetRow> rows) {
+        return rows.stream()
+                .map(row -> row.item().assetTag())
+                .filter(tag -> tag != null && !tag.isBlank())
+                .collect(Collectors.toSet());
+    }
+
+    private Map<String, Asset> loadAssetsByTag(Long tenantId, Set<String> tags) {
+        if (tags.isEmpty()) {
+            return new HashMap<>();
+        }
+        return assetRepository.findByTenantIdAndAssetTagIn(tenantId, tags).stream()
+                .collect(Collectors.toMap(Asset::getAssetTag, a -> a));
+    }
+
+    private Category resolveCategory(BulkImportRequests.AssetItem it,
+                                     Map<Long, Category> categoriesById,
+                                     Map<String, Category> categoriesByName) {
+        if (it.categoryId() != null) {
+            return categoriesById.get(it.categoryId());
+        }
+        if (it.categoryName() != null && !it.categoryName().isBlank()) {
+            return categoriesByName.get(it.categoryName().trim().toLowerCase(Locale.ROOT));
+        }
+        return null;
+    }
+
+    /**
+     * Copy imported fields onto the asset. New assets take every field; existing
+     * assets only take the fields present in the import. Status is left alone on
+     * update, matching AssetService.updateAsset.
+     */
+    private void applyItem(Asset asset, BulkImportRequests.AssetItem it, Category category, boolean isNew) {
+        if (isNew) {
+            asset.setName(it.name());
+            asset.setAssetTag(it.assetTag());
+            asset.setDescription(it.description());
+            asset.setBrand(it.brand());
+            asset.setModel(it.model());
+            asset.setSerialNumber(it.serialNumber());
+            asset.setPurchasePrice(it.purchasePrice());
+            asset.setPurchaseDate(it.purchaseDate());
+            asset.setVendor(it.vendor());
+            asset.setLocation(it.location());
+            asset.setStatus(it.status() != null ? it.status() : Asset.AssetStatus.AVAILABLE);
+            asset.setCondition(it.condition() != null ? it.condition() : Asset.AssetCondition.GOOD);
+            asset.setWarrantyExpiry(it.warrantyExpiry());
+            asset.setNextMaintenance(it.nextMaintenance());
+            asset.setNotes(it.notes());
+        } else {
+            if (it.name() != null) asset.setName(it.name());
+            if (it.description() != null) asset.setDescription(it.description());
+            if (it.brand() != null) asset.setBrand(it.brand());
+            if (it.model() != null) asset.setModel(it.model());
+            if (it.serialNumber() != null) asset.setSerialNumber(it.serialNumber());
+            if (it.purchasePrice() != null) asset.setPurchasePrice(it.purchasePrice());
+            if (it.purchaseDate() != null) asset.setPurchaseDate(it.purchaseDate());
+            if (it.vendor() != null) asset.setVendor(it.vendor());
+            if (it.location() != null) asset.setLocation(it.location());
+            if (it.condition() != null) asset.setCondition(it.condition());
+            if (it.warrantyExpiry() != null) asset.setWarrantyExpiry(it.warrantyExpiry());
+            if (it.nextMaintenance() != null) asset.setNextMaintenance(it.nextMaintenance());
+            if (it.notes() != null) asset.setNotes(it.notes());
+        }
+        asset.setCategory(category);
+    }
+
+    private void restore(Asset asset, AssetDTO previous, Category previousCategory) {
+        asset.setName(previous.getName());
+        asset.setDescription(previous.getDescription());
+        asset.setBrand(previous.getBrand());
+        asset.setModel(previous.getModel());
+        asset.setSerialNumber(previous.getSerialNumber());
+        asset.setPurchasePrice(previous.getPurchasePrice());
+        asset.setPurchaseDate(previous.getPurchaseDate());
+        asset.setVendor(previous.getVendor());
+        asset.setLocation(previous.getLocation());
+        asset.setCondition(previous.getCondition());
+        asset.setWarrantyExpiry(previous.getWarrantyExpiry());
+        asset.setNextMaintenance(previous.getNextMaintenance());
+        asset.setNotes(previous.getNotes());
+        asset.setCategory(previousCategory);
+    }
+
+    /**
+     * Run bean validation up front so one bad row cannot fail the whole chunk at flush time
+     */
+    private String validate(Asset asset) {
+        Set<ConstraintViolation<Asset>> violations = validator.validate(asset);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * One counter delta per tenant for the whole chunk; imported updates never change status
+     */
+    private void recordCounters(List<Asset> created, Set<Asset> updated, Map<Long, Long> originalCategoryIds) {
+        Map<Long, AssetCounterService.Delta> deltas = new HashMap<>();
+        for (Asset asset : created) {
+            deltas.computeIfAbsent(asset.getTenantId(), id -> new AssetCounterService.Delta()).created(asset);
+        }
+        for (Asset asset : updated) {
+            deltas.computeIfAbsent(asset.getTenantId(), id -> new AssetCounterService.Delta())
+                    .categoryChanged(originalCategoryIds.get(asset.getId()), asset.getCategory().getId());
+        }
+        deltas.forEach(assetCounterService::apply);
+    }
+
+    private void notifyChunk(List<Asset> created, Set<Asset> updated) {
+        if (!created.isEmpty()) {
+            webhookService.triggerWebhooks(WebhookEvent.ASSET_CREATED, bulkPayload(created));
+        }
+        if (!updated.isEmpty()) {
+            webhookService.triggerWebhooks(WebhookEvent.ASSET_UPDATED, bulkPayload(updated));
+        }
+        if (created.isEmpty() && updated.isEmpty()) {
+            return;
+        }
+        Long tenantId = TenantContext.getTenantId();
+        ImportedCounts counts = new ImportedCounts(created.size(), updated.size());
+        if (tenantId == null) {
+            publish(null, counts);
+            return;
+        }
+        if (notificationBus.isSaturated()) {
+            // Backpressure: queue nothing more now, the counts go out with a later event
+            onCompletion(TransactionSynchronization.STATUS_COMMITTED, () -> hold(tenantId, counts));
+            return;
+        }
+        ImportedCounts held = heldBack.remove(tenantId);
+        if (held != null) {
+            onCompletion(TransactionSynchronization.STATUS_ROLLED_BACK, () -> hold(tenantId, held));
+        }
+        publish(tenantId, held != null ? counts.plus(held) : counts);
+    }
+
+    /**
+     * Announce the counts held back for the current tenant while the channels were saturated.
+     * Called once an import has no more chunks to commit; published even if still saturated.
+     */
+    public void flushNotifications() {
+        Long tenantId = TenantContext.getTenantId();
+        ImportedCounts held = tenantId != null ? heldBack.remove(tenantId) : null;
+        if (held != null) {
+            publish(tenantId, held);
+        }
+    }
+
+    private void publish(Long tenantId, ImportedCounts counts) {
+        notificationBus.publish(new NotificationEvent.AssetsImported(tenantId, counts.created(), counts.updated()));
+    }
+
+    private void hold(Long tenantId, ImportedCounts counts) {
+        heldBack.merge(tenantId, counts, ImportedCounts::plus);
+    }
+
+    private static void onCompletion(int outcome, Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == outcome) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private Map<String, Object> bulkPayload(Collection<Asset> assets) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("count", assets.size());
+        payload.put("assets", assets.stream().map(AssetDTO::fromEntity).collect(Collectors.toList()));
+        return payload;
+    }
+
+    private record ImportedCounts(int created, int updated) {
+        ImportedCounts plus(ImportedCounts other) {
+            return new ImportedCounts(created + other.created, updated + other.updated);
+        }
+    }
+
+    /**
+     * Outcome of one committed chunk
+     */
+    public record ChunkResult(int created, int updated, List<BulkImportResponses.RowError> errors) {}
+}
@@ -0,0 +1,230 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.model.Asset;
+import com.chaseelkins.assetmanagement.model.AssetCounter;
+import com.chaseelkins.assetmanagement.repository.AssetCounterRepository;
+import com.chaseelkins.assetmanagement.repository.AssetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-tenant asset counts (total, by status, by category) kept in the asset_counters table.
+ * Asset changes apply their deltas in the same transaction as the change, reads are served
+ * from an in-memory snapshot per tenant, and a periodic job recounts each tenant to fix drift
+ * (for example from bulk SQL or deletes that bypass AssetService).
+ */
+@Service
+public class AssetCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetCounterService.class);
+
+    private final AssetCounterRepository counterRepository;
+    private final AssetRepository assetRepository;
+    private final AssetCounterWriter counterWriter;
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a load that raced with a commit is not cached
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    public AssetCounterService(AssetCounterRepository counterRepository,
+                               AssetRepository assetRepository,
+                               AssetCounterWriter counterWriter,
+                               @Value("${app.asset-counters.cache-ttl-seconds:60}") long ttlSeconds) {
+        this.counterRepository = counterRepository;
+        this.assetRepository = assetRepository;
+        this.counterWriter = counterWriter;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+    }
+
+    public long getTotal(Long tenantId) {
+        return snapshot(tenantId).total();
+    }
+
+    public long getStatusCount(Long tenantId, Asset.AssetStatus status) {
+        return snapshot(tenantId).byStatus().getOrDefault(status, 0L);
+    }
+
+    /**
+     * Asset count per category id
+     */
+    public Map<Long, Long> getCategoryCounts(Long tenantId) {
+        return snapshot(tenantId).byCategory();
+    }
+
+    public void recordCreated(Asset asset) {
+        apply(asset.getTenantId(), new Delta().created(asset));
+    }
+
+    public void recordStatusChange(Asset asset, Asset.AssetStatus oldStatus) {
+        apply(asset.getTenantId(), new Delta().statusChanged(oldStatus, asset.getStatus()));
+    }
+
+    public void recordCategoryChange(Asset asset, Long oldCategoryId) {
+        apply(asset.getTenantId(), new Delta().categoryChanged(oldCategoryId, asset.getCategory().getId()));
+    }
+
+    /**
+     * Apply deltas in the caller's transaction. The tenant's cached snapshot is dropped
+     * once the transaction commits.
+     */
+    public void apply(Long tenantId, Delta delta) {
+        if (tenantId == null || delta.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<AssetCounter.Key, Long> change : delta.changes.entrySet()) {
+            AssetCounter.Key key = change.getKey();
+            if (counterRepository.increment(tenantId, key.dimension(), key.value(), change.getValue(), now) == 0) {
+                try {
+                    counterWriter.createIfMissing(tenantId, key);
+                } catch (DataIntegrityViolationException e) {
+                    // Created concurrently by another transaction; the increment below finds it
+                }
+                counterRepository.increment(tenantId, key.dimension(), key.value(), change.getValue(), now);
+            }
+        }
+        evictAfterCommit(tenantId);
+    }
+
+    /**
+     * Recount every tenant's assets and correct counters that drifted
+     */
+    @Scheduled(fixedDelayString = "${app.asset-counters.reconcile-interval-ms:3600000}",
+               initialDelayString = "${app.asset-counters.reconcile-interval-ms:3600000}")
+    public void reconcileAll() {
+        Set<Long> tenantIds = new TreeSet<>(assetRepository.findDistinctTenantIds());
+        tenantIds.addAll(counterRepository.findTenantIds());
+
+        int drifted = 0;
+        for (Long tenantId : tenantIds) {
+            try {
+                if (counterWriter.reconcile(tenantId) > 0) {
+                    drifted++;
+                }
+                evict(tenantId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to reconcile asset counters for tenant {}: {}", tenantId, e.getMessage());
+            }
+        }
+        log.info("Reconciled asset counters for {} tenants ({} corrected)", tenantIds.size(), drifted);
+    }
+
+    private Snapshot snapshot(Long tenantId) {
+        long now = System.nanoTime();
+        Snapshot cached = snapshots.get(tenantId);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return cached;
+        }
+
+        long generation = generation(tenantId).get();
+        List<AssetCounter> counters = counterRepository.findByTenantId(tenantId);
+        if (counters.stream().noneMatch(c -> c.getDimension() == AssetCounter.Dimension.TOTAL)) {
+            // Tenant has never been counted (new tenant, or a database created before the counters existed)
+            counterWriter.reconcile(tenantId);
+            counters = counterRepository.findByTenantId(tenantId);
+        }
+
+        Snapshot loaded = Snapshot.of(counters, now);
+        if (generation(tenantId).get() == generation) {
+            snapshots.put(tenantId, loaded);
+        }
+        return loaded;
+    }
+
+    private void evictAfterCommit(Long tenantId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(tenantId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(tenantId);
+            }
+        });
+    }
+
+    private void evict(Long tenantId) {
+        generation(tenantId).incrementAndGet();
+        snapshots.remove(tenantId);
+    }
+
+    private AtomicLong generation(Long tenantId) {
+        return generations.computeIfAbsent(tenantId, id -> new AtomicLong());
+    }
+
+    /**
+     * Counter changes from one or more asset changes in a tenant.
+     * Keys are kept sorted so concurrent transactions lock counter rows in the same order.
+     */
+    public static final class Delta {
+        private final Map<AssetCounter.Key, Long> changes = new TreeMap<>();
+
+        public Delta created(Asset asset) {
+            add(AssetCounter.Key.total(), 1);
+            add(AssetCounter.Key.status(asset.getStatus()), 1);
+            add(AssetCounter.Key.category(asset.getCategory().getId()), 1);
+            return this;
+        }
+
+        public Delta statusChanged(Asset.AssetStatus from, Asset.AssetStatus to) {
+            if (from != to) {
+                add(AssetCounter.Key.status(from), -1);
+                add(AssetCounter.Key.status(to), 1);
+            }
+            return this;
+        }
+
+        public Delta categoryChanged(Long from, Long to) {
+            if (!from.equals(to)) {
+                add(AssetCounter.Key.category(from), -1);
+                add(AssetCounter.Key.category(to), 1);
+            }
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return changes.isEmpty();
+        }
+
+        private void add(AssetCounter.Key key, long amount) {
+            changes.merge(key, amount, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    private record Snapshot(long total, Map<Asset.AssetStatus, Long> byStatus, Map<Long, Long> byCategory, long loadedAt) {
+
+        static Snapshot of(List<AssetCounter> counters, long loadedAt) {
+            long total = 0;
+            Map<Asset.AssetStatus, Long> byStatus = new EnumMap<>(Asset.AssetStatus.class);
+            Map<Long, Long> byCategory = new HashMap<>();
+            for (AssetCounter counter : counters) {
+                switch (counter.getDimension()) {
+                    case TOTAL -> total = counter.getAssetCount();
+                    case STATUS -> byStatus.put(Asset.AssetStatus.valueOf(counter.getDimensionKey()), counter.getAssetCount());
+                    case CATEGORY -> byCategory.put(Long.valueOf(counter.getDimensionKey()), counter.getAssetCount());
+                }
+            }
+            return new Snapshot(total, byStatus, Collections.unmodifiableMap(byCategory), loadedAt);
+        }
+    }
+}
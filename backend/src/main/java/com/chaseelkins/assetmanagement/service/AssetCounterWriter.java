@@ -0,0 +1,101 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.model.Asset;
+import com.chaseelkins.assetmanagement.model.AssetCounter;
+import com.chaseelkins.assetmanagement.repository.AssetCounterRepository;
+import com.chaseelkins.assetmanagement.repository.AssetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counter row maintenance that must not run in the caller's transaction.
+ * Both operations commit on their own so an asset change never rolls back because a
+ * counter row was being created or corrected at the same time.
+ */
+@Service
+public class AssetCounterWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetCounterWriter.class);
+
+    private final AssetCounterRepository counterRepository;
+    private final AssetRepository assetRepository;
+
+    public AssetCounterWriter(AssetCounterRepository counterRepository, AssetRepository assetRepository) {
+        this.counterRepository = counterRepository;
+        this.assetRepository = assetRepository;
+    }
+
+    /**
+     * Create a missing counter row, seeded from the committed asset count.
+     * Throws DataIntegrityViolationException if another transaction created it first.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void createIfMissing(Long tenantId, AssetCounter.Key key) {
+        if (counterRepository.existsByTenantIdAndDimensionAndDimensionKey(tenantId, key.dimension(), key.value())) {
+            return;
+        }
+        long count = switch (key.dimension()) {
+            case TOTAL -> assetRepository.countByTenantId(tenantId);
+            case STATUS -> assetRepository.countByTenantIdAndStatus(tenantId, Asset.AssetStatus.valueOf(key.value()));
+            case CATEGORY -> assetRepository.countByTenantIdAndCategoryId(tenantId, Long.valueOf(key.value()));
+        };
+        counterRepository.saveAndFlush(new AssetCounter(tenantId, key, count));
+    }
+
+    /**
+     * Recount the tenant's assets and overwrite any counter that drifted
+     * @return number of counters corrected or created
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int reconcile(Long tenantId) {
+        Map<AssetCounter.Key, AssetCounter> stored = new HashMap<>();
+        for (AssetCounter counter : counterRepository.findByTenantIdForUpdate(tenantId)) {
+            stored.put(counter.key(), counter);
+        }
+
+        Map<AssetCounter.Key, Long> actual = new TreeMap<>();
+        long total = 0;
+        for (Object[] row : assetRepository.countByStatusForTenant(tenantId)) {
+            long count = ((Number) row[1]).longValue();
+            actual.put(AssetCounter.Key.status((Asset.AssetStatus) row[0]), count);
+            total += count;
+        }
+        for (Object[] row : assetRepository.countByCategoryForTenant(tenantId)) {
+            actual.put(AssetCounter.Key.category((Long) row[0]), ((Number) row[1]).longValue());
+        }
+        actual.put(AssetCounter.Key.total(), total);
+
+        LocalDateTime now = LocalDateTime.now();
+        int corrected = 0;
+        for (Map.Entry<AssetCounter.Key, Long> entry : actual.entrySet()) {
+            AssetCounter counter = stored.remove(entry.getKey());
+            if (counter == null) {
+                counterRepository.save(new AssetCounter(tenantId, entry.getKey(), entry.getValue()));
+                corrected++;
+            } else if (counter.getAssetCount() != entry.getValue()) {
+                log.warn("Asset counter {} for tenant {} drifted: stored {}, actual {}",
+                        entry.getKey(), tenantId, counter.getAssetCount(), entry.getValue());
+                counter.setAssetCount(entry.getValue());
+                counter.setUpdatedAt(now);
+                corrected++;
+            }
+        }
+        // Statuses and categories with no assets left
+        for (AssetCounter counter : stored.values()) {
+            if (counter.getAssetCount() != 0) {
+                counter.setAssetCount(0);
+                counter.setUpdatedAt(now);
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+}
@@ -1,24 +1,41 @@
 package com.chaseelkins.assetmanagement.service;
 
+import com.chaseelkins.assetmanagement.dto.AssetAssigneeDTO;
 import com.chaseelkins.assetmanagement.dto.AssetDTO;
+import com.chaseelkins.assetmanagement.dto.AssetDetailDTO;
+import com.chaseelkins.assetmanagement.dto.AssetSummaryDTO;
+import com.chaseelkins.assetmanagement.dto.CursorPage;
 import com.chaseelkins.assetmanagement.model.Asset;
 import com.chaseelkins.assetmanagement.model.Category;
 import com.chaseelkins.assetmanagement.model.User;
 import com.chaseelkins.assetmanagement.model.Webhook.WebhookEvent;
+import com.chaseelkins.assetmanagement.notification.AssetSnapshot;
+import com.chaseelkins.assetmanagement.notification.NotificationBus;
+import com.chaseelkins.assetmanagement.notification.NotificationEvent;
 import com.chaseelkins.assetmanagement.repository.AssetRepository;
 import com.chaseelkins.assetmanagement.repository.CategoryRepository;
 import com.chaseelkins.assetmanagement.repository.UserRepository;
+import com.chaseelkins.assetmanagement.search.AssetSearchIndex;
+import com.chaseelkins.assetmanagement.tenant.TenantContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -30,16 +47,20 @@ public class AssetService {
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final WebhookService webhookService;
-    private final SlackService slackService;
-    private final EmailService emailService;
+    private final NotificationBus notificationBus;
+    private final AssetStatisticsCache statisticsCache;
+    private final AssetCounterService assetCounterService;
+    private final AssetSearchIndex assetSearchIndex;
     
-    public AssetService(AssetRepository assetRepository, CategoryRepository categoryRepository, UserRepository userRepository, WebhookService webhookService, SlackService slackService, EmailService emailService) {
+    public AssetService(AssetRepository assetRepository, CategoryRepository categoryRepository, UserRepository userRepository, WebhookService webhookService, NotificationBus notificationBus, AssetStatisticsCache statisticsCache, AssetCounterService assetCounterService, AssetSearchIndex assetSearchIndex) {
         this.assetRepository = assetRepository;
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
         this.webhookService = webhookService;
-        this.slackService = slackService;
-        this.emailService = emailService;
+        this.notificationBus = notificationBus;
+        this.statisticsCache = statisticsCache;
+        this.assetCounterService = assetCounterService;
+        this.assetSearchIndex = assetSearchIndex;
     }
     
     /**
@@ -77,13 +98,14 @@ public class AssetService {
         asset.setCategory(category);
         
         Asset savedAsset = assetRepository.save(asset);
+        assetCounterService.recordCreated(savedAsset);
         log.info("Successfully created asset: {} with ID: {}", savedAsset.getAssetTag(), savedAsset.getId());
         
         // Trigger webhook
         webhookService.triggerWebhooks(WebhookEvent.ASSET_CREATED, AssetDTO.fromEntity(savedAsset));
         
-        // Send Slack notification
-        slackService.sendAssetCreatedNotification(savedAsset);
+        // Notify chat channels once committed
+        notificationBus.publish(new NotificationEvent.AssetCreated(savedAsset.getTenantId(), AssetSnapshot.of(savedAsset)));
         
         return savedAsset;
     }
@@ -95,6 +117,7 @@ public class AssetService {
         log.info("Updating asset with ID: {}", assetId);
         
         Asset existingAsset = getAssetById(assetId);
+        Long oldCategoryId = existingAsset.getCategory().getId();
         
         // Check if asset tag changed and is unique
         if (!existingAsset.getAssetTag().equals(assetDTO.getAssetTag()) && 
@@ -126,13 +149,14 @@ public class AssetService {
         existingAsset.setNotes(assetDTO.getNotes());
         
         Asset updatedAsset = assetRepository.save(existingAsset);
+        assetCounterService.recordCategoryChange(updatedAsset, oldCategoryId);
         log.info("Successfully updated asset: {}", updatedAsset.getAssetTag());
         
         // Trigger webhook
         webhookService.triggerWebhooks(WebhookEvent.ASSET_UPDATED, AssetDTO.fromEntity(updatedAsset));
         
-        // Send Slack notification
-        slackService.sendAssetUpdatedNotification(updatedAsset);
+        // Notify chat channels once committed
+        notificationBus.publish(new NotificationEvent.AssetUpdated(updatedAsset.getTenantId(), AssetSnapshot.of(updatedAsset)));
         
         return updatedAsset;
     }
@@ -146,6 +170,16 @@ public class AssetService {
                 .orElseThrow(() -> new RuntimeException("Asset not found with ID: " + assetId));
     }
     
+    /**
+     * Detail read model of an asset
+     */
+    @Transactional(readOnly = true)
+    public AssetDetailDTO getAssetDetail(Long assetId) {
+        return assetRepository.findDetailById(assetId)
+                .map(AssetDetailDTO::from)
+                .orElseThrow(() -> new RuntimeException("Asset not found with ID: " + assetId));
+    }
+    
     /**
      * Get asset by asset tag
      */
@@ -158,37 +192,59 @@ public class AssetService {
      * Get all assets with pagination
      */
     @Transactional(readOnly = true)
-    public Page<Asset> getAllAssets(Pageable pageable) {
-        return assetRepository.findAll(pageable);
+    public Page<AssetSummaryDTO> getAllAssets(Pageable pageable) {
+        return withAssignees(assetRepository.findSummaries(pageable));
     }
     
     /**
-     * Search assets
+     * Keyset page of assets ordered by (updatedAt, id)
      */
     @Transactional(readOnly = true)
-    public Page<Asset> searchAssets(String searchTerm, Pageable pageable) {
+    public CursorPage<AssetSummaryDTO> scrollAssets(String cursor, int size, boolean includeTotal) {
+        CursorPage.Key after = CursorPage.Key.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<AssetSummaryDTO> rows = after == null
+                ? assetRepository.findKeysetFirst(limit)
+                : assetRepository.findKeysetAfter(after.updatedAt(), after.id(), limit);
+        CursorPage<AssetSummaryDTO> page = CursorPage.of(rows, size, r -> new CursorPage.Key(r.updatedAt(), r.id()),
+                includeTotal ? assetRepository.count() : null);
+        Map<Long, List<AssetAssigneeDTO>> assignees = findAssignees(page.content());
+        return page.map(r -> r.withAssignedUsers(assignees.getOrDefault(r.id(), List.of())));
+    }
+    
+    /**
+     * Search assets in the current tenant, best match first
+     */
+    @Transactional(readOnly = true)
+    public Page<AssetSummaryDTO> searchAssets(String searchTerm, Pageable pageable) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getAllAssets(pageable);
         }
-        return assetRepository.searchAssets(searchTerm.trim(), pageable);
+        Long tenantId = TenantContext.getTenantId();
+        Page<Asset> hits = tenantId == null
+                // No tenant bound (internal callers): unranked match across all assets
+                ? assetRepository.searchAssets(searchTerm.trim(), pageable)
+                : assetSearchIndex.search(tenantId, searchTerm.trim(), pageable);
+        return summarize(hits);
     }
     
     /**
      * Get assets by status
      */
     @Transactional(readOnly = true)
-    public Page<Asset> getAssetsByStatus(Asset.AssetStatus status, Pageable pageable) {
-        return assetRepository.findByStatus(status, pageable);
+    public Page<AssetSummaryDTO> getAssetsByStatus(Asset.AssetStatus status, Pageable pageable) {
+        return withAssignees(assetRepository.findSummariesByStatus(status, pageable));
     }
     
     /**
      * Get assets by category
      */
     @Transactional(readOnly = true)
-    public Page<Asset> getAssetsByCategory(Long categoryId, Pageable pageable) {
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new RuntimeException("Category not found with ID: " + categoryId));
-        return assetRepository.findByCategory(category, pageable);
+    public Page<AssetSummaryDTO> getAssetsByCategory(Long categoryId, Pageable pageable) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new RuntimeException("Category not found with ID: " + categoryId);
+        }
+        return withAssignees(assetRepository.findSummariesByCategoryId(categoryId, pageable));
     }
     
     /**
@@ -231,14 +287,17 @@ public class AssetService {
         }
         
         // Add user to assigned users
+        Asset.AssetStatus oldStatus = asset.getStatus();
         asset.getAssignedUsers().add(user);
         asset.setStatus(Asset.AssetStatus.ASSIGNED);
         
         Asset updatedAsset = assetRepository.save(asset);
+        assetCounterService.recordStatusChange(updatedAsset, oldStatus);
         log.info("Successfully assigned asset {} to user {}", asset.getAssetTag(), user.getFullName());
         
-        // Send email notification
-        emailService.sendAssetAssignedEmail(updatedAsset, user);
+        // Email the assignee once committed
+        notificationBus.publish(new NotificationEvent.AssetAssigned(updatedAsset.getTenantId(), AssetSnapshot.of(updatedAsset),
+                new NotificationEvent.Recipient(user.getEmail(), user.getFirstName())));
         
         return updatedAsset;
     }
@@ -254,6 +313,7 @@ public class AssetService {
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
         
         // Remove user from assigned users
+        Asset.AssetStatus oldStatus = asset.getStatus();
         asset.getAssignedUsers().remove(user);
         
         // Update status if no users assigned
@@ -262,6 +322,7 @@ public class AssetService {
         }
         
         Asset updatedAsset = assetRepository.save(asset);
+        assetCounterService.recordStatusChange(updatedAsset, oldStatus);
         log.info("Successfully unassigned asset {} from user {}", asset.getAssetTag(), user.getFullName());
         
         return updatedAsset;
@@ -289,6 +350,7 @@ public class AssetService {
         }
         
         Asset updatedAsset = assetRepository.save(asset);
+        assetCounterService.recordStatusChange(updatedAsset, oldStatus);
         log.info("Successfully changed asset {} status from {} to {}", 
                  asset.getAssetTag(), oldStatus, newStatus);
         
@@ -331,25 +393,67 @@ public class AssetService {
     }
     
     /**
-     * Get asset statistics
+     * Get asset statistics for the current tenant.
+     * Served from a short-lived cache; a miss costs one aggregate query.
+     * SUPPORTS so callers waiting on another request's load do not hold a connection.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public AssetStatistics getAssetStatistics() {
-        long totalAssets = assetRepository.count();
-        long availableAssets = assetRepository.countByStatus(Asset.AssetStatus.AVAILABLE);
-        long assignedAssets = assetRepository.countByStatus(Asset.AssetStatus.ASSIGNED);
-        long maintenanceAssets = assetRepository.countByStatus(Asset.AssetStatus.IN_MAINTENANCE);
-        long retiredAssets = assetRepository.countByStatus(Asset.AssetStatus.RETIRED);
-        
-        BigDecimal totalValue = assetRepository.findTotalAssetValue();
-        BigDecimal averageValue = assetRepository.findAveragePurchasePrice();
-        
-        long assetsNeedingMaintenance = getAssetsNeedingMaintenance().size();
-        long warrantyExpiring = getAssetsWithExpiringWarranty(30).size();
-        
-        return new AssetStatistics(totalAssets, availableAssets, assignedAssets, 
-                                   maintenanceAssets, retiredAssets, totalValue, 
-                                   averageValue, assetsNeedingMaintenance, warrantyExpiring);
+        Long tenantId = TenantContext.getTenantId();
+        return statisticsCache.get(tenantId, () -> loadAssetStatistics(tenantId));
+    }
+    
+    private AssetStatistics loadAssetStatistics(Long tenantId) {
+        LocalDate today = LocalDate.now();
+        // Same windows as getAssetsNeedingMaintenance and getAssetsWithExpiringWarranty(30)
+        Object[] row = assetRepository.summarizeAssets(tenantId, today.plusDays(7), today, today.plusDays(30)).get(0);
+        
+        BigDecimal totalValue = (BigDecimal) row[5];
+        long pricedAssets = toLong(row[6]);
+        BigDecimal averageValue = pricedAssets > 0 && totalValue != null
+                ? totalValue.divide(BigDecimal.valueOf(pricedAssets), 2, RoundingMode.HALF_UP)
+                : null;
+        
+        return new AssetStatistics(toLong(row[0]), toLong(row[1]), toLong(row[2]),
+                                   toLong(row[3]), toLong(row[4]), totalValue,
+                                   averageValue, toLong(row[7]), toLong(row[8]));
+    }
+    
+    // SUM over no rows is null
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+    
+    /**
+     * Re-read a page of matched assets as list read models, keeping the match order
+     */
+    private Page<AssetSummaryDTO> summarize(Page<Asset> assets) {
+        List<Long> ids = assets.getContent().stream().map(Asset::getId).toList();
+        Map<Long, AssetSummaryDTO> summaries = ids.isEmpty() ? Map.of() :
+                assetRepository.findSummariesByIdIn(ids).stream()
+                        .collect(Collectors.toMap(AssetSummaryDTO::id, Function.identity()));
+        return withAssignees(assets.map(a -> summaries.get(a.getId())));
+    }
+    
+    private Page<AssetSummaryDTO> withAssignees(Page<AssetSummaryDTO> page) {
+        Map<Long, List<AssetAssigneeDTO>> assignees = findAssignees(page.getContent());
+        return page.map(r -> r.withAssignedUsers(assignees.getOrDefault(r.id(), List.of())));
+    }
+    
+    /**
+     * Assigned users for a page of assets in one query, keyed by asset id
+     */
+    private Map<Long, List<AssetAssigneeDTO>> findAssignees(List<AssetSummaryDTO> rows) {
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = rows.stream().map(AssetSummaryDTO::id).toList();
+        Map<Long, List<AssetAssigneeDTO>> assignees = new HashMap<>();
+        for (Object[] row : assetRepository.findAssigneesByAssetIdIn(ids)) {
+            assignees.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new AssetAssigneeDTO((Long) row[1], (String) row[2], (String) row[3], (String) row[4]));
+        }
+        return assignees;
     }
     
     /**
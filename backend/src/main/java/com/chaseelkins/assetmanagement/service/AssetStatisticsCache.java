@@ -0,0 +1,86 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.service.AssetService.AssetStatistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived, per-tenant cache of dashboard statistics.
+ * Concurrent callers for the same tenant share one load: the first caller runs the query
+ * and the rest wait for its result, so a burst of dashboard refreshes costs one round trip.
+ */
+@Component
+public class AssetStatisticsCache {
+
+    // Key used when no tenant is bound (figures across all tenants)
+    private static final long ALL_TENANTS = 0L;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    public AssetStatisticsCache(@Value("${app.statistics.cache-ttl-seconds:30}") long ttlSeconds) {
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+    }
+
+    /**
+     * Cached statistics for the tenant, loading them with {@code loader} if missing or stale
+     */
+    public AssetStatistics get(Long tenantId, Supplier<AssetStatistics> loader) {
+        Long key = tenantId != null ? tenantId : ALL_TENANTS;
+        long now = System.nanoTime();
+        Entry fresh = new Entry();
+        Entry entry = entries.compute(key, (k, existing) ->
+                existing == null || existing.isExpired(now, ttlNanos) ? fresh : existing);
+
+        if (entry == fresh) {
+            try {
+                AssetStatistics statistics = loader.get();
+                fresh.loadedAt = System.nanoTime();
+                fresh.result.complete(statistics);
+                return statistics;
+            } catch (Throwable e) {
+                // Let the next caller retry instead of replaying the failure for a whole TTL.
+                // Errors too: waiters block on this future until it completes
+                entries.remove(key, fresh);
+                fresh.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public void invalidate(Long tenantId) {
+        entries.remove(tenantId != null ? tenantId : ALL_TENANTS);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * One load; never expires while it is still running
+     */
+    private static class Entry {
+        final CompletableFuture<AssetStatistics> result = new CompletableFuture<>();
+        volatile long loadedAt;
+
+        boolean isExpired(long now, long ttlNanos) {
+            return result.isDone() && now - loadedAt >= ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.cluster.ClusterNotifier;
+import com.chaseelkins.assetmanagement.dto.CategorySummaryDTO;
+import com.chaseelkins.assetmanagement.model.Category;
+import com.chaseelkins.assetmanagement.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-tenant cache of the category list, which nearly every page reads.
+ * Entries hold category fields only (asset counts are joined in on read from the asset
+ * counters) and are dropped on every node when a category write commits, through
+ * {@link ClusterNotifier}. Concurrent misses for one tenant share a single load.
+ */
+@Component
+public class CategoryCatalogCache {
+
+    // Key used when no tenant is bound (categories of all tenants)
+    private static final long ALL_TENANTS = 0L;
+    private static final String CHANNEL = "categories_changed";
+    // Payload for a write with no tenant: only the cross-tenant entry is affected
+    private static final String NO_TENANT = "-";
+
+    private final CategoryRepository categoryRepository;
+    private final ClusterNotifier clusterNotifier;
+    private final LoadingCache<Long, List<CategorySummaryDTO>> catalogs;
+
+    public CategoryCatalogCache(CategoryRepository categoryRepository,
+                                ClusterNotifier clusterNotifier,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.categories.cache-max-size:10000}") long maxSize,
+                                @Value("${app.categories.cache-ttl-seconds:300}") long ttlSeconds) {
+        this.categoryRepository = categoryRepository;
+        this.clusterNotifier = clusterNotifier;
+        this.catalogs = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, catalogs, "category_catalog");
+
+        clusterNotifier.subscribe(CHANNEL, new ClusterNotifier.Listener() {
+            @Override
+            public void onMessage(String payload) {
+                invalidate(NO_TENANT.equals(payload) ? null : Long.valueOf(payload));
+            }
+
+            @Override
+            public void onResync() {
+                catalogs.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Cached categories for the tenant (all tenants if null), loaded on a miss.
+     * The returned DTOs are shared; callers copy them before filling in counts.
+     */
+    public List<CategorySummaryDTO> get(Long tenantId) {
+        return catalogs.get(tenantId != null ? tenantId : ALL_TENANTS);
+    }
+
+    /**
+     * Drop the tenant's entry on every node once the current transaction commits
+     * (immediately if there is none)
+     */
+    public void invalidateAfterCommit(Long tenantId) {
+        clusterNotifier.publish(CHANNEL, tenantId != null ? tenantId.toString() : NO_TENANT);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(tenantId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(tenantId);
+            }
+        });
+    }
+
+    public void invalidate(Long tenantId) {
+        if (tenantId != null) {
+            catalogs.invalidate(tenantId);
+        }
+        // The cross-tenant entry includes every tenant's categories
+        catalogs.invalidate(ALL_TENANTS);
+    }
+
+    private List<CategorySummaryDTO> load(Long key) {
+        List<Category> categories = key == ALL_TENANTS
+                ? categoryRepository.findAllByOrderByIdAsc()
+                : categoryRepository.findByTenantIdOrderByIdAsc(key);
+        return categories.stream().map(CategorySummaryDTO::new).toList();
+    }
+}
@@ -1,17 +1,25 @@
 package com.chaseelkins.assetmanagement.service;
 
 import com.chaseelkins.assetmanagement.dto.CategoryDTO;
+import com.chaseelkins.assetmanagement.dto.CategorySummaryDTO;
+import com.chaseelkins.assetmanagement.dto.CursorPage;
 import com.chaseelkins.assetmanagement.model.Category;
+import com.chaseelkins.assetmanagement.repository.AssetRepository;
 import com.chaseelkins.assetmanagement.repository.CategoryRepository;
+import com.chaseelkins.assetmanagement.tenant.TenantContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -20,9 +28,18 @@ public class CategoryService {
     private static final Logger log = LoggerFactory.getLogger(CategoryService.class);
 
     private final CategoryRepository categoryRepository;
-
-    public CategoryService(CategoryRepository categoryRepository) {
+    private final AssetRepository assetRepository;
+    private final AssetCounterService assetCounterService;
+    private final CategoryCatalogCache catalogCache;
+
+    public CategoryService(CategoryRepository categoryRepository,
+                           AssetRepository assetRepository,
+                           AssetCounterService assetCounterService,
+                           CategoryCatalogCache catalogCache) {
         this.categoryRepository = categoryRepository;
+        this.assetRepository = assetRepository;
+        this.assetCounterService = assetCounterService;
+        this.catalogCache = catalogCache;
     }
 
     public Category createCategory(CategoryDTO dto) {
@@ -41,7 +58,9 @@ public class CategoryService {
     category.setActive(dto.getActive() == null || dto.getActive());
         category.setSortOrder(dto.getSortOrder() != null ? dto.getSortOrder() : categoryRepository.findNextSortOrder());
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        catalogCache.invalidateAfterCommit(saved.getTenantId());
+        return saved;
     }
 
     public Category updateCategory(Long id, CategoryDTO dto) {
@@ -60,7 +79,9 @@ public class CategoryService {
         if (dto.getActive() != null) existing.setActive(dto.getActive());
         if (dto.getSortOrder() != null) existing.setSortOrder(dto.getSortOrder());
 
-        return categoryRepository.save(existing);
+        Category saved = categoryRepository.save(existing);
+        catalogCache.invalidateAfterCommit(saved.getTenantId());
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -73,32 +94,90 @@ public class CategoryService {
         log.info("Deleting category: {}", id);
         Category existing = getCategoryById(id);
         // If category has assets, prevent delete in this basic implementation
-        if (existing.getAssets() != null && !existing.getAssets().isEmpty()) {
+        if (assetRepository.countByCategoryId(id) > 0) {
             throw new IllegalStateException("Cannot delete category with assigned assets");
         }
         categoryRepository.delete(existing);
+        catalogCache.invalidateAfterCommit(existing.getTenantId());
     }
 
+    /**
+     * All categories of the current tenant with their asset counts
+     */
     @Transactional(readOnly = true)
-    public Page<Category> getAllCategories(Pageable pageable) {
-        return categoryRepository.findAll(pageable);
+    public List<CategorySummaryDTO> getAllCategories() {
+        return withAssetCounts(catalog());
     }
 
     @Transactional(readOnly = true)
-    public List<Category> getActiveCategories() {
-        return categoryRepository.findByActiveOrderBySortOrderAsc(true);
+    public CursorPage<CategorySummaryDTO> scrollCategories(String cursor, int size, boolean includeTotal) {
+        CursorPage.Key after = CursorPage.Key.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Category> rows = after == null
+                ? categoryRepository.findKeysetFirst(limit)
+                : categoryRepository.findKeysetAfter(after.updatedAt(), after.id(), limit);
+        Map<Long, Long> counts = assetCounts();
+        return CursorPage.of(rows, size, r -> new CursorPage.Key(r.getUpdatedAt(), r.getId()),
+                        includeTotal ? categoryRepository.count() : null)
+                .map(c -> new CategorySummaryDTO(c, countOf(counts, c.getId())));
     }
 
     @Transactional(readOnly = true)
-    public Page<Category> searchCategories(String query, Pageable pageable) {
-        if (query == null || query.isBlank()) {
-            return getAllCategories(pageable);
-        }
-        return categoryRepository.searchCategories(query.trim(), pageable);
+    public List<CategorySummaryDTO> getActiveCategories() {
+        return withAssetCounts(catalog().stream()
+                .filter(c -> Boolean.TRUE.equals(c.getActive()))
+                .sorted(Comparator.comparing(CategorySummaryDTO::getSortOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<CategorySummaryDTO> searchCategories(String query, Pageable pageable) {
+        Page<Category> categories = query == null || query.isBlank()
+                ? categoryRepository.findAll(pageable)
+                : categoryRepository.searchCategories(query.trim(), pageable);
+        Map<Long, Long> counts = assetCounts();
+        return categories.map(c -> new CategorySummaryDTO(c, countOf(counts, c.getId())));
     }
 
     @Transactional(readOnly = true)
-    public List<Category> getRecentlyCreatedCategories() {
-        return categoryRepository.findByCreatedAtAfterOrderByCreatedAtDesc(LocalDateTime.now().minusDays(30));
+    public List<CategorySummaryDTO> getRecentlyCreatedCategories() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+        return withAssetCounts(catalog().stream()
+                .filter(c -> c.getCreatedAt() != null && c.getCreatedAt().isAfter(cutoff))
+                .sorted(Comparator.comparing(CategorySummaryDTO::getCreatedAt).reversed())
+                .toList());
+    }
+
+    /**
+     * Cached category list of the current tenant, without counts
+     */
+    private List<CategorySummaryDTO> catalog() {
+        return catalogCache.get(TenantContext.getTenantId());
+    }
+
+    private List<CategorySummaryDTO> withAssetCounts(List<CategorySummaryDTO> categories) {
+        Map<Long, Long> counts = assetCounts();
+        return categories.stream()
+                .map(c -> new CategorySummaryDTO(c, countOf(counts, c.getId())))
+                .toList();
+    }
+
+    /**
+     * Asset count per category id: the tenant's maintained counters, or one grouped count without a tenant
+     */
+    private Map<Long, Long> assetCounts() {
+        Long tenantId = TenantContext.getTenantId();
+        if (tenantId != null) {
+            return assetCounterService.getCategoryCounts(tenantId);
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : assetRepository.countGroupedByCategoryId()) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private static int countOf(Map<Long, Long> counts, Long categoryId) {
+        return Math.toIntExact(counts.getOrDefault(categoryId, 0L));
     }
 }
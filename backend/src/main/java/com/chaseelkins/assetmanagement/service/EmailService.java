@@ -2,9 +2,12 @@ package com.chaseelkins.assetmanagement.service;
 
 import com.chaseelkins.assetmanagement.model.Asset;
 import com.chaseelkins.assetmanagement.model.User;
+import com.chaseelkins.assetmanagement.notification.AssetSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
@@ -12,6 +15,7 @@ import org.springframework.stereotype.Service;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import java.io.File;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -45,7 +49,7 @@ public class EmailService {
     /**
      * Send email notification when an asset is created
      */
-    @Async
+    @Async("emailExecutor")
     public void sendAssetCreatedEmail(Asset asset, String recipientEmail, String recipientName) {
         if (!isConfigured()) {
             logger.debug("Email notifications not configured, skipping asset created email");
@@ -63,29 +67,21 @@ public class EmailService {
     }
 
     /**
-     * Send email notification when an asset is assigned to a user
+     * Send one email for the assets assigned to a user. Runs on the caller's thread and
+     * throws on failure so the notification channel can retry it.
      */
-    @Async
-    public void sendAssetAssignedEmail(Asset asset, User assignedUser) {
-        if (!isConfigured()) {
-            logger.debug("Email notifications not configured, skipping asset assigned email");
-            return;
-        }
-
-        try {
-            String subject = "Asset Assigned to You: " + asset.getName();
-            String body = buildAssetAssignedEmailBody(asset, assignedUser);
-            sendHtmlEmail(assignedUser.getEmail(), subject, body);
-            logger.info("Sent asset assigned email for asset {} to user {}", asset.getId(), assignedUser.getId());
-        } catch (Exception e) {
-            logger.error("Failed to send asset assigned email for asset {}", asset.getId(), e);
-        }
+    public void sendAssetsAssignedEmail(List<AssetSnapshot> assets, String recipientEmail, String recipientName) {
+        String subject = assets.size() == 1
+                ? "Asset Assigned to You: " + assets.get(0).name()
+                : assets.size() + " Assets Assigned to You";
+        send(recipientEmail, subject, buildAssetsAssignedEmailBody(assets, recipientName));
+        logger.info("Sent asset assigned email with {} assets to {}", assets.size(), recipientEmail);
     }
 
     /**
      * Send email notification when maintenance is scheduled
      */
-    @Async
+    @Async("emailExecutor")
     public void sendMaintenanceScheduledEmail(Asset asset, LocalDate maintenanceDate, String recipientEmail, String recipientName) {
         if (!isConfigured()) {
             logger.debug("Email notifications not configured, skipping maintenance scheduled email");
@@ -105,7 +101,7 @@ public class EmailService {
     /**
      * Send email notification when maintenance is completed
      */
-    @Async
+    @Async("emailExecutor")
     public void sendMaintenanceCompletedEmail(Asset asset, String recipientEmail, String recipientName) {
         if (!isConfigured()) {
             logger.debug("Email notifications not configured, skipping maintenance completed email");
@@ -123,47 +119,31 @@ public class EmailService {
     }
 
     /**
-     * Send email notification for expiring warranties (digest)
+     * Send email notification for expiring warranties (digest) listing {@code assets} out of
+     * {@code total}. Runs on the caller's thread and throws on failure so the notification
+     * channel can retry it.
      */
-    @Async
-    public void sendWarrantyExpiringEmail(List<Asset> assets, String recipientEmail, String recipientName) {
-        if (!isConfigured() || assets.isEmpty()) {
-            return;
-        }
-
-        try {
-            String subject = assets.size() + " Assets with Expiring Warranties";
-            String body = buildWarrantyExpiringEmailBody(assets, recipientName);
-            sendHtmlEmail(recipientEmail, subject, body);
-            logger.info("Sent warranty expiring email with {} assets to {}", assets.size(), recipientEmail);
-        } catch (Exception e) {
-            logger.error("Failed to send warranty expiring email", e);
-        }
+    public void sendWarrantyExpiringEmail(List<AssetSnapshot> assets, int total, String recipientEmail, String recipientName) {
+        String subject = total + " Assets with Expiring Warranties";
+        send(recipientEmail, subject, buildWarrantyExpiringEmailBody(assets, total, recipientName));
+        logger.info("Sent warranty expiring email with {} assets to {}", total, recipientEmail);
     }
 
     /**
-     * Send email notification for overdue maintenance (digest)
+     * Send email notification for overdue maintenance (digest) listing {@code assets} out of
+     * {@code total}. Runs on the caller's thread and throws on failure so the notification
+     * channel can retry it.
      */
-    @Async
-    public void sendMaintenanceDueEmail(List<Asset> assets, String recipientEmail, String recipientName) {
-        if (!isConfigured() || assets.isEmpty()) {
-            return;
-        }
-
-        try {
-            String subject = assets.size() + " Assets Need Maintenance";
-            String body = buildMaintenanceDueEmailBody(assets, recipientName);
-            sendHtmlEmail(recipientEmail, subject, body);
-            logger.info("Sent maintenance due email with {} assets to {}", assets.size(), recipientEmail);
-        } catch (Exception e) {
-            logger.error("Failed to send maintenance due email", e);
-        }
+    public void sendMaintenanceDueEmail(List<AssetSnapshot> assets, int total, String recipientEmail, String recipientName) {
+        String subject = total + " Assets Need Maintenance";
+        send(recipientEmail, subject, buildMaintenanceDueEmailBody(assets, total, recipientName));
+        logger.info("Sent maintenance due email with {} assets to {}", total, recipientEmail);
     }
 
     /**
      * Send welcome email to new users
      */
-    @Async
+    @Async("emailExecutor")
     public void sendWelcomeEmail(User user) {
         if (!isConfigured()) {
             logger.debug("Email notifications not configured, skipping welcome email");
@@ -197,6 +177,44 @@ public class EmailService {
         }
     }
 
+    /**
+     * Send a generated report as an attachment. Runs on the caller's thread and
+     * throws on failure so the report runner can record it.
+     */
+    public void sendReportEmail(String[] to, String subject, String intro, String attachmentName,
+                                File attachment, String contentType) {
+        if (!isConfigured()) {
+            throw new IllegalStateException("Email notifications are not configured");
+        }
+
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+            helper.setFrom(fromEmail);
+            helper.setTo(to);
+            helper.setSubject(subject);
+            helper.setText(buildEmailTemplate(subject, "Hello,", intro, "", "Open Dashboard", appUrl), true);
+            helper.addAttachment(attachmentName, new FileSystemResource(attachment), contentType);
+
+            mailSender.send(message);
+            logger.info("Sent report '{}' to {} recipients", subject, to.length);
+        } catch (MessagingException | MailException e) {
+            throw new RuntimeException("Failed to send report email: " + e.getMessage(), e);
+        }
+    }
+
+    private void send(String to, String subject, String htmlBody) {
+        if (!isConfigured()) {
+            throw new IllegalStateException("Email notifications are not configured");
+        }
+        try {
+            sendHtmlEmail(to, subject, htmlBody);
+        } catch (MessagingException | MailException e) {
+            throw new RuntimeException("Failed to send email: " + e.getMessage(), e);
+        }
+    }
+
     private void sendHtmlEmail(String to, String subject, String htmlBody) throws MessagingException {
         MimeMessage message = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
@@ -220,14 +238,30 @@ public class EmailService {
         );
     }
 
-    private String buildAssetAssignedEmailBody(Asset asset, User user) {
+    private String buildAssetsAssignedEmailBody(List<AssetSnapshot> assets, String recipientName) {
+        if (assets.size() == 1) {
+            AssetSnapshot asset = assets.get(0);
+            return buildEmailTemplate(
+                    "Asset Assigned to You",
+                    "Hi " + recipientName + ",",
+                    "An asset has been assigned to you:",
+                    buildAssetDetailsHtml(asset),
+                    "View Asset",
+                    appUrl + "/app/assets/" + asset.id()
+            );
+        }
+
+        StringBuilder content = new StringBuilder();
+        for (AssetSnapshot asset : assets) {
+            content.append(buildAssetDetailsHtml(asset));
+        }
         return buildEmailTemplate(
-                "Asset Assigned to You",
-                "Hi " + user.getFirstName() + ",",
-                "An asset has been assigned to you:",
-                buildAssetDetailsHtml(asset),
-                "View Asset",
-                appUrl + "/app/assets/" + asset.getId()
+                "Assets Assigned to You",
+                "Hi " + recipientName + ",",
+                "The following assets have been assigned to you:",
+                content.toString(),
+                "View All Assets",
+                appUrl + "/app/assets"
         );
     }
 
@@ -254,18 +288,19 @@ public class EmailService {
         );
     }
 
-    private String buildWarrantyExpiringEmailBody(List<Asset> assets, String recipientName) {
+    private String buildWarrantyExpiringEmailBody(List<AssetSnapshot> assets, int total, String recipientName) {
         StringBuilder assetsList = new StringBuilder();
         assetsList.append("<ul style='margin: 20px 0; padding-left: 20px;'>");
-        for (Asset asset : assets) {
-            String warrantyDate = asset.getWarrantyExpiry() != null 
-                ? asset.getWarrantyExpiry().format(DATE_FORMATTER) 
+        for (AssetSnapshot asset : assets) {
+            String warrantyDate = asset.warrantyExpiry() != null 
+                ? asset.warrantyExpiry().format(DATE_FORMATTER) 
                 : "Unknown";
             assetsList.append("<li style='margin: 10px 0;'>")
-                    .append("<strong>").append(asset.getName()).append("</strong>")
+                    .append("<strong>").append(asset.name()).append("</strong>")
                     .append(" - Expires: ").append(warrantyDate)
                     .append("</li>");
         }
+        appendMore(assetsList, assets.size(), total);
         assetsList.append("</ul>");
 
         return buildEmailTemplate(
@@ -278,18 +313,19 @@ public class EmailService {
         );
     }
 
-    private String buildMaintenanceDueEmailBody(List<Asset> assets, String recipientName) {
+    private String buildMaintenanceDueEmailBody(List<AssetSnapshot> assets, int total, String recipientName) {
         StringBuilder assetsList = new StringBuilder();
         assetsList.append("<ul style='margin: 20px 0; padding-left: 20px;'>");
-        for (Asset asset : assets) {
-            String maintenanceDate = asset.getNextMaintenance() != null 
-                ? asset.getNextMaintenance().format(DATE_FORMATTER) 
+        for (AssetSnapshot asset : assets) {
+            String maintenanceDate = asset.nextMaintenance() != null 
+                ? asset.nextMaintenance().format(DATE_FORMATTER) 
                 : "Overdue";
             assetsList.append("<li style='margin: 10px 0;'>")
-                    .append("<strong>").append(asset.getName()).append("</strong>")
+                    .append("<strong>").append(asset.name()).append("</strong>")
                     .append(" - Due: ").append(maintenanceDate)
                     .append("</li>");
         }
+        appendMore(assetsList, assets.size(), total);
         assetsList.append("</ul>");
 
         return buildEmailTemplate(
@@ -302,6 +338,14 @@ public class EmailService {
         );
     }
 
+    // Digests list a capped number of assets; the rest are only counted
+    private static void appendMore(StringBuilder assetsList, int listed, int total) {
+        if (total > listed) {
+            assetsList.append("<li style='margin: 10px 0;'>...and ")
+                    .append(total - listed).append(" more</li>");
+        }
+    }
+
     private String buildWelcomeEmailBody(User user) {
         String content = "<p style='margin: 15px 0; color: #4b5563; line-height: 1.6;'>" +
                 "Your account has been successfully created. You can now:" +
@@ -324,12 +368,16 @@ public class EmailService {
     }
 
     private String buildAssetDetailsHtml(Asset asset) {
+        return buildAssetDetailsHtml(AssetSnapshot.of(asset));
+    }
+
+    private String buildAssetDetailsHtml(AssetSnapshot asset) {
         return "<div style='background: linear-gradient(135deg, #eff6ff 0%, #d1fae5 100%); border-radius: 12px; padding: 20px; margin: 20px 0;'>" +
-                "<p style='margin: 8px 0; color: #1f2937;'><strong>Asset:</strong> " + asset.getName() + "</p>" +
-                (asset.getAssetTag() != null ? "<p style='margin: 8px 0; color: #1f2937;'><strong>Tag:</strong> " + asset.getAssetTag() + "</p>" : "") +
-                (asset.getSerialNumber() != null ? "<p style='margin: 8px 0; color: #1f2937;'><strong>Serial:</strong> " + asset.getSerialNumber() + "</p>" : "") +
-                (asset.getLocation() != null ? "<p style='margin: 8px 0; color: #1f2937;'><strong>Location:</strong> " + asset.getLocation() + "</p>" : "") +
-                "<p style='margin: 8px 0; color: #1f2937;'><strong>Status:</strong> " + asset.getStatus() + "</p>" +
+                "<p style='margin: 8px 0; color: #1f2937;'><strong>Asset:</strong> " + asset.name() + "</p>" +
+                (asset.assetTag() != null ? "<p style='margin: 8px 0; color: #1f2937;'><strong>Tag:</strong> " + asset.assetTag() + "</p>" : "") +
+                (asset.serialNumber() != null ? "<p style='margin: 8px 0; color: #1f2937;'><strong>Serial:</strong> " + asset.serialNumber() + "</p>" : "") +
+                (asset.location() != null ? "<p style='margin: 8px 0; color: #1f2937;'><strong>Location:</strong> " + asset.location() + "</p>" : "") +
+                "<p style='margin: 8px 0; color: #1f2937;'><strong>Status:</strong> " + asset.status() + "</p>" +
                 "</div>";
     }
 
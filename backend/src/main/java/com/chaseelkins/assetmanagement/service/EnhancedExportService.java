@@ -2,10 +2,12 @@ package com.chaseelkins.assetmanagement.service;
 
 import com.chaseelkins.assetmanagement.model.Asset;
 import com.chaseelkins.assetmanagement.repository.AssetRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -13,9 +15,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Enhanced export service with filtering and column selection.
@@ -27,15 +30,23 @@ public class EnhancedExportService {
     private static final Logger logger = LoggerFactory.getLogger(EnhancedExportService.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
     
+    // Number of rows written between explicit flushes of the response
+    private static final int FLUSH_INTERVAL = 1000;
+    
     private final AssetRepository assetRepository;
+    private final EntityManager entityManager;
     
-    public EnhancedExportService(AssetRepository assetRepository) {
+    public EnhancedExportService(AssetRepository assetRepository, EntityManager entityManager) {
         this.assetRepository = assetRepository;
+        this.entityManager = entityManager;
     }
     
     /**
-     * Export assets to CSV with filters and custom columns
+     * Export assets to CSV with filters and custom columns.
+     * Filters are applied in the database and rows are streamed from a cursor
+     * straight to the response, so memory use does not grow with the result size.
      */
+    @Transactional(readOnly = true)
     public void exportFilteredAssets(
             HttpServletResponse response,
             Set<String> columns,
@@ -53,16 +64,6 @@ public class EnhancedExportService {
         
         logger.info("Exporting filtered assets with {} columns", columns != null ? columns.size() : "all");
         
-        // Get all assets and filter
-        List<Asset> allAssets = assetRepository.findAll();
-        List<Asset> filteredAssets = filterAssets(
-            allAssets, status, condition, categoryId, location,
-            purchaseDateFrom, purchaseDateTo, warrantyExpiryFrom, warrantyExpiryTo,
-            minPrice, maxPrice
-        );
-        
-        logger.info("Filtered {} assets from {} total", filteredAssets.size(), allAssets.size());
-        
         // Determine which columns to include
         Set<String> selectedColumns = (columns == null || columns.isEmpty()) 
             ? getAllColumns() 
@@ -70,54 +71,57 @@ public class EnhancedExportService {
         
         // Set response headers
         response.setContentType("text/csv");
+        response.setCharacterEncoding("UTF-8");
         response.setHeader("Content-Disposition", "attachment; filename=\"assets_export_" + 
             LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE) + ".csv\"");
         
-        // Write CSV
-        try (PrintWriter writer = response.getWriter()) {
-            writeCSVHeader(writer, selectedColumns);
-            writeCSVData(writer, filteredAssets, selectedColumns);
+        long exported;
+        
+        try (Stream<Asset> assets = assetRepository.streamAssetsForExport(
+                status, condition, categoryId, normalizeLocation(location),
+                purchaseDateFrom, purchaseDateTo, warrantyExpiryFrom, warrantyExpiryTo,
+                minPrice, maxPrice);
+             PrintWriter writer = response.getWriter()) {
+            exported = writeAssetsCsv(assets, selectedColumns, writer);
         }
         
-        logger.info("Successfully exported {} assets", filteredAssets.size());
+        logger.info("Successfully exported {} assets", exported);
     }
     
     /**
-     * Filter assets based on criteria
+     * Write assets from an open cursor as CSV.
+     * Must be called inside the transaction that owns the stream.
+     * @param columns columns to include, or null/empty for all
+     * @return number of asset rows written
      */
-    private List<Asset> filterAssets(
-            List<Asset> assets,
-            Asset.AssetStatus status,
-            Asset.AssetCondition condition,
-            Long categoryId,
-            String location,
-            LocalDate purchaseDateFrom,
-            LocalDate purchaseDateTo,
-            LocalDate warrantyExpiryFrom,
-            LocalDate warrantyExpiryTo,
-            BigDecimal minPrice,
-            BigDecimal maxPrice
-    ) {
-        return assets.stream()
-            .filter(asset -> status == null || asset.getStatus() == status)
-            .filter(asset -> condition == null || asset.getCondition() == condition)
-            .filter(asset -> categoryId == null || 
-                (asset.getCategory() != null && asset.getCategory().getId().equals(categoryId)))
-            .filter(asset -> location == null || location.isEmpty() || 
-                (asset.getLocation() != null && asset.getLocation().toLowerCase().contains(location.toLowerCase())))
-            .filter(asset -> purchaseDateFrom == null || 
-                (asset.getPurchaseDate() != null && !asset.getPurchaseDate().isBefore(purchaseDateFrom)))
-            .filter(asset -> purchaseDateTo == null || 
-                (asset.getPurchaseDate() != null && !asset.getPurchaseDate().isAfter(purchaseDateTo)))
-            .filter(asset -> warrantyExpiryFrom == null || 
-                (asset.getWarrantyExpiry() != null && !asset.getWarrantyExpiry().isBefore(warrantyExpiryFrom)))
-            .filter(asset -> warrantyExpiryTo == null || 
-                (asset.getWarrantyExpiry() != null && !asset.getWarrantyExpiry().isAfter(warrantyExpiryTo)))
-            .filter(asset -> minPrice == null || 
-                (asset.getPurchasePrice() != null && asset.getPurchasePrice().compareTo(minPrice) >= 0))
-            .filter(asset -> maxPrice == null || 
-                (asset.getPurchasePrice() != null && asset.getPurchasePrice().compareTo(maxPrice) <= 0))
-            .collect(Collectors.toList());
+    public long writeAssetsCsv(Stream<Asset> assets, Set<String> columns, PrintWriter writer) {
+        Set<String> selectedColumns = (columns == null || columns.isEmpty()) 
+            ? getAllColumns() 
+            : columns;
+        long written = 0;
+        
+        // Write CSV row by row; detach each asset so the persistence context stays small
+        writeCSVHeader(writer, selectedColumns);
+        
+        Iterator<Asset> iterator = assets.iterator();
+        while (iterator.hasNext()) {
+            Asset asset = iterator.next();
+            writeCSVRow(writer, asset, selectedColumns);
+            entityManager.detach(asset);
+            
+            if (++written % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return written;
+    }
+    
+    /**
+     * Treat a blank location filter as "no filter"
+     */
+    private String normalizeLocation(String location) {
+        return (location == null || location.isBlank()) ? null : location;
     }
     
     /**
@@ -161,34 +165,32 @@ public class EnhancedExportService {
     }
     
     /**
-     * Write CSV data rows
+     * Write a single CSV data row
      */
-    private void writeCSVData(PrintWriter writer, List<Asset> assets, Set<String> columns) {
-        for (Asset asset : assets) {
-            List<String> row = new ArrayList<>();
-            
-            if (columns.contains("id")) row.add(escapeCSV(String.valueOf(asset.getId())));
-            if (columns.contains("name")) row.add(escapeCSV(asset.getName()));
-            if (columns.contains("assetTag")) row.add(escapeCSV(asset.getAssetTag()));
-            if (columns.contains("description")) row.add(escapeCSV(asset.getDescription()));
-            if (columns.contains("brand")) row.add(escapeCSV(asset.getBrand()));
-            if (columns.contains("model")) row.add(escapeCSV(asset.getModel()));
-            if (columns.contains("serialNumber")) row.add(escapeCSV(asset.getSerialNumber()));
-            if (columns.contains("purchasePrice")) row.add(escapeCSV(formatPrice(asset.getPurchasePrice())));
-            if (columns.contains("purchaseDate")) row.add(escapeCSV(formatDate(asset.getPurchaseDate())));
-            if (columns.contains("vendor")) row.add(escapeCSV(asset.getVendor()));
-            if (columns.contains("location")) row.add(escapeCSV(asset.getLocation()));
-            if (columns.contains("status")) row.add(escapeCSV(asset.getStatus() != null ? asset.getStatus().name() : ""));
-            if (columns.contains("condition")) row.add(escapeCSV(asset.getCondition() != null ? asset.getCondition().name() : ""));
-            if (columns.contains("warrantyExpiry")) row.add(escapeCSV(formatDate(asset.getWarrantyExpiry())));
-            if (columns.contains("nextMaintenance")) row.add(escapeCSV(formatDate(asset.getNextMaintenance())));
-            if (columns.contains("notes")) row.add(escapeCSV(asset.getNotes()));
-            if (columns.contains("category")) row.add(escapeCSV(asset.getCategory() != null ? asset.getCategory().getName() : ""));
-            if (columns.contains("createdAt")) row.add(escapeCSV(formatDate(asset.getCreatedAt().toLocalDate())));
-            if (columns.contains("updatedAt")) row.add(escapeCSV(formatDate(asset.getUpdatedAt().toLocalDate())));
-            
-            writer.println(String.join(",", row));
-        }
+    private void writeCSVRow(PrintWriter writer, Asset asset, Set<String> columns) {
+        List<String> row = new ArrayList<>();
+        
+        if (columns.contains("id")) row.add(escapeCSV(String.valueOf(asset.getId())));
+        if (columns.contains("name")) row.add(escapeCSV(asset.getName()));
+        if (columns.contains("assetTag")) row.add(escapeCSV(asset.getAssetTag()));
+        if (columns.contains("description")) row.add(escapeCSV(asset.getDescription()));
+        if (columns.contains("brand")) row.add(escapeCSV(asset.getBrand()));
+        if (columns.contains("model")) row.add(escapeCSV(asset.getModel()));
+        if (columns.contains("serialNumber")) row.add(escapeCSV(asset.getSerialNumber()));
+        if (columns.contains("purchasePrice")) row.add(escapeCSV(formatPrice(asset.getPurchasePrice())));
+        if (columns.contains("purchaseDate")) row.add(escapeCSV(formatDate(asset.getPurchaseDate())));
+        if (columns.contains("vendor")) row.add(escapeCSV(asset.getVendor()));
+        if (columns.contains("location")) row.add(escapeCSV(asset.getLocation()));
+        if (columns.contains("status")) row.add(escapeCSV(asset.getStatus() != null ? asset.getStatus().name() : ""));
+        if (columns.contains("condition")) row.add(escapeCSV(asset.getCondition() != null ? asset.getCondition().name() : ""));
+        if (columns.contains("warrantyExpiry")) row.add(escapeCSV(formatDate(asset.getWarrantyExpiry())));
+        if (columns.contains("nextMaintenance")) row.add(escapeCSV(formatDate(asset.getNextMaintenance())));
+        if (columns.contains("notes")) row.add(escapeCSV(asset.getNotes()));
+        if (columns.contains("category")) row.add(escapeCSV(asset.getCategory() != null ? asset.getCategory().getName() : ""));
+        if (columns.contains("createdAt")) row.add(escapeCSV(formatDate(asset.getCreatedAt().toLocalDate())));
+        if (columns.contains("updatedAt")) row.add(escapeCSV(formatDate(asset.getUpdatedAt().toLocalDate())));
+        
+        writer.println(String.join(",", row));
     }
     
     /**
@@ -224,6 +226,7 @@ public class EnhancedExportService {
     /**
      * Get export statistics
      */
+    @Transactional(readOnly = true)
     public ExportStatistics getExportStatistics(
             Asset.AssetStatus status,
             Asset.AssetCondition condition,
@@ -236,22 +239,24 @@ public class EnhancedExportService {
             BigDecimal minPrice,
             BigDecimal maxPrice
     ) {
-        List<Asset> allAssets = assetRepository.findAll();
-        List<Asset> filteredAssets = filterAssets(
-            allAssets, status, condition, categoryId, location,
+        String locationFilter = normalizeLocation(location);
+        
+        long totalAssets = assetRepository.count();
+        long filteredAssets = assetRepository.countAssetsForExport(
+            status, condition, categoryId, locationFilter,
+            purchaseDateFrom, purchaseDateTo, warrantyExpiryFrom, warrantyExpiryTo,
+            minPrice, maxPrice
+        );
+        BigDecimal totalValue = assetRepository.sumPurchasePriceForExport(
+            status, condition, categoryId, locationFilter,
             purchaseDateFrom, purchaseDateTo, warrantyExpiryFrom, warrantyExpiryTo,
             minPrice, maxPrice
         );
-        
-        BigDecimal totalValue = filteredAssets.stream()
-            .map(Asset::getPurchasePrice)
-            .filter(price -> price != null)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
         
         return new ExportStatistics(
-            allAssets.size(),
-            filteredAssets.size(),
-            totalValue,
+            Math.toIntExact(totalAssets),
+            Math.toIntExact(filteredAssets),
+            totalValue != null ? totalValue : BigDecimal.ZERO,
             getAllColumns()
         );
     }
@@ -2,257 +2,484 @@ package com.chaseelkins.assetmanagement.service;
 
 import com.chaseelkins.assetmanagement.dto.AssetDTO;
 import com.chaseelkins.assetmanagement.dto.imports.BulkImportRequests;
+import com.chaseelkins.assetmanagement.dto.imports.BulkImportResponses;
 import com.chaseelkins.assetmanagement.model.Asset;
 import com.chaseelkins.assetmanagement.model.Asset.AssetStatus;
 import com.chaseelkins.assetmanagement.model.Asset.AssetCondition;
+import com.chaseelkins.assetmanagement.repository.AssetRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ExcelService {
 
     private static final Logger log = LoggerFactory.getLogger(ExcelService.class);
+    
+    // Number of leading columns read by the importer (A through P)
+    private static final int IMPORT_COLUMN_COUNT = 16;
+    
+    // Parsed batches the streaming import may read ahead of the one being saved
+    private static final int PARSED_BATCHES_AHEAD = 2;
+    
+    // Rows kept in memory by the streaming export before older rows are flushed to disk
+    private static final int STREAMING_ROW_WINDOW = 100;
+    
+    private static final String[] EXPORT_HEADERS = {
+        "Name", "Asset Tag", "Serial Number", "Brand", "Model", "Category",
+        "Purchase Price", "Purchase Date", "Vendor", "Location", "Status", "Condition",
+        "Warranty Expiry", "Next Maintenance", "Description", "Notes"
+    };
+    
+    // Column widths (in characters) used by the streaming export
+    private static final int[] EXPORT_COLUMN_WIDTHS = {
+        30, 16, 20, 16, 20, 20, 14, 14, 20, 20, 14, 12, 16, 18, 40, 40
+    };
+    
+    private final AssetRepository assetRepository;
+    private final EntityManager entityManager;
+    
+    public ExcelService(AssetRepository assetRepository, EntityManager entityManager) {
+        this.assetRepository = assetRepository;
+        this.entityManager = entityManager;
+    }
 
     /**
-     * Parse Excel file (.xlsx) and convert to AssetItem list for bulk import
+     * Stream an uploaded Excel file (.xlsx) into bounded batches of asset rows.
+     * The upload is spooled to a temp file so the package can be opened without
+     * buffering it in memory.
      */
-    public BulkImportRequests.AssetsRequest parseExcelFile(MultipartFile file) throws IOException {
-        List<BulkImportRequests.AssetItem> assets = new ArrayList<>();
+    public void streamExcelFile(MultipartFile file, int batchSize, BulkImportResponses.Summary summary,
+                                Consumer<List<BulkImportRequests.AssetRow>> batchConsumer) throws IOException {
+        Path tempFile = Files.createTempFile("asset-import-", ".xlsx");
+        try {
+            file.transferTo(tempFile);
+            streamExcelFile(tempFile, batchSize, summary, batchConsumer);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+    
+    /**
+     * Stream an Excel file (.xlsx) into bounded batches of asset rows.
+     * The first sheet is read with the SAX event reader on its own virtual thread,
+     * which hands full batches over through a queue of {@code PARSED_BATCHES_AHEAD},
+     * so the next batch is parsed while the consumer saves the current one and at
+     * most that many batches wait in memory. The consumer runs on the calling thread
+     * (tenant context and transactions stay where they were). Rows that cannot be
+     * parsed are recorded in the summary using their 1-based spreadsheet row number,
+     * before the batch they were read with is handed to the consumer.
+     */
+    public void streamExcelFile(Path path, int batchSize, BulkImportResponses.Summary summary,
+                                Consumer<List<BulkImportRequests.AssetRow>> batchConsumer) throws IOException {
+        BlockingQueue<ParsedBatch> parsed = new ArrayBlockingQueue<>(PARSED_BATCHES_AHEAD);
+        Thread parser = Thread.ofVirtual().name("excel-import-parser")
+                .start(() -> parseSheet(path, batchSize, parsed));
+        boolean parsedAll = false;
+        try {
+            while (!parsedAll) {
+                ParsedBatch batch = parsed.take();
+                summary.setReceived(summary.getReceived() + batch.received());
+                batch.errors().forEach(error -> summary.addError(error.getIndex(), error.getMessage()));
+                if (batch.failure() != null) {
+                    throw rethrow(batch.failure());
+                }
+                if (!batch.rows().isEmpty()) {
+                    batchConsumer.accept(batch.rows());
+                }
+                parsedAll = batch.last();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while importing Excel file");
+        } finally {
+            if (!parsedAll) {
+                // The consumer failed: unblock the parser so the package is closed before we return
+                parser.interrupt();
+            }
+            joinUninterruptibly(parser);
+        }
         
-        try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
+        log.info("Streamed {} asset rows from Excel file", summary.getReceived());
+    }
+    
+    /**
+     * Parser side of {@link #streamExcelFile(Path, int, BulkImportResponses.Summary, Consumer)}:
+     * always ends with a last batch, carrying the failure if parsing failed
+     */
+    private void parseSheet(Path path, int batchSize, BlockingQueue<ParsedBatch> parsed) {
+        AssetRowHandler handler = new AssetRowHandler(batchSize, parsed);
+        Throwable failure = null;
+        try (OPCPackage pkg = OPCPackage.open(path.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
             
-            // Read header row to understand column positions
-            Row headerRow = sheet.getRow(0);
-            if (headerRow == null) {
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
                 throw new IllegalArgumentException("Excel file is empty");
             }
             
-            // Skip header row, start from row 1
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null || isRowEmpty(row)) {
-                    continue;
-                }
-                
-                try {
-                    BulkImportRequests.AssetItem asset = parseAssetFromRow(row);
-                    assets.add(asset);
-                } catch (Exception e) {
-                    log.warn("Failed to parse row {}: {}", i, e.getMessage());
-                    // Continue with other rows
-                }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                    styles, null, strings, handler, new ImportDataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+            
+            if (!handler.sawHeader) {
+                throw new IllegalArgumentException("Excel file is empty");
             }
+        } catch (ParseCancelledException e) {
+            return;
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            failure = new IOException("Invalid Excel file: " + e.getMessage(), e);
+        } catch (Throwable e) {
+            failure = e;
         }
-        
-        log.info("Parsed {} assets from Excel file", assets.size());
-        return new BulkImportRequests.AssetsRequest(assets);
+        try {
+            handler.finish(failure);
+        } catch (ParseCancelledException e) {
+            // Consumer already gave up
+        }
+    }
+    
+    private static IOException rethrow(Throwable failure) throws IOException {
+        if (failure instanceof IOException e) {
+            throw e;
+        }
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+        if (failure instanceof Error e) {
+            throw e;
+        }
+        throw new IOException("Failed to read Excel file: " + failure.getMessage(), failure);
     }
     
-    private BulkImportRequests.AssetItem parseAssetFromRow(Row row) {
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private BulkImportRequests.AssetItem parseAssetFromRow(String[] row) {
         // Expected columns: Name, Asset Tag, Serial Number, Brand, Model, Category, 
         // Purchase Price, Purchase Date, Vendor, Location, Status, Condition, 
         // Warranty Expiry, Next Maintenance, Description, Notes
         
         return new BulkImportRequests.AssetItem(
-            getCellValueAsString(row, 0), // name (column A)
-            getCellValueAsString(row, 1), // assetTag (column B)
-            getCellValueAsString(row, 14), // description (column O)
-            getCellValueAsString(row, 3), // brand (column D)
-            getCellValueAsString(row, 4), // model (column E)
-            getCellValueAsString(row, 2), // serialNumber (column C)
-            getCellValueAsBigDecimal(row, 6), // purchasePrice (column G)
-            getCellValueAsLocalDate(row, 7), // purchaseDate (column H)
-            getCellValueAsString(row, 8), // vendor (column I)
-            getCellValueAsString(row, 9), // location (column J)
-            getCellValueAsStatus(row, 10), // status (column K)
-            getCellValueAsCondition(row, 11), // condition (column L)
-            getCellValueAsLocalDate(row, 12), // warrantyExpiry (column M)
-            getCellValueAsLocalDate(row, 13), // nextMaintenance (column N)
-            getCellValueAsString(row, 15), // notes (column P)
+            row[0], // name (column A)
+            row[1], // assetTag (column B)
+            row[14], // description (column O)
+            row[3], // brand (column D)
+            row[4], // model (column E)
+            row[2], // serialNumber (column C)
+            parseBigDecimal(row[6], "purchase price"), // purchasePrice (column G)
+            parseLocalDate(row[7], "purchase date"), // purchaseDate (column H)
+            row[8], // vendor (column I)
+            row[9], // location (column J)
+            parseEnum(AssetStatus.class, row[10], "status"), // status (column K)
+            parseEnum(AssetCondition.class, row[11], "condition"), // condition (column L)
+            parseLocalDate(row[12], "warranty expiry"), // warrantyExpiry (column M)
+            parseLocalDate(row[13], "next maintenance"), // nextMaintenance (column N)
+            row[15], // notes (column P)
             null, // categoryId (will be resolved from categoryName)
-            getCellValueAsString(row, 5) // categoryName (column F)
+            row[5] // categoryName (column F)
         );
     }
     
     /**
-     * Export assets to Excel file (.xlsx)
+     * Receives SAX row events for the import sheet and queues parsed rows in batches
+     */
+    private class AssetRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        
+        private final int batchSize;
+        private final BlockingQueue<ParsedBatch> parsed;
+        private List<BulkImportRequests.AssetRow> batch = new ArrayList<>();
+        private List<BulkImportResponses.RowError> errors = new ArrayList<>();
+        private int received;
+        private String[] values = new String[IMPORT_COLUMN_COUNT];
+        private int lastColumn = -1;
+        private boolean sawHeader;
+        
+        AssetRowHandler(int batchSize, BlockingQueue<ParsedBatch> parsed) {
+            this.batchSize = batchSize;
+            this.parsed = parsed;
+        }
+        
+        @Override
+        public void startRow(int rowNum) {
+            values = new String[IMPORT_COLUMN_COUNT];
+            lastColumn = -1;
+        }
+        
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : lastColumn + 1;
+            lastColumn = column;
+            if (column < IMPORT_COLUMN_COUNT && formattedValue != null) {
+                String value = formattedValue.trim();
+                values[column] = value.isEmpty() ? null : value;
+            }
+        }
+        
+        @Override
+        public void endRow(int rowNum) {
+            // Header row only tells us the sheet is not empty
+            if (!sawHeader) {
+                sawHeader = true;
+                return;
+            }
+            if (isRowEmpty(values)) {
+                return;
+            }
+            
+            int rowNumber = rowNum + 1;
+            received++;
+            try {
+                batch.add(new BulkImportRequests.AssetRow(rowNumber, parseAssetFromRow(values)));
+            } catch (Exception e) {
+                log.warn("Failed to parse row {}: {}", rowNumber, e.getMessage());
+                errors.add(new BulkImportResponses.RowError(rowNumber, e.getMessage()));
+            }
+            
+            if (batch.size() >= batchSize) {
+                put(false, null);
+            }
+        }
+        
+        void finish(Throwable failure) {
+            put(true, failure);
+        }
+        
+        // Blocks while the consumer is PARSED_BATCHES_AHEAD batches behind
+        private void put(boolean last, Throwable failure) {
+            try {
+                parsed.put(new ParsedBatch(batch, errors, received, failure, last));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ParseCancelledException();
+            }
+            batch = new ArrayList<>();
+            errors = new ArrayList<>();
+            received = 0;
+        }
+    }
+    
+    /**
+     * Rows parsed since the previous batch, with the rows that failed to parse among them
      */
-    public void exportAssetsToExcel(List<Asset> assets, HttpServletResponse response) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook()) {
+    private record ParsedBatch(List<BulkImportRequests.AssetRow> rows,
+                               List<BulkImportResponses.RowError> errors,
+                               int received,
+                               Throwable failure,
+                               boolean last) {}
+    
+    /**
+     * Stops the SAX parse once the consumer has stopped taking batches
+     */
+    private static class ParseCancelledException extends RuntimeException {
+        ParseCancelledException() {
+            super(null, null, false, false);
+        }
+    }
+    
+    /**
+     * Formats numeric cells the way the importer expects: dates as ISO-8601 and
+     * other numbers as plain decimals, ignoring currency or grouping formats.
+     */
+    private static class ImportDataFormatter extends DataFormatter {
+        
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+            }
+            return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+        }
+    }
+    
+    /**
+     * Export all assets to Excel file (.xlsx) without materializing them.
+     * Assets are read from a database cursor and written through a sliding
+     * window of rows; older rows are spooled to a compressed temp file, so peak
+     * heap does not depend on the number of assets.
+     */
+    @Transactional(readOnly = true)
+    public void streamAssetsToExcel(HttpServletResponse response) throws IOException {
+        try (Stream<Asset> assets = assetRepository.streamAssetsForExport(
+                null, null, null, null, null, null, null, null, null, null)) {
+            setExcelResponseHeaders(response);
+            
+            ServletOutputStream outputStream = response.getOutputStream();
+            long written = writeAssetsToExcel(assets, outputStream);
+            outputStream.flush();
+            
+            log.info("Streamed {} assets to Excel export", written);
+        }
+    }
+    
+    /**
+     * Write assets from an open cursor as an .xlsx workbook.
+     * Must be called inside the transaction that owns the stream.
+     * @return number of asset rows written
+     */
+    public long writeAssetsToExcel(Stream<Asset> assets, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(STREAMING_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        
+        // close() also removes the temp files backing the flushed rows
+        try (workbook) {
             Sheet sheet = workbook.createSheet("Assets");
             
-            // Create header style
             CellStyle headerStyle = createHeaderStyle(workbook);
             CellStyle dateStyle = createDateStyle(workbook);
             CellStyle currencyStyle = createCurrencyStyle(workbook);
             
-            // Create header row
-            Row headerRow = sheet.createRow(0);
-            String[] headers = {
-                "Name", "Asset Tag", "Serial Number", "Brand", "Model", "Category",
-                "Purchase Price", "Purchase Date", "Vendor", "Location", "Status", "Condition",
-                "Warranty Expiry", "Next Maintenance", "Description", "Notes"
-            };
+            createHeaderRow(sheet, headerStyle);
             
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
+            // autoSizeColumn only sees the rows still in the window, so use fixed widths
+            for (int i = 0; i < EXPORT_COLUMN_WIDTHS.length; i++) {
+                sheet.setColumnWidth(i, EXPORT_COLUMN_WIDTHS[i] * 256);
             }
             
-            // Fill data rows
             int rowNum = 1;
-            for (Asset asset : assets) {
-                Row row = sheet.createRow(rowNum++);
-                
-                createCell(row, 0, asset.getName());
-                createCell(row, 1, asset.getAssetTag());
-                createCell(row, 2, asset.getSerialNumber());
-                createCell(row, 3, asset.getBrand());
-                createCell(row, 4, asset.getModel());
-                createCell(row, 5, asset.getCategory() != null ? asset.getCategory().getName() : "");
-                createCurrencyCell(row, 6, asset.getPurchasePrice(), currencyStyle);
-                createDateCell(row, 7, asset.getPurchaseDate(), dateStyle);
-                createCell(row, 8, asset.getVendor());
-                createCell(row, 9, asset.getLocation());
-                createCell(row, 10, asset.getStatus() != null ? asset.getStatus().name() : "");
-                createCell(row, 11, asset.getCondition() != null ? asset.getCondition().name() : "");
-                createDateCell(row, 12, asset.getWarrantyExpiry(), dateStyle);
-                createDateCell(row, 13, asset.getNextMaintenance(), dateStyle);
-                createCell(row, 14, asset.getDescription());
-                createCell(row, 15, asset.getNotes());
-            }
-            
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+            Iterator<Asset> iterator = assets.iterator();
+            while (iterator.hasNext()) {
+                Asset asset = iterator.next();
+                fillAssetRow(sheet.createRow(rowNum++), asset, dateStyle, currencyStyle);
+                entityManager.detach(asset);
             }
             
-            // Write to response
-            response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-            response.setHeader("Content-Disposition", "attachment; filename=assets_export_" + 
-                LocalDateTime.now().toString().replace(":", "-") + ".xlsx");
-            
-            ServletOutputStream outputStream = response.getOutputStream();
-            workbook.write(outputStream);
-            workbook.close();
-            outputStream.flush();
-            outputStream.close();
+            workbook.write(out);
+            return rowNum - 1;
         }
     }
     
-    // Helper methods
-    
-    private boolean isRowEmpty(Row row) {
-        for (int i = 0; i < row.getLastCellNum(); i++) {
-            Cell cell = row.getCell(i);
-            if (cell != null && cell.getCellType() != CellType.BLANK) {
-                return false;
-            }
+    private void createHeaderRow(Sheet sheet, CellStyle headerStyle) {
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < EXPORT_HEADERS.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(EXPORT_HEADERS[i]);
+            cell.setCellStyle(headerStyle);
         }
-        return true;
     }
     
-    private String getCellValueAsString(Row row, int cellIndex) {
-        Cell cell = row.getCell(cellIndex);
-        if (cell == null) return null;
-        
-        return switch (cell.getCellType()) {
-            case STRING -> cell.getStringCellValue().trim();
-            case NUMERIC -> {
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    yield cell.getLocalDateTimeCellValue().toLocalDate().toString();
-                } else {
-                    // Remove decimal point if it's a whole number
-                    double value = cell.getNumericCellValue();
-                    if (value == (long) value) {
-                        yield String.valueOf((long) value);
-                    } else {
-                        yield String.valueOf(value);
-                    }
-                }
-            }
-            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
-            case FORMULA -> cell.getCellFormula();
-            default -> null;
-        };
+    private void fillAssetRow(Row row, Asset asset, CellStyle dateStyle, CellStyle currencyStyle) {
+        createCell(row, 0, asset.getName());
+        createCell(row, 1, asset.getAssetTag());
+        createCell(row, 2, asset.getSerialNumber());
+        createCell(row, 3, asset.getBrand());
+        createCell(row, 4, asset.getModel());
+        createCell(row, 5, asset.getCategory() != null ? asset.getCategory().getName() : "");
+        createCurrencyCell(row, 6, asset.getPurchasePrice(), currencyStyle);
+        createDateCell(row, 7, asset.getPurchaseDate(), dateStyle);
+        createCell(row, 8, asset.getVendor());
+        createCell(row, 9, asset.getLocation());
+        createCell(row, 10, asset.getStatus() != null ? asset.getStatus().name() : "");
+        createCell(row, 11, asset.getCondition() != null ? asset.getCondition().name() : "");
+        createDateCell(row, 12, asset.getWarrantyExpiry(), dateStyle);
+        createDateCell(row, 13, asset.getNextMaintenance(), dateStyle);
+        createCell(row, 14, asset.getDescription());
+        createCell(row, 15, asset.getNotes());
     }
     
-    private BigDecimal getCellValueAsBigDecimal(Row row, int cellIndex) {
-        Cell cell = row.getCell(cellIndex);
-        if (cell == null) return null;
-        
-        try {
-            if (cell.getCellType() == CellType.NUMERIC) {
-                return BigDecimal.valueOf(cell.getNumericCellValue());
-            } else if (cell.getCellType() == CellType.STRING) {
-                String value = cell.getStringCellValue().trim();
-                if (value.isEmpty()) return null;
-                // Remove currency symbols and commas
-                value = value.replaceAll("[$,]", "");
-                return new BigDecimal(value);
+    private void setExcelResponseHeaders(HttpServletResponse response) {
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setHeader("Content-Disposition", "attachment; filename=assets_export_" + 
+            LocalDateTime.now().toString().replace(":", "-") + ".xlsx");
+    }
+    
+    // Helper methods
+    
+    private boolean isRowEmpty(String[] values) {
+        for (String value : values) {
+            if (value != null) {
+                return false;
             }
-        } catch (Exception e) {
-            log.warn("Failed to parse BigDecimal from cell: {}", e.getMessage());
         }
-        return null;
+        return true;
     }
     
-    private LocalDate getCellValueAsLocalDate(Row row, int cellIndex) {
-        Cell cell = row.getCell(cellIndex);
-        if (cell == null) return null;
+    private BigDecimal parseBigDecimal(String value, String field) {
+        if (value == null) return null;
         
         try {
-            if (cell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(cell)) {
-                return cell.getLocalDateTimeCellValue().toLocalDate();
-            } else if (cell.getCellType() == CellType.STRING) {
-                String value = cell.getStringCellValue().trim();
-                if (value.isEmpty()) return null;
-                return LocalDate.parse(value);
-            }
-        } catch (Exception e) {
-            log.warn("Failed to parse LocalDate from cell: {}", e.getMessage());
+            // Remove currency symbols and commas
+            return new BigDecimal(value.replaceAll("[$,]", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
         }
-        return null;
     }
     
-    private AssetStatus getCellValueAsStatus(Row row, int cellIndex) {
-        String value = getCellValueAsString(row, cellIndex);
-        if (value == null || value.isEmpty()) return null;
+    private LocalDate parseLocalDate(String value, String field) {
+        if (value == null) return null;
         
         try {
-            return AssetStatus.valueOf(value.toUpperCase().replace(" ", "_"));
-        } catch (Exception e) {
-            log.warn("Invalid status value: {}", value);
-            return null;
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
         }
     }
     
-    private AssetCondition getCellValueAsCondition(Row row, int cellIndex) {
-        String value = getCellValueAsString(row, cellIndex);
-        if (value == null || value.isEmpty()) return null;
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String value, String field) {
+        if (value == null) return null;
         
         try {
-            return AssetCondition.valueOf(value.toUpperCase().replace(" ", "_"));
-        } catch (Exception e) {
-            log.warn("Invalid condition value: {}", value);
-            return null;
+            return Enum.valueOf(type, value.toUpperCase().replace(" ", "_"));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
         }
     }
     
@@ -0,0 +1,182 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.dto.imports.BulkImportRequests;
+import com.chaseelkins.assetmanagement.dto.imports.BulkImportResponses;
+import com.chaseelkins.assetmanagement.model.ImportJob;
+import com.chaseelkins.assetmanagement.model.ImportJobError;
+import com.chaseelkins.assetmanagement.repository.ImportJobErrorRepository;
+import com.chaseelkins.assetmanagement.repository.ImportJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Transactional state changes for import jobs.
+ * A chunk's assets, its row errors and the job checkpoint are committed in one
+ * transaction, so a resumed job never re-imports or skips a committed row.
+ * Every run of a job holds its own run token in lockedBy; each write locks the job row
+ * and checks the token first, so a run whose lease was taken over cannot write.
+ */
+@Service
+public class ImportJobCheckpointWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobCheckpointWriter.class);
+
+    // Errors beyond this are counted but not stored
+    private static final int MAX_STORED_ERRORS = 1000;
+
+    private static final EnumSet<ImportJob.Status> CLAIMABLE = EnumSet.of(ImportJob.Status.QUEUED, ImportJob.Status.RUNNING);
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final AssetBatchImporter assetBatchImporter;
+
+    public ImportJobCheckpointWriter(ImportJobRepository importJobRepository,
+                                     ImportJobErrorRepository importJobErrorRepository,
+                                     AssetBatchImporter assetBatchImporter) {
+        this.importJobRepository = importJobRepository;
+        this.importJobErrorRepository = importJobErrorRepository;
+        this.assetBatchImporter = assetBatchImporter;
+    }
+
+    /**
+     * Take the job's lease for one run. Returns false if another live run owns it
+     * or the job has already finished.
+     */
+    @Transactional
+    public boolean claim(Long jobId, String nodeId, String runToken, LocalDateTime staleBefore) {
+        return importJobRepository.claim(jobId, nodeId, runToken, LocalDateTime.now(), staleBefore,
+                ImportJob.Status.RUNNING, CLAIMABLE) == 1;
+    }
+
+    /**
+     * Import a chunk and advance the checkpoint in the same transaction
+     */
+    @Transactional
+    public void commitChunk(Long jobId, String runToken, List<BulkImportRequests.AssetRow> chunkRows,
+                            List<BulkImportResponses.RowError> chunkParseErrors) {
+        ImportJob job = lockOwnedJob(jobId, runToken);
+        List<BulkImportRequests.AssetRow> rows = pendingRows(job, chunkRows);
+        List<BulkImportResponses.RowError> parseErrors = pendingErrors(job, chunkParseErrors);
+
+        List<BulkImportResponses.RowError> errors = new ArrayList<>(parseErrors);
+        int created = 0;
+        int updated = 0;
+        if (!rows.isEmpty()) {
+            AssetBatchImporter.ChunkResult result = assetBatchImporter.importChunk(rows);
+            created = result.created();
+            updated = result.updated();
+            errors.addAll(result.errors());
+        }
+
+        job.setCreatedRows(job.getCreatedRows() + created);
+        job.setUpdatedRows(job.getUpdatedRows() + updated);
+        advance(job, rows, parseErrors, errors);
+    }
+
+    /**
+     * Record a chunk that rolled back as failed rows and move past it
+     */
+    @Transactional
+    public void recordFailedChunk(Long jobId, String runToken, List<BulkImportRequests.AssetRow> chunkRows,
+                                  List<BulkImportResponses.RowError> chunkParseErrors, String message) {
+        ImportJob job = lockOwnedJob(jobId, runToken);
+        List<BulkImportRequests.AssetRow> rows = pendingRows(job, chunkRows);
+        List<BulkImportResponses.RowError> parseErrors = pendingErrors(job, chunkParseErrors);
+
+        List<BulkImportResponses.RowError> errors = new ArrayList<>(parseErrors);
+        rows.forEach(row -> errors.add(new BulkImportResponses.RowError(row.index(), "Chunk rolled back: " + message)));
+        advance(job, rows, parseErrors, errors);
+    }
+
+    @Transactional
+    public void complete(Long jobId, String runToken, List<BulkImportResponses.RowError> chunkParseErrors) {
+        ImportJob job = lockOwnedJob(jobId, runToken);
+        List<BulkImportResponses.RowError> parseErrors = pendingErrors(job, chunkParseErrors);
+        advance(job, List.of(), parseErrors, parseErrors);
+        finish(job, ImportJob.Status.COMPLETED, null);
+        assetBatchImporter.flushNotifications();
+    }
+
+    @Transactional
+    public void fail(Long jobId, String runToken, String message) {
+        importJobRepository.findByIdForUpdate(jobId)
+                .filter(job -> runToken.equals(job.getLockedBy()))
+                .ifPresent(job -> finish(job, ImportJob.Status.FAILED, message));
+    }
+
+    private ImportJob lockOwnedJob(Long jobId, String runToken) {
+        ImportJob job = importJobRepository.findByIdForUpdate(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Import job not found: " + jobId));
+        if (!runToken.equals(job.getLockedBy()) || job.isFinished()) {
+            throw new LeaseLostException(jobId);
+        }
+        return job;
+    }
+
+    // Rows past the checkpoint as read under the row lock; anything at or before it is already committed
+    private static List<BulkImportRequests.AssetRow> pendingRows(ImportJob job, List<BulkImportRequests.AssetRow> rows) {
+        int checkpoint = job.getCheckpointRow();
+        return rows.stream().filter(row -> row.index() > checkpoint).toList();
+    }
+
+    private static List<BulkImportResponses.RowError> pendingErrors(ImportJob job, List<BulkImportResponses.RowError> errors) {
+        int checkpoint = job.getCheckpointRow();
+        return errors.stream().filter(error -> error.getIndex() > checkpoint).toList();
+    }
+
+    private void advance(ImportJob job, List<BulkImportRequests.AssetRow> rows,
+                         List<BulkImportResponses.RowError> parseErrors,
+                         List<BulkImportResponses.RowError> errors) {
+        int lastRow = job.getCheckpointRow();
+        for (BulkImportRequests.AssetRow row : rows) {
+            lastRow = Math.max(lastRow, row.index());
+        }
+        for (BulkImportResponses.RowError error : parseErrors) {
+            lastRow = Math.max(lastRow, error.getIndex());
+        }
+
+        storeErrors(job, errors);
+        job.setProcessedRows(job.getProcessedRows() + rows.size() + parseErrors.size());
+        job.setFailedRows(job.getFailedRows() + errors.size());
+        job.setCheckpointRow(lastRow);
+        job.setHeartbeatAt(LocalDateTime.now());
+    }
+
+    private void storeErrors(ImportJob job, List<BulkImportResponses.RowError> errors) {
+        int room = MAX_STORED_ERRORS - job.getFailedRows();
+        if (room <= 0 || errors.isEmpty()) {
+            return;
+        }
+        importJobErrorRepository.saveAll(errors.stream()
+                .limit(room)
+                .map(error -> new ImportJobError(job.getId(), error.getIndex(), error.getMessage()))
+                .toList());
+    }
+
+    private void finish(ImportJob job, ImportJob.Status status, String message) {
+        job.setStatus(status);
+        job.setErrorMessage(message);
+        job.setFinishedAt(LocalDateTime.now());
+        job.setLockedBy(null);
+        job.setHeartbeatAt(null);
+        log.info("Import job {} {}: {} processed, {} created, {} updated, {} failed",
+                job.getId(), status, job.getProcessedRows(), job.getCreatedRows(),
+                job.getUpdatedRows(), job.getFailedRows());
+    }
+
+    /**
+     * Thrown when this run no longer owns the job (another run took over its lease)
+     */
+    public static class LeaseLostException extends RuntimeException {
+        public LeaseLostException(Long jobId) {
+            super("Lease lost for import job " + jobId);
+        }
+    }
+}
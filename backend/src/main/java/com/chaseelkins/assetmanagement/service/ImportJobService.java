@@ -0,0 +1,225 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.dto.imports.BulkImportRequests;
+import com.chaseelkins.assetmanagement.dto.imports.BulkImportResponses;
+import com.chaseelkins.assetmanagement.dto.imports.ImportJobDTO;
+import com.chaseelkins.assetmanagement.model.ImportJob;
+import com.chaseelkins.assetmanagement.repository.ImportJobErrorRepository;
+import com.chaseelkins.assetmanagement.repository.ImportJobRepository;
+import com.chaseelkins.assetmanagement.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs Excel imports in the background.
+ * The upload is stored, a job row is returned immediately, and a worker streams the
+ * sheet in chunks, committing each chunk together with the job checkpoint. Jobs whose
+ * worker dies are picked up by the recovery sweep and resume after the last checkpoint.
+ * A job is dispatched at most once per node at a time, and each run claims it under its
+ * own token, so two workers never import the same rows.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+    // Stored errors returned with a job status
+    private static final int STATUS_ERROR_LIMIT = 100;
+
+    private static final EnumSet<ImportJob.Status> UNFINISHED = EnumSet.of(ImportJob.Status.QUEUED, ImportJob.Status.RUNNING);
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final ImportJobCheckpointWriter checkpointWriter;
+    private final ExcelService excelService;
+    private final TaskExecutor importJobExecutor;
+    private final Path storageDir;
+    private final int chunkSize;
+    private final long leaseSeconds;
+    private final String nodeId;
+    // Jobs queued or running on this node
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ImportJobService(ImportJobRepository importJobRepository,
+                            ImportJobErrorRepository importJobErrorRepository,
+                            ImportJobCheckpointWriter checkpointWriter,
+                            ExcelService excelService,
+                            @Qualifier("importJobExecutor") TaskExecutor importJobExecutor,
+                            @Value("${app.import.storage-dir:${java.io.tmpdir}/asset-imports}") String storageDir,
+                            @Value("${app.import.chunk-size:500}") int chunkSize,
+                            @Value("${app.import.lease-seconds:300}") long leaseSeconds) {
+        this.importJobRepository = importJobRepository;
+        this.importJobErrorRepository = importJobErrorRepository;
+        this.checkpointWriter = checkpointWriter;
+        this.excelService = excelService;
+        this.importJobExecutor = importJobExecutor;
+        this.storageDir = Paths.get(storageDir);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.leaseSeconds = leaseSeconds;
+        String host = System.getenv().getOrDefault("HOSTNAME", "node");
+        this.nodeId = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Store the upload and queue it for import. Returns as soon as the job exists.
+     */
+    public ImportJobDTO submit(MultipartFile file) throws IOException {
+        Files.createDirectories(storageDir);
+        Path target = storageDir.resolve(UUID.randomUUID() + ".xlsx");
+        file.transferTo(target);
+
+        ImportJob job = new ImportJob();
+        job.setOriginalFilename(file.getOriginalFilename());
+        job.setStoragePath(target.toString());
+        job.setCreatedBy(currentUsername());
+        // Owned by this node from the start so the recovery sweep leaves it alone while queued here
+        job.setLockedBy(nodeId);
+        job.setHeartbeatAt(LocalDateTime.now());
+        job = importJobRepository.save(job);
+
+        dispatch(job.getId());
+        log.info("Queued import job {} for file {}", job.getId(), job.getOriginalFilename());
+        return ImportJobDTO.fromEntity(job, List.of());
+    }
+
+    /**
+     * Current status of a job in the caller's tenant
+     */
+    public ImportJobDTO getJob(Long id) {
+        ImportJob job = importJobRepository.findById(id)
+                .filter(j -> j.getTenantId().equals(TenantContext.getTenantId()))
+                .orElseThrow(() -> new IllegalArgumentException("Import job not found with ID: " + id));
+        List<BulkImportResponses.RowError> errors = importJobErrorRepository
+                .findByJobIdOrderByRowIndexAsc(id, PageRequest.of(0, STATUS_ERROR_LIMIT)).stream()
+                .map(e -> new BulkImportResponses.RowError(e.getRowIndex(), e.getMessage()))
+                .toList();
+        return ImportJobDTO.fromEntity(job, errors);
+    }
+
+    public List<ImportJobDTO> getRecentJobs() {
+        return importJobRepository.findTop20ByTenantIdOrderByCreatedAtDesc(TenantContext.getTenantId()).stream()
+                .map(job -> ImportJobDTO.fromEntity(job, List.of()))
+                .toList();
+    }
+
+    /**
+     * Resume jobs whose owner stopped heartbeating (crash, redeploy) or that were never started
+     */
+    @Scheduled(fixedDelayString = "${app.import.recovery-interval-ms:60000}", initialDelayString = "${app.import.recovery-initial-delay-ms:30000}")
+    public void resumeStaleJobs() {
+        List<Long> jobIds = importJobRepository.findResumableJobIds(UNFINISHED, staleBefore());
+        for (Long jobId : jobIds) {
+            log.info("Resuming import job {}", jobId);
+            dispatch(jobId);
+        }
+    }
+
+    private void dispatch(Long jobId) {
+        if (!inFlight.add(jobId)) {
+            log.debug("Import job {} is already queued or running on this node", jobId);
+            return;
+        }
+        try {
+            importJobExecutor.execute(() -> {
+                try {
+                    runJob(jobId);
+                } finally {
+                    inFlight.remove(jobId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            inFlight.remove(jobId);
+            // Stays queued; the recovery sweep submits it again once its lease goes stale
+            log.warn("Import workers busy, job {} left queued", jobId);
+        }
+    }
+
+    void runJob(Long jobId) {
+        String runToken = nodeId + "/" + UUID.randomUUID().toString().substring(0, 8);
+        if (!checkpointWriter.claim(jobId, nodeId, runToken, staleBefore())) {
+            log.debug("Import job {} is owned by another run or already finished", jobId);
+            return;
+        }
+
+        ImportJob job = importJobRepository.findById(jobId).orElseThrow();
+        int checkpoint = job.getCheckpointRow();
+        Path file = Paths.get(job.getStoragePath());
+        BulkImportResponses.Summary parseSummary = new BulkImportResponses.Summary();
+
+        TenantContext.setTenantId(job.getTenantId());
+        try {
+            excelService.streamExcelFile(file, chunkSize, parseSummary, batch -> {
+                List<BulkImportRequests.AssetRow> rows = batch.stream()
+                        .filter(row -> row.index() > checkpoint)
+                        .toList();
+                List<BulkImportResponses.RowError> parseErrors = drainErrors(parseSummary, checkpoint);
+                if (rows.isEmpty() && parseErrors.isEmpty()) {
+                    return;
+                }
+                try {
+                    checkpointWriter.commitChunk(jobId, runToken, rows, parseErrors);
+                } catch (ImportJobCheckpointWriter.LeaseLostException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    log.error("Import job {} chunk rolled back: {}", jobId, e.getMessage());
+                    checkpointWriter.recordFailedChunk(jobId, runToken, rows, parseErrors, e.getMessage());
+                }
+            });
+
+            checkpointWriter.complete(jobId, runToken, drainErrors(parseSummary, checkpoint));
+            Files.deleteIfExists(file);
+        } catch (ImportJobCheckpointWriter.LeaseLostException e) {
+            log.warn("Import job {} was taken over by another run, stopping", jobId);
+        } catch (IOException | RuntimeException e) {
+            log.error("Import job {} failed: {}", jobId, e.getMessage(), e);
+            checkpointWriter.fail(jobId, runToken, e.getMessage());
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    /**
+     * Take the parse errors collected since the last chunk, skipping rows already committed
+     */
+    private List<BulkImportResponses.RowError> drainErrors(BulkImportResponses.Summary summary, int checkpoint) {
+        List<BulkImportResponses.RowError> errors = new ArrayList<>();
+        for (BulkImportResponses.RowError error : summary.getErrors()) {
+            if (error.getIndex() > checkpoint) {
+                errors.add(error);
+            }
+        }
+        summary.getErrors().clear();
+        return errors;
+    }
+
+    private LocalDateTime staleBefore() {
+        return LocalDateTime.now().minusSeconds(leaseSeconds);
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
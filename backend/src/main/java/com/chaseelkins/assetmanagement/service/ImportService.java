@@ -1,18 +1,17 @@
 package com.chaseelkins.assetmanagement.service;
 
-import com.chaseelkins.assetmanagement.dto.AssetDTO;
 import com.chaseelkins.assetmanagement.dto.CategoryDTO;
 import com.chaseelkins.assetmanagement.dto.imports.BulkImportRequests;
 import com.chaseelkins.assetmanagement.dto.imports.BulkImportResponses;
-import com.chaseelkins.assetmanagement.model.Asset;
 import com.chaseelkins.assetmanagement.model.Category;
-import com.chaseelkins.assetmanagement.repository.AssetRepository;
 import com.chaseelkins.assetmanagement.repository.CategoryRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -21,18 +20,18 @@ public class ImportService {
     private static final Logger log = LoggerFactory.getLogger(ImportService.class);
 
     private final CategoryRepository categoryRepository;
-    private final AssetRepository assetRepository;
     private final CategoryService categoryService;
-    private final AssetService assetService;
+    private final AssetBatchImporter assetBatchImporter;
+    private final int chunkSize;
 
     public ImportService(CategoryRepository categoryRepository,
-                         AssetRepository assetRepository,
                          CategoryService categoryService,
-                         AssetService assetService) {
+                         AssetBatchImporter assetBatchImporter,
+                         @Value("${app.import.chunk-size:500}") int chunkSize) {
         this.categoryRepository = categoryRepository;
-        this.assetRepository = assetRepository;
         this.categoryService = categoryService;
-        this.assetService = assetService;
+        this.assetBatchImporter = assetBatchImporter;
+        this.chunkSize = Math.max(1, chunkSize);
     }
 
     @Transactional
@@ -76,63 +75,48 @@ public class ImportService {
         return summary;
     }
 
-    @Transactional
+    /**
+     * Import assets in chunks. Each chunk is upserted and committed on its own,
+     * so a failure only rolls back the chunk it happened in.
+     */
     public BulkImportResponses.Summary importAssets(BulkImportRequests.AssetsRequest request) {
         BulkImportResponses.Summary summary = new BulkImportResponses.Summary();
         List<BulkImportRequests.AssetItem> items = request.assets();
         if (items == null) return summary;
         summary.setReceived(items.size());
+        List<BulkImportRequests.AssetRow> rows = new ArrayList<>(items.size());
         for (int i = 0; i < items.size(); i++) {
-            BulkImportRequests.AssetItem it = items.get(i);
-            try {
-                // Resolve category
-                Long categoryId = it.categoryId();
-                if (categoryId == null && it.categoryName() != null && !it.categoryName().isBlank()) {
-                    Category cat = categoryRepository.findByNameIgnoreCase(it.categoryName())
-                            .orElseGet(() -> categoryService.createCategory(new CategoryDTO(it.categoryName(), null, null, null, true, null)));
-                    categoryId = cat.getId();
-                }
-                if (categoryId == null) {
-                    throw new IllegalArgumentException("categoryId or categoryName is required");
-                }
+            rows.add(new BulkImportRequests.AssetRow(i, items.get(i)));
+        }
+        importAssetBatch(rows, summary);
+        finishAssetImport();
+        return summary;
+    }
 
-                Asset existing = assetRepository.findByAssetTag(it.assetTag()).orElse(null);
-                if (existing == null) {
-                    // create via AssetService to reuse validation
-                    AssetDTO dto = new AssetDTO(
-                            it.name(), it.assetTag(), it.description(), it.brand(), it.model(), it.serialNumber(),
-                            it.purchasePrice(), it.purchaseDate(), it.vendor(), it.location(), it.status(), it.condition(),
-                            it.warrantyExpiry(), it.nextMaintenance(), it.notes(), categoryId
-                    );
-                    assetService.createAsset(dto);
-                    summary.setCreated(summary.getCreated() + 1);
-                } else {
-                    // update selected fields via service
-                    AssetDTO dto = AssetDTO.fromEntity(existing);
-                    dto.setName(it.name() != null ? it.name() : dto.getName());
-                    dto.setAssetTag(it.assetTag() != null ? it.assetTag() : dto.getAssetTag());
-                    dto.setDescription(it.description() != null ? it.description() : dto.getDescription());
-                    dto.setBrand(it.brand() != null ? it.brand() : dto.getBrand());
-                    dto.setModel(it.model() != null ? it.model() : dto.getModel());
-                    dto.setSerialNumber(it.serialNumber() != null ? it.serialNumber() : dto.getSerialNumber());
-                    dto.setPurchasePrice(it.purchasePrice() != null ? it.purchasePrice() : dto.getPurchasePrice());
-                    dto.setPurchaseDate(it.purchaseDate() != null ? it.purchaseDate() : dto.getPurchaseDate());
-                    dto.setVendor(it.vendor() != null ? it.vendor() : dto.getVendor());
-                    dto.setLocation(it.location() != null ? it.location() : dto.getLocation());
-                    dto.setStatus(it.status() != null ? it.status() : dto.getStatus());
-                    dto.setCondition(it.condition() != null ? it.condition() : dto.getCondition());
-                    dto.setWarrantyExpiry(it.warrantyExpiry() != null ? it.warrantyExpiry() : dto.getWarrantyExpiry());
-                    dto.setNextMaintenance(it.nextMaintenance() != null ? it.nextMaintenance() : dto.getNextMaintenance());
-                    dto.setNotes(it.notes() != null ? it.notes() : dto.getNotes());
-                    dto.setCategoryId(categoryId);
-                    assetService.updateAsset(existing.getId(), dto);
-                    summary.setUpdated(summary.getUpdated() + 1);
-                }
+    /**
+     * Import a batch of rows, committing every {@code app.import.chunk-size} rows.
+     * Used by streaming imports, which count received rows themselves.
+     */
+    public void importAssetBatch(List<BulkImportRequests.AssetRow> batch, BulkImportResponses.Summary summary) {
+        for (int from = 0; from < batch.size(); from += chunkSize) {
+            List<BulkImportRequests.AssetRow> chunk = batch.subList(from, Math.min(from + chunkSize, batch.size()));
+            try {
+                AssetBatchImporter.ChunkResult result = assetBatchImporter.importChunk(chunk);
+                summary.setCreated(summary.getCreated() + result.created());
+                summary.setUpdated(summary.getUpdated() + result.updated());
+                result.errors().forEach(error -> summary.addError(error.getIndex(), error.getMessage()));
             } catch (Exception e) {
-                log.warn("Asset import failed at index {}: {}", i, e.getMessage());
-                summary.addError(i, e.getMessage());
+                log.warn("Asset import chunk starting at index {} rolled back: {}", chunk.get(0).index(), e.getMessage());
+                chunk.forEach(row -> summary.addError(row.index(), "Chunk rolled back: " + e.getMessage()));
             }
         }
-        return summary;
+    }
+
+    /**
+     * Send the import notifications held back while the channels were saturated.
+     * Streaming imports call this once the last batch has been imported.
+     */
+    public void finishAssetImport() {
+        assetBatchImporter.flushNotifications();
     }
 }
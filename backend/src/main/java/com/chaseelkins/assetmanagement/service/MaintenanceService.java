@@ -1,5 +1,6 @@
 package com.chaseelkins.assetmanagement.service;
 
+import com.chaseelkins.assetmanagement.dto.CursorPage;
 import com.chaseelkins.assetmanagement.dto.MaintenanceRecordDTO;
 import com.chaseelkins.assetmanagement.model.Asset;
 import com.chaseelkins.assetmanagement.model.MaintenanceRecord;
@@ -10,6 +11,7 @@ import com.chaseelkins.assetmanagement.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -116,6 +118,17 @@ public class MaintenanceService {
         return maintenanceRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<MaintenanceRecord> scroll(String cursor, int size, boolean includeTotal) {
+        CursorPage.Key after = CursorPage.Key.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<MaintenanceRecord> rows = after == null
+                ? maintenanceRepository.findKeysetFirst(limit)
+                : maintenanceRepository.findKeysetAfter(after.updatedAt(), after.id(), limit);
+        return CursorPage.of(rows, size, r -> new CursorPage.Key(r.getUpdatedAt(), r.getId()),
+                includeTotal ? maintenanceRepository.count() : null);
+    }
+
     @Transactional(readOnly = true)
     public List<MaintenanceRecord> getByAsset(Long assetId) {
         return maintenanceRepository.findByAssetId(assetId);
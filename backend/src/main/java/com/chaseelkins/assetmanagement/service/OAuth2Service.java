@@ -3,7 +3,6 @@ package com.chaseelkins.assetmanagement.service;
 import com.chaseelkins.assetmanagement.model.OAuth2UserInfo;
 import com.chaseelkins.assetmanagement.model.User;
 import com.chaseelkins.assetmanagement.repository.UserRepository;
-import com.chaseelkins.assetmanagement.security.CustomUserDetailsService;
 import com.chaseelkins.assetmanagement.security.JwtTokenProvider;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
@@ -14,7 +13,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,7 +34,6 @@ public class OAuth2Service {
     
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
-    private final CustomUserDetailsService userDetailsService;
     private final EmailService emailService;
     
     @Value("${spring.security.oauth2.client.registration.google.client-id:}")
@@ -75,9 +72,8 @@ public class OAuth2Service {
         // Find or create user
         User user = findOrCreateOAuth2User(userInfo);
         
-        // Load UserDetails and generate JWT token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-        String jwtToken = jwtTokenProvider.generateToken(userDetails);
+        // Generate JWT token
+        String jwtToken = jwtTokenProvider.generateToken(user);
         
         // Prepare response
         Map<String, Object> response = new HashMap<>();
@@ -110,9 +106,8 @@ public class OAuth2Service {
         // Find or create user
         User user = findOrCreateOAuth2User(userInfo);
         
-        // Load UserDetails and generate JWT token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-        String jwtToken = jwtTokenProvider.generateToken(userDetails);
+        // Generate JWT token
+        String jwtToken = jwtTokenProvider.generateToken(user);
         
         // Prepare response
         Map<String, Object> response = new HashMap<>();
@@ -0,0 +1,218 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.model.ReportSchedule;
+import com.chaseelkins.assetmanagement.model.User;
+import com.chaseelkins.assetmanagement.repository.ReportScheduleRepository;
+import com.chaseelkins.assetmanagement.repository.UserRepository;
+import com.chaseelkins.assetmanagement.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs due report schedules.
+ * Each node polls for due schedules, leases a batch no larger than its free worker
+ * capacity (skipping rows another node is claiming), and renders and emails them on
+ * the report pool. While a schedule is queued or running here its lease is renewed
+ * every third of the lease, so a slow report is never claimed by a second node; a lease
+ * that is no longer renewed, e.g. because the node died, expires and the schedule is
+ * claimed again. Because claims are capacity-bound, a burst of schedules due at the same
+ * minute is worked off in order instead of all at once.
+ */
+@Service
+public class ReportScheduleRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportScheduleRunner.class);
+
+    private final ReportScheduleService reportScheduleService;
+    private final ReportScheduleRepository reportScheduleRepository;
+    private final ReportGenerationService reportGenerationService;
+    private final EmailService emailService;
+    private final UserRepository userRepository;
+    private final ThreadPoolTaskExecutor reportExecutor;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final String nodeId;
+    // Schedules claimed by this node and not yet finished, whose leases are kept alive
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ReportScheduleRunner(ReportScheduleService reportScheduleService,
+                                ReportScheduleRepository reportScheduleRepository,
+                                ReportGenerationService reportGenerationService,
+                                EmailService emailService,
+                                UserRepository userRepository,
+                                @Qualifier("reportExecutor") ThreadPoolTaskExecutor reportExecutor,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.reports.batch-size:50}") int batchSize,
+                                @Value("${app.reports.lease-minutes:30}") long leaseMinutes,
+                                @Value("${app.reports.max-retries:3}") int maxRetries,
+                                @Value("${app.reports.retry-backoff-minutes:5}") long retryBackoffMinutes) {
+        this.reportScheduleService = reportScheduleService;
+        this.reportScheduleRepository = reportScheduleRepository;
+        this.reportGenerationService = reportGenerationService;
+        this.emailService = emailService;
+        this.userRepository = userRepository;
+        this.reportExecutor = reportExecutor;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = Math.max(1, batchSize);
+        this.lease = Duration.ofMinutes(leaseMinutes);
+        this.maxRetries = maxRetries;
+        this.retryBackoff = Duration.ofMinutes(retryBackoffMinutes);
+        String host = System.getenv().getOrDefault("HOSTNAME", "node");
+        this.nodeId = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Claim due schedules while there is room in the worker queue
+     */
+    @Scheduled(fixedDelayString = "${app.reports.poll-interval-ms:15000}", initialDelayString = "${app.reports.poll-initial-delay-ms:20000}")
+    public void pollDueSchedules() {
+        while (true) {
+            int capacity = Math.min(batchSize, reportExecutor.getThreadPoolExecutor().getQueue().remainingCapacity());
+            if (capacity <= 0) {
+                return;
+            }
+
+            List<Long> claimed = reportScheduleService.claimDueSchedules(nodeId, capacity, lease);
+            for (Long scheduleId : claimed) {
+                if (!inFlight.add(scheduleId)) {
+                    continue;
+                }
+                try {
+                    reportExecutor.execute(() -> run(scheduleId));
+                } catch (TaskRejectedException e) {
+                    // No longer renewed, so the lease expires and another poll picks it up
+                    inFlight.remove(scheduleId);
+                    log.warn("Report pool full, schedule {} deferred until its lease expires", scheduleId);
+                }
+            }
+            if (claimed.size() < capacity) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Keep the leases of queued and running schedules from expiring under them
+     */
+    @Scheduled(fixedDelayString = "#{${app.reports.lease-minutes:30} * 20000}",
+               initialDelayString = "#{${app.reports.lease-minutes:30} * 20000}")
+    public void renewLeases() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = Set.copyOf(inFlight);
+        int held = reportScheduleService.renewLeases(ids, nodeId, lease);
+        if (held < ids.size()) {
+            log.warn("Renewed {} of {} report schedule leases; the rest were taken over or finished", held, ids.size());
+        }
+    }
+
+    void run(Long scheduleId) {
+        try {
+            runClaimed(scheduleId);
+        } finally {
+            inFlight.remove(scheduleId);
+        }
+    }
+
+    private void runClaimed(Long scheduleId) {
+        ReportSchedule schedule = reportScheduleRepository.findById(scheduleId).orElse(null);
+        if (schedule == null) {
+            return;
+        }
+
+        TenantContext.setTenantId(schedule.getTenantId());
+        long start = System.nanoTime();
+        Path file = null;
+        try {
+            file = Files.createTempFile("report-" + scheduleId + "-", ".tmp");
+            ReportGenerationService.GeneratedReport report = reportGenerationService.generate(schedule, file);
+            if (reportScheduleService.renewLeases(List.of(scheduleId), nodeId, lease) == 0) {
+                // Another node took the schedule over (e.g. after a long pause here); let it send
+                log.warn("Lost the lease on report schedule {}, not sending it", scheduleId);
+                return;
+            }
+
+            String subject = schedule.getReportName() + " - " + schedule.getReportType().getDisplayName();
+            String intro = "Your " + schedule.getFrequency().getDisplayName().toLowerCase() + " report \"" +
+                    schedule.getReportName() + "\" is attached (" + report.rows() + " rows).";
+            emailService.sendReportEmail(recipients(schedule), subject, intro,
+                    report.fileName(), file.toFile(), report.contentType());
+
+            long durationMs = elapsedMs(start);
+            reportScheduleService.recordRunSuccess(scheduleId, nodeId, durationMs);
+            recordDuration("success", durationMs);
+        } catch (Exception e) {
+            long durationMs = elapsedMs(start);
+            log.error("Report schedule {} failed after {} ms", scheduleId, durationMs, e);
+            reportScheduleService.recordRunFailure(scheduleId, nodeId, durationMs, e.getMessage(), maxRetries, retryBackoff);
+            recordDuration("failure", durationMs);
+        } finally {
+            deleteQuietly(file);
+            TenantContext.clear();
+        }
+    }
+
+    private String[] recipients(ReportSchedule schedule) {
+        Set<String> recipients = new LinkedHashSet<>();
+        userRepository.findById(schedule.getUserId())
+                .map(User::getEmail)
+                .ifPresent(recipients::add);
+        if (schedule.getRecipientEmails() != null) {
+            for (String email : schedule.getRecipientEmails()) {
+                if (email != null && !email.isBlank()) {
+                    recipients.add(email.trim());
+                }
+            }
+        }
+        if (recipients.isEmpty()) {
+            throw new IllegalStateException("Report schedule has no recipients");
+        }
+        return recipients.toArray(new String[0]);
+    }
+
+    private void recordDuration(String outcome, long durationMs) {
+        Timer.builder("report_schedule_run_duration")
+                .description("Time to generate and deliver a scheduled report")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(durationMs, TimeUnit.MILLISECONDS);
+    }
+
+    private long elapsedMs(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}", file);
+        }
+    }
+}
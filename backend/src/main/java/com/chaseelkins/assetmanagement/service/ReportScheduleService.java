@@ -8,12 +8,15 @@ import com.chaseelkins.assetmanagement.repository.ReportScheduleRepository;
 import com.chaseelkins.assetmanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -129,6 +132,85 @@ public class ReportScheduleService {
         log.info("Marked schedule {} as executed. Next run: {}", scheduleId, schedule.getNextRunAt());
     }
 
+    /**
+     * Lease up to {@code limit} due schedules to this node.
+     * Catch-up after downtime falls out of this: overdue schedules are still due and
+     * run once, after which the next run is computed from the current time.
+     */
+    @Transactional
+    public List<Long> claimDueSchedules(String nodeId, int limit, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ReportSchedule> due = reportScheduleRepository.findDueForClaim(now, PageRequest.of(0, limit));
+        for (ReportSchedule schedule : due) {
+            schedule.setLockedBy(nodeId);
+            schedule.setLockedUntil(now.plus(lease));
+        }
+        return due.stream().map(ReportSchedule::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * Extend this node's leases on schedules it is running or has queued, so a run that
+     * outlasts one lease is not claimed and sent a second time by another node.
+     *
+     * @return number of leases still held
+     */
+    @Transactional
+    public int renewLeases(Collection<Long> scheduleIds, String nodeId, Duration lease) {
+        if (scheduleIds.isEmpty()) {
+            return 0;
+        }
+        return reportScheduleRepository.renewLeases(scheduleIds, nodeId, LocalDateTime.now().plus(lease));
+    }
+
+    @Transactional
+    public void recordRunSuccess(Long scheduleId, String nodeId, long durationMs) {
+        reportScheduleRepository.findById(scheduleId)
+                .filter(schedule -> nodeId.equals(schedule.getLockedBy()))
+                .ifPresent(schedule -> {
+                    schedule.markAsExecuted();
+                    schedule.setLastStatus(ReportSchedule.RunStatus.SUCCESS);
+                    schedule.setLastDurationMs(durationMs);
+                    schedule.setLastError(null);
+                    schedule.setConsecutiveFailures(0);
+                    releaseLease(schedule);
+                    log.info("Report schedule {} ran in {} ms. Next run: {}", scheduleId, durationMs, schedule.getNextRunAt());
+                });
+    }
+
+    /**
+     * Record a failed run. The first {@code maxRetries} failures in a row are retried with
+     * exponential backoff; after that the occurrence is skipped and the schedule moves on
+     * with a fresh retry budget for the next occurrence.
+     */
+    @Transactional
+    public void recordRunFailure(Long scheduleId, String nodeId, long durationMs, String error,
+                                 int maxRetries, Duration retryBackoff) {
+        reportScheduleRepository.findById(scheduleId)
+                .filter(schedule -> nodeId.equals(schedule.getLockedBy()))
+                .ifPresent(schedule -> {
+                    int failures = schedule.getConsecutiveFailures() + 1;
+                    schedule.setConsecutiveFailures(failures);
+                    schedule.setLastStatus(ReportSchedule.RunStatus.FAILED);
+                    schedule.setLastDurationMs(durationMs);
+                    schedule.setLastError(error);
+                    if (failures <= maxRetries) {
+                        Duration delay = retryBackoff.multipliedBy(1L << (failures - 1));
+                        schedule.setNextRunAt(LocalDateTime.now().plus(delay));
+                    } else {
+                        schedule.markAsExecuted();
+                        schedule.setConsecutiveFailures(0);
+                    }
+                    releaseLease(schedule);
+                    log.warn("Report schedule {} failed ({} in a row): {}. Next run: {}",
+                            scheduleId, failures, error, schedule.getNextRunAt());
+                });
+    }
+
+    private void releaseLease(ReportSchedule schedule) {
+        schedule.setLockedBy(null);
+        schedule.setLockedUntil(null);
+    }
+
     private ReportSchedule findScheduleById(Long id) {
         return reportScheduleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Report schedule not found with id: " + id));
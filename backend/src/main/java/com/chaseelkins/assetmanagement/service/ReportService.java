@@ -1,11 +1,12 @@
 package com.chaseelkins.assetmanagement.service;
 
 import com.chaseelkins.assetmanagement.model.Asset;
-import com.chaseelkins.assetmanagement.repository.AssetRepository;
 import com.chaseelkins.assetmanagement.repository.UserRepository;
+import com.chaseelkins.assetmanagement.tenant.TenantContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -20,34 +21,44 @@ public class ReportService {
     
     private static final Logger log = LoggerFactory.getLogger(ReportService.class);
     
-    private final AssetRepository assetRepository;
     private final UserRepository userRepository;
+    private final AssetService assetService;
+    private final AssetCounterService assetCounterService;
     // CategoryRepository reserved for future reporting features
     
-    public ReportService(AssetRepository assetRepository,
-                        UserRepository userRepository) {
-        this.assetRepository = assetRepository;
+    public ReportService(UserRepository userRepository,
+                        AssetService assetService,
+                        AssetCounterService assetCounterService) {
         this.userRepository = userRepository;
+        this.assetService = assetService;
+        this.assetCounterService = assetCounterService;
     }
     
     /**
      * Generate dashboard summary data
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Map<String, Object> getDashboardSummary() {
         log.info("Generating dashboard summary");
         
         Map<String, Object> summary = new HashMap<>();
         
-        // Asset statistics
-        long totalAssets = assetRepository.count();
-        long availableAssets = assetRepository.countByStatus(Asset.AssetStatus.AVAILABLE);
-        long assignedAssets = assetRepository.countByStatus(Asset.AssetStatus.ASSIGNED);
-        long maintenanceAssets = assetRepository.countByStatus(Asset.AssetStatus.IN_MAINTENANCE);
+        // Asset statistics (shared cached aggregate)
+        AssetService.AssetStatistics stats = assetService.getAssetStatistics();
         
-        summary.put("totalAssets", totalAssets);
-        summary.put("availableAssets", availableAssets);
-        summary.put("assignedAssets", assignedAssets);
-        summary.put("maintenanceAssets", maintenanceAssets);
+        // Count tiles come from the live per-tenant counters when a tenant is bound
+        Long tenantId = TenantContext.getTenantId();
+        if (tenantId != null) {
+            summary.put("totalAssets", assetCounterService.getTotal(tenantId));
+            summary.put("availableAssets", assetCounterService.getStatusCount(tenantId, Asset.AssetStatus.AVAILABLE));
+            summary.put("assignedAssets", assetCounterService.getStatusCount(tenantId, Asset.AssetStatus.ASSIGNED));
+            summary.put("maintenanceAssets", assetCounterService.getStatusCount(tenantId, Asset.AssetStatus.IN_MAINTENANCE));
+        } else {
+            summary.put("totalAssets", stats.getTotalAssets());
+            summary.put("availableAssets", stats.getAvailableAssets());
+            summary.put("assignedAssets", stats.getAssignedAssets());
+            summary.put("maintenanceAssets", stats.getMaintenanceAssets());
+        }
         
         // User statistics
         long totalUsers = userRepository.count();
@@ -57,7 +68,7 @@ public class ReportService {
         summary.put("activeUsers", activeUsers);
         
         // Financial statistics
-        BigDecimal totalAssetValue = assetRepository.findTotalAssetValue();
+        BigDecimal totalAssetValue = stats.getTotalValue();
         summary.put("totalAssetValue", totalAssetValue != null ? totalAssetValue : BigDecimal.ZERO);
         
         // Recent alerts
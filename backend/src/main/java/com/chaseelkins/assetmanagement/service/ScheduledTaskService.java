@@ -2,36 +2,62 @@ package com.chaseelkins.assetmanagement.service;
 
 import com.chaseelkins.assetmanagement.model.Asset;
 import com.chaseelkins.assetmanagement.model.User;
+import com.chaseelkins.assetmanagement.notification.AssetSnapshot;
+import com.chaseelkins.assetmanagement.notification.NotificationBus;
+import com.chaseelkins.assetmanagement.notification.NotificationEvent;
 import com.chaseelkins.assetmanagement.repository.AssetRepository;
 import com.chaseelkins.assetmanagement.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 /**
  * Service for scheduled tasks like sending maintenance reminders and warranty expiration alerts.
  * Runs daily to check for assets needing attention.
+ * Checks run one tenant at a time and page through matching asset ids with indexed
+ * date-range queries, so the cost follows the number of matching assets rather than
+ * the size of the assets table. Each check publishes one event per tenant on the
+ * notification bus, which emails the digests and posts a summary to the chat channels.
+ * A digest lists at most {@code scheduling.notification-max-listed} assets and counts the
+ * rest, so memory per tenant stays bounded however many assets match.
  */
 @Service
 public class ScheduledTaskService {
 
     private static final Logger logger = LoggerFactory.getLogger(ScheduledTaskService.class);
 
+    // Look-ahead for maintenance and warranty alerts
+    private static final int DUE_SOON_DAYS = 30;
+
     private final AssetRepository assetRepository;
     private final UserRepository userRepository;
-    private final EmailService emailService;
+    private final NotificationBus notificationBus;
     private final RateLimitService rateLimitService;
+    private final int pageSize;
+    private final int maxListed;
 
-    public ScheduledTaskService(AssetRepository assetRepository, UserRepository userRepository, EmailService emailService, RateLimitService rateLimitService) {
+    public ScheduledTaskService(AssetRepository assetRepository, UserRepository userRepository, NotificationBus notificationBus, RateLimitService rateLimitService,
+                                @Value("${scheduling.notification-page-size:500}") int pageSize,
+                                @Value("${scheduling.notification-max-listed:200}") int maxListed) {
         this.assetRepository = assetRepository;
         this.userRepository = userRepository;
-        this.emailService = emailService;
+        this.notificationBus = notificationBus;
         this.rateLimitService = rateLimitService;
+        this.pageSize = Math.max(1, pageSize);
+        this.maxListed = Math.max(1, maxListed);
     }
 
     /**
@@ -40,40 +66,27 @@ public class ScheduledTaskService {
      */
     @Scheduled(cron = "${scheduling.maintenance-check.cron:0 0 8 * * *}")
     public void checkMaintenanceDue() {
-        if (!emailService.isConfigured()) {
-            logger.debug("Email notifications not configured, skipping maintenance check");
+        if (!notificationBus.isEnabled()) {
+            logger.debug("No notification channel configured, skipping maintenance check");
             return;
         }
 
         logger.info("Running scheduled maintenance due check");
 
         try {
-            LocalDate today = LocalDate.now();
-            LocalDate thirtyDaysFromNow = today.plusDays(30);
-
-            // Find assets with maintenance due within 30 days
-            List<Asset> assetsNeedingMaintenance = assetRepository.findAll().stream()
-                    .filter(asset -> asset.getNextMaintenance() != null)
-                    .filter(asset -> !asset.getNextMaintenance().isAfter(thirtyDaysFromNow))
-                    .collect(Collectors.toList());
-
-            if (!assetsNeedingMaintenance.isEmpty()) {
-                logger.info("Found {} assets needing maintenance", assetsNeedingMaintenance.size());
-
-                // Send digest to all admins
-                List<User> admins = userRepository.findByRole(User.Role.SUPER_ADMIN);
-                for (User admin : admins) {
-                    emailService.sendMaintenanceDueEmail(assetsNeedingMaintenance, admin.getEmail(), admin.getFirstName());
-                }
+            LocalDate dueBy = LocalDate.now().plusDays(DUE_SOON_DAYS);
+
+            // Assets with maintenance overdue or due within 30 days
+            List<Long> tenantIds = assetRepository.findTenantIdsWithMaintenanceDue(dueBy);
+            long total = 0;
+            for (Long tenantId : tenantIds) {
+                total += notifyTenant(tenantId,
+                        (afterId, page) -> assetRepository.findMaintenanceDueIds(tenantId, dueBy, afterId, page),
+                        NotificationEvent.MaintenanceDue::new);
+            }
 
-                // Send individual notifications to assigned users
-                for (Asset asset : assetsNeedingMaintenance) {
-                    if (!asset.getAssignedUsers().isEmpty()) {
-                        for (User user : asset.getAssignedUsers()) {
-                            emailService.sendMaintenanceDueEmail(List.of(asset), user.getEmail(), user.getFirstName());
-                        }
-                    }
-                }
+            if (total > 0) {
+                logger.info("Found {} assets needing maintenance across {} tenants", total, tenantIds.size());
             } else {
                 logger.info("No assets need maintenance in the next 30 days");
             }
@@ -88,8 +101,8 @@ public class ScheduledTaskService {
      */
     @Scheduled(cron = "${scheduling.warranty-check.cron:0 30 8 * * *}")
     public void checkWarrantiesExpiring() {
-        if (!emailService.isConfigured()) {
-            logger.debug("Email notifications not configured, skipping warranty check");
+        if (!notificationBus.isEnabled()) {
+            logger.debug("No notification channel configured, skipping warranty check");
             return;
         }
 
@@ -97,32 +110,19 @@ public class ScheduledTaskService {
 
         try {
             LocalDate today = LocalDate.now();
-            LocalDate thirtyDaysFromNow = today.plusDays(30);
-
-            // Find assets with warranties expiring within 30 days
-            List<Asset> assetsWithExpiringWarranties = assetRepository.findAll().stream()
-                    .filter(asset -> asset.getWarrantyExpiry() != null)
-                    .filter(asset -> !asset.getWarrantyExpiry().isBefore(today))
-                    .filter(asset -> !asset.getWarrantyExpiry().isAfter(thirtyDaysFromNow))
-                    .collect(Collectors.toList());
-
-            if (!assetsWithExpiringWarranties.isEmpty()) {
-                logger.info("Found {} assets with expiring warranties", assetsWithExpiringWarranties.size());
-
-                // Send digest to all admins
-                List<User> admins = userRepository.findByRole(User.Role.SUPER_ADMIN);
-                for (User admin : admins) {
-                    emailService.sendWarrantyExpiringEmail(assetsWithExpiringWarranties, admin.getEmail(), admin.getFirstName());
-                }
+            LocalDate expiresBy = today.plusDays(DUE_SOON_DAYS);
+
+            // Assets with warranties expiring within 30 days
+            List<Long> tenantIds = assetRepository.findTenantIdsWithWarrantyExpiring(today, expiresBy);
+            long total = 0;
+            for (Long tenantId : tenantIds) {
+                total += notifyTenant(tenantId,
+                        (afterId, page) -> assetRepository.findWarrantyExpiringIds(tenantId, today, expiresBy, afterId, page),
+                        NotificationEvent.WarrantyExpiring::new);
+            }
 
-                // Send individual notifications to assigned users
-                for (Asset asset : assetsWithExpiringWarranties) {
-                    if (!asset.getAssignedUsers().isEmpty()) {
-                        for (User user : asset.getAssignedUsers()) {
-                            emailService.sendWarrantyExpiringEmail(List.of(asset), user.getEmail(), user.getFirstName());
-                        }
-                    }
-                }
+            if (total > 0) {
+                logger.info("Found {} assets with expiring warranties across {} tenants", total, tenantIds.size());
             } else {
                 logger.info("No warranties expiring in the next 30 days");
             }
@@ -131,6 +131,92 @@ public class ScheduledTaskService {
         }
     }
 
+    /**
+     * Page through one tenant's matching assets and publish them with one digest per recipient:
+     * the tenant's admins get every asset, other assignees get the assets assigned to them.
+     * Only the first {@code maxListed} assets of each digest are kept; the rest are counted.
+     * A failure is logged and does not stop the remaining tenants.
+     * @return number of matching assets in the tenant
+     */
+    private int notifyTenant(Long tenantId,
+                             BiFunction<Long, Pageable, List<Long>> idPage,
+                             EventFactory events) {
+        try {
+            List<User> admins = userRepository.findByTenantIdAndRole(tenantId, User.Role.SUPER_ADMIN);
+            Set<Long> adminIds = admins.stream().map(User::getId).collect(Collectors.toSet());
+
+            Digest all = new Digest(null);
+            Map<Long, Digest> assigneeDigests = new LinkedHashMap<>();
+            Pageable page = PageRequest.of(0, pageSize);
+            long afterId = 0;
+            while (true) {
+                List<Long> ids = idPage.apply(afterId, page);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                // One query per page loads the assets together with their assignees
+                for (Asset asset : assetRepository.findWithAssignedUsersByIdIn(ids)) {
+                    AssetSnapshot snapshot = AssetSnapshot.of(asset);
+                    all.add(snapshot, maxListed);
+                    for (User user : asset.getAssignedUsers()) {
+                        if (!adminIds.contains(user.getId())) {
+                            assigneeDigests.computeIfAbsent(user.getId(), id -> new Digest(user)).add(snapshot, maxListed);
+                        }
+                    }
+                }
+                if (ids.size() < pageSize) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+            }
+
+            if (all.total == 0) {
+                return 0;
+            }
+            List<NotificationEvent.Digest> digests = new ArrayList<>();
+            for (User admin : admins) {
+                digests.add(new NotificationEvent.Digest(recipient(admin), all.listed, all.total));
+            }
+            for (Digest digest : assigneeDigests.values()) {
+                digests.add(new NotificationEvent.Digest(recipient(digest.user), digest.listed, digest.total));
+            }
+            notificationBus.publish(events.create(tenantId, all.listed, all.total, digests));
+            return all.total;
+        } catch (Exception e) {
+            logger.error("Error sending scheduled notifications for tenant {}", tenantId, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Assets to include in one recipient's digest: the first ones listed, all of them counted
+     */
+    private static class Digest {
+        final User user;
+        final List<AssetSnapshot> listed = new ArrayList<>();
+        int total;
+
+        Digest(User user) {
+            this.user = user;
+        }
+
+        void add(AssetSnapshot asset, int maxListed) {
+            if (listed.size() < maxListed) {
+                listed.add(asset);
+            }
+            total++;
+        }
+    }
+
+    private static NotificationEvent.Recipient recipient(User user) {
+        return new NotificationEvent.Recipient(user.getEmail(), user.getFirstName());
+    }
+
+    @FunctionalInterface
+    private interface EventFactory {
+        NotificationEvent create(Long tenantId, List<AssetSnapshot> assets, int total, List<NotificationEvent.Digest> digests);
+    }
+
     /**
      * Manual trigger for testing (can be called via controller endpoint)
      */
@@ -13,7 +13,6 @@ import org.springframework.web.client.RestTemplate;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -39,71 +38,10 @@ public class SlackService {
         this.objectMapper = objectMapper;
     }
 
-    /**
-     * Send asset created notification
-     */
-    @Async
-    public void sendAssetCreatedNotification(Asset asset) {
-        if (!isConfigured()) {
-            logger.debug("Slack not configured, skipping notification");
-            return;
-        }
-
-        try {
-            String message = String.format(
-                "🆕 *New Asset Created*\n" +
-                "• *Name:* %s\n" +
-                "• *Asset Tag:* %s\n" +
-                "• *Category:* %s\n" +
-                "• *Status:* %s\n" +
-                "• *Location:* %s",
-                asset.getName(),
-                asset.getAssetTag(),
-                asset.getCategory() != null ? asset.getCategory().getName() : "Not specified",
-                asset.getStatus(),
-                asset.getLocation() != null ? asset.getLocation() : "Not specified"
-            );
-
-            sendMessage(message);
-            logger.info("Sent Slack notification for asset created: {}", asset.getName());
-        } catch (Exception e) {
-            logger.error("Failed to send Slack notification for asset created", e);
-        }
-    }
-
-    /**
-     * Send asset updated notification
-     */
-    @Async
-    public void sendAssetUpdatedNotification(Asset asset) {
-        if (!isConfigured()) {
-            return;
-        }
-
-        try {
-            String message = String.format(
-                "✏️ *Asset Updated*\n" +
-                "• *Name:* %s\n" +
-                "• *Asset Tag:* %s\n" +
-                "• *Status:* %s\n" +
-                "• *Location:* %s",
-                asset.getName(),
-                asset.getAssetTag(),
-                asset.getStatus(),
-                asset.getLocation() != null ? asset.getLocation() : "Not specified"
-            );
-
-            sendMessage(message);
-            logger.debug("Sent Slack notification for asset updated: {}", asset.getName());
-        } catch (Exception e) {
-            logger.error("Failed to send Slack notification for asset updated", e);
-        }
-    }
-
     /**
      * Send asset assigned notification
      */
-    @Async
+    @Async("slackExecutor")
     public void sendAssetAssignedNotification(Asset asset, String assignedToName) {
         if (!isConfigured()) {
             return;
@@ -133,7 +71,7 @@ public class SlackService {
     /**
      * Send maintenance scheduled notification
      */
-    @Async
+    @Async("slackExecutor")
     public void sendMaintenanceScheduledNotification(Asset asset, LocalDate scheduledDate) {
         if (!isConfigured()) {
             return;
@@ -163,7 +101,7 @@ public class SlackService {
     /**
      * Send maintenance completed notification
      */
-    @Async
+    @Async("slackExecutor")
     public void sendMaintenanceCompletedNotification(Asset asset, MaintenanceRecord record) {
         if (!isConfigured()) {
             return;
@@ -190,80 +128,10 @@ public class SlackService {
         }
     }
 
-    /**
-     * Send warranty expiring soon notification
-     */
-    @Async
-    public void sendWarrantyExpiringNotification(List<Asset> assets) {
-        if (!isConfigured() || assets.isEmpty()) {
-            return;
-        }
-
-        try {
-            StringBuilder message = new StringBuilder("⚠️ *Warranties Expiring Soon*\n");
-            message.append(String.format("_%d assets have warranties expiring within 30 days_\n\n", assets.size()));
-
-            int count = 0;
-            for (Asset asset : assets) {
-                if (count >= 10) {
-                    message.append(String.format("_...and %d more_", assets.size() - 10));
-                    break;
-                }
-                message.append(String.format(
-                    "• %s (%s) - Expires: %s\n",
-                    asset.getName(),
-                    asset.getAssetTag(),
-                    asset.getWarrantyExpiry().format(DateTimeFormatter.ISO_LOCAL_DATE)
-                ));
-                count++;
-            }
-
-            sendMessage(message.toString());
-            logger.info("Sent Slack notification for {} warranties expiring", assets.size());
-        } catch (Exception e) {
-            logger.error("Failed to send Slack notification for warranties expiring", e);
-        }
-    }
-
-    /**
-     * Send maintenance due notification
-     */
-    @Async
-    public void sendMaintenanceDueNotification(List<Asset> assets) {
-        if (!isConfigured() || assets.isEmpty()) {
-            return;
-        }
-
-        try {
-            StringBuilder message = new StringBuilder("🔧 *Maintenance Due Soon*\n");
-            message.append(String.format("_%d assets need maintenance within 7 days_\n\n", assets.size()));
-
-            int count = 0;
-            for (Asset asset : assets) {
-                if (count >= 10) {
-                    message.append(String.format("_...and %d more_", assets.size() - 10));
-                    break;
-                }
-                message.append(String.format(
-                    "• %s (%s) - Due: %s\n",
-                    asset.getName(),
-                    asset.getAssetTag(),
-                    asset.getNextMaintenance().format(DateTimeFormatter.ISO_LOCAL_DATE)
-                ));
-                count++;
-            }
-
-            sendMessage(message.toString());
-            logger.info("Sent Slack notification for {} assets needing maintenance", assets.size());
-        } catch (Exception e) {
-            logger.error("Failed to send Slack notification for maintenance due", e);
-        }
-    }
-
     /**
      * Send custom message to Slack
      */
-    @Async
+    @Async("slackExecutor")
     public void sendCustomMessage(String title, String message) {
         if (!isConfigured()) {
             return;
@@ -298,9 +166,9 @@ public class SlackService {
     }
 
     /**
-     * Send message to Slack webhook
+     * Send message to Slack webhook on the caller's thread; throws on failure
      */
-    private void sendMessage(String text) {
+    public void sendMessage(String text) {
         try {
             Map<String, Object> payload = new HashMap<>();
             payload.put("text", text);
@@ -30,6 +30,9 @@ public class TenantService {
     @Autowired
     private TenantResolver tenantResolver;
     
+    @Autowired
+    private AssetCounterService assetCounterService;
+    
     /**
      * Create a new tenant (organization registration)
      */
@@ -59,6 +62,9 @@ public class TenantService {
         tenant.setActive(true);
         
         Tenant savedTenant = tenantRepository.save(tenant);
+        
+        // The subdomain may be cached as unknown
+        tenantResolver.clearCache(savedTenant.getSubdomain());
         log.info("Created new tenant: {} (subdomain: {})", savedTenant.getName(), savedTenant.getSubdomain());
         
         return savedTenant;
@@ -106,7 +112,7 @@ public class TenantService {
         
         Tenant saved = tenantRepository.save(existingTenant);
         
-        // Clear cache for this tenant
+        // Clear cache for this tenant on all nodes
         tenantResolver.clearCache(saved.getSubdomain());
         
         log.info("Updated tenant: {} (id: {})", saved.getName(), saved.getId());
@@ -139,7 +145,7 @@ public class TenantService {
         
         Tenant saved = tenantRepository.save(tenant);
         
-        // Clear cache
+        // Clear cache on all nodes
         tenantResolver.clearCache(saved.getSubdomain());
         
         log.info("Tenant {} set to active={}", saved.getName(), active);
@@ -168,7 +174,7 @@ public class TenantService {
      */
     public boolean hasReachedAssetLimit(Long tenantId) {
         Tenant tenant = getTenantById(tenantId);
-        long currentAssetCount = tenantRepository.countAssetsByTenantId(tenantId);
+        long currentAssetCount = assetCounterService.getTotal(tenantId);
         return currentAssetCount >= tenant.getMaxAssets();
     }
     
@@ -21,6 +21,7 @@ public class UsageTrackingService {
     private final AssetRepository assetRepository;
     private final UsageRecordRepository usageRecordRepository;
     private final StripeService stripeService;
+    private final AssetCounterService assetCounterService;
 
     /**
      * Track current usage for a tenant
@@ -78,7 +79,7 @@ public class UsageTrackingService {
     public boolean hasExceededLimits(Long tenantId) {
         return stripeService.getSubscription(tenantId)
                 .map(subscription -> {
-                    long assetCount = assetRepository.countByTenantId(tenantId);
+                    long assetCount = assetCounterService.getTotal(tenantId);
                     int assetLimit = subscription.getAssetLimit();
                     
                     // -1 means unlimited
@@ -95,7 +96,7 @@ public class UsageTrackingService {
      * Get current asset count for tenant
      */
     public int getCurrentAssetCount(Long tenantId) {
-        return (int) assetRepository.countByTenantId(tenantId);
+        return (int) assetCounterService.getTotal(tenantId);
     }
 
     /**
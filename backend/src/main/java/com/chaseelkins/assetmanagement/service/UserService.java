@@ -1,5 +1,6 @@
 package com.chaseelkins.assetmanagement.service;
 
+import com.chaseelkins.assetmanagement.dto.CursorPage;
 import com.chaseelkins.assetmanagement.dto.UserDTO;
 import com.chaseelkins.assetmanagement.model.User;
 import com.chaseelkins.assetmanagement.repository.UserRepository;
@@ -7,6 +8,7 @@ import com.chaseelkins.assetmanagement.validation.PasswordStrengthValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -163,6 +165,20 @@ public class UserService {
         return userRepository.findAll(pageable);
     }
     
+    /**
+     * Keyset page of users ordered by (updatedAt, id)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<User> scrollUsers(String cursor, int size, boolean includeTotal) {
+        CursorPage.Key after = CursorPage.Key.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<User> rows = after == null
+                ? userRepository.findKeysetFirst(limit)
+                : userRepository.findKeysetAfter(after.updatedAt(), after.id(), limit);
+        return CursorPage.of(rows, size, r -> new CursorPage.Key(r.getUpdatedAt(), r.getId()),
+                includeTotal ? userRepository.count() : null);
+    }
+    
     /**
      * Get active users with pagination
      */
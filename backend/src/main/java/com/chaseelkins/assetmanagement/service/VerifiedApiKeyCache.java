@@ -0,0 +1,99 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.model.ApiKey;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Bounded, time-limited cache of API keys that already passed BCrypt verification.
+ * Entries are keyed by an HMAC-SHA256 of the presented key under a per-process secret,
+ * so the raw key is never held and a lookup costs one HMAC instead of one BCrypt round.
+ */
+@Component
+public class VerifiedApiKeyCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, ApiKey> entries;
+    private final ThreadLocal<Mac> macs;
+
+    public VerifiedApiKeyCache(MeterRegistry meterRegistry,
+                               @Value("${app.api-keys.cache-ttl-seconds:60}") long ttlSeconds,
+                               @Value("${app.api-keys.cache-max-size:10000}") long maxSize) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "verified_api_key");
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        SecretKeySpec keySpec = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(keySpec);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        });
+    }
+
+    /**
+     * Cached key for the presented secret, or null if it has not been verified recently
+     */
+    public ApiKey get(String fullApiKey) {
+        return entries.getIfPresent(fingerprint(fullApiKey));
+    }
+
+    public void put(String fullApiKey, ApiKey apiKey) {
+        entries.put(fingerprint(fullApiKey), apiKey);
+    }
+
+    /**
+     * Drop every cached entry for a key (revoked, updated or deleted) once the current
+     * transaction commits (immediately if there is none). Invalidating before commit would
+     * let a concurrent verification cache the old row again.
+     */
+    public void invalidateAfterCommit(Long apiKeyId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(apiKeyId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(apiKeyId);
+            }
+        });
+    }
+
+    public void invalidate(Long apiKeyId) {
+        entries.asMap().values().removeIf(apiKey -> apiKey.getId().equals(apiKeyId));
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    private String fingerprint(String fullApiKey) {
+        byte[] digest = macs.get().doFinal(fullApiKey.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+}
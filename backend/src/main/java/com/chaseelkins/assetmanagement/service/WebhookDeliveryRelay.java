@@ -0,0 +1,262 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.model.WebhookDelivery;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the webhook outbox.
+ * Each node polls for webhooks with due deliveries and leases as many webhook queues as it
+ * has free delivery slots; other nodes skip queues that are being claimed. Each claimed queue
+ * is sent on its own virtual thread, in order, stopping at the first failure, which is retried
+ * with backoff before anything queued behind it. Leases of a node that dies expire and the
+ * deliveries are claimed again, so delivery is at least once.
+ * <p>
+ * Every endpoint host has a bulkhead (max concurrent queues sending to it) and a circuit
+ * breaker. Queues for an endpoint that is saturated or whose circuit is open are deferred
+ * without using up attempts, so one slow or failing receiver cannot hold delivery slots
+ * needed by the others. Hosts no active webhook points at any more are pruned from the
+ * registries, so tenants changing URLs cannot grow them without bound.
+ */
+@Service
+public class WebhookDeliveryRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookDeliveryRelay.class);
+
+    // resilience4j instance configuration used for every endpoint (resilience4j.*.configs.webhook)
+    private static final String RESILIENCE_CONFIG = "webhook";
+    // Prefix of the registry instances created here, keeping them apart from configured instances
+    private static final String ENDPOINT_PREFIX = "webhook:";
+
+    private final WebhookDeliveryService deliveryService;
+    private final WebhookService webhookService;
+    private final WebhookRegistry webhookRegistry;
+    private final WebhookDeliveryStats deliveryStats;
+    private final SimpleAsyncTaskExecutor webhookExecutor;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final Semaphore slots;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter deferred;
+    private final int batchSize;
+    private final int runLength;
+    private final Duration lease;
+    private final Duration busyEndpointDelay;
+    private final Duration deliveredRetention;
+    private final Duration deadRetention;
+    private final String nodeId;
+
+    public WebhookDeliveryRelay(WebhookDeliveryService deliveryService,
+                                WebhookService webhookService,
+                                WebhookRegistry webhookRegistry,
+                                WebhookDeliveryStats deliveryStats,
+                                @Qualifier("webhookExecutor") SimpleAsyncTaskExecutor webhookExecutor,
+                                CircuitBreakerRegistry circuitBreakers,
+                                BulkheadRegistry bulkheads,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.webhooks.max-in-flight:1000}") int maxInFlight,
+                                @Value("${app.webhooks.batch-size:100}") int batchSize,
+                                @Value("${app.webhooks.run-length:50}") int runLength,
+                                @Value("${app.webhooks.lease-seconds:120}") long leaseSeconds,
+                                @Value("${app.webhooks.busy-endpoint-delay-ms:1000}") long busyEndpointDelayMs,
+                                @Value("${app.webhooks.delivered-retention-days:7}") long deliveredRetentionDays,
+                                @Value("${app.webhooks.dead-retention-days:30}") long deadRetentionDays) {
+        this.deliveryService = deliveryService;
+        this.webhookService = webhookService;
+        this.webhookRegistry = webhookRegistry;
+        this.deliveryStats = deliveryStats;
+        this.webhookExecutor = webhookExecutor;
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+        this.slots = new Semaphore(Math.max(1, maxInFlight));
+        this.delivered = outcomeCounter(meterRegistry, "delivered");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        this.deferred = outcomeCounter(meterRegistry, "deferred");
+        this.batchSize = Math.max(1, batchSize);
+        this.runLength = Math.max(1, runLength);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.busyEndpointDelay = Duration.ofMillis(busyEndpointDelayMs);
+        this.deliveredRetention = Duration.ofDays(deliveredRetentionDays);
+        this.deadRetention = Duration.ofDays(deadRetentionDays);
+        String host = System.getenv().getOrDefault("HOSTNAME", "node");
+        this.nodeId = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Claim webhook queues while there are free delivery slots
+     */
+    @Scheduled(fixedDelayString = "${app.webhooks.poll-interval-ms:500}", initialDelayString = "${app.webhooks.poll-initial-delay-ms:10000}")
+    public void pollOutbox() {
+        while (true) {
+            int capacity = Math.min(batchSize, slots.availablePermits());
+            if (capacity <= 0) {
+                return;
+            }
+
+            List<WebhookDeliveryService.ClaimedRun> runs = deliveryService.claim(nodeId, capacity, runLength, lease);
+            for (WebhookDeliveryService.ClaimedRun run : runs) {
+                slots.acquireUninterruptibly();
+                try {
+                    webhookExecutor.execute(() -> {
+                        try {
+                            deliver(run);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                } catch (TaskRejectedException e) {
+                    slots.release();
+                    deliveryService.release(ids(run.deliveries()), nodeId);
+                }
+            }
+            if (runs.size() < capacity) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.webhooks.purge-cron:0 30 3 * * *}")
+    public void purgeFinished() {
+        int purged = deliveryService.purge(deliveredRetention, deadRetention);
+        if (purged > 0) {
+            log.info("Purged {} finished or abandoned webhook deliveries", purged);
+        }
+    }
+
+    void deliver(WebhookDeliveryService.ClaimedRun run) {
+        List<WebhookDelivery> deliveries = run.deliveries();
+        WebhookRegistry.Subscription webhook = webhookRegistry.find(run.tenantId(), run.webhookId()).orElse(null);
+        if (webhook == null) {
+            // Deleted or switched off since the claim; pending rows wait until it is active again
+            deliveryService.release(ids(deliveries), nodeId);
+            return;
+        }
+
+        String endpoint = ENDPOINT_PREFIX + WebhookService.endpointHost(webhook.url());
+        Bulkhead bulkhead = bulkheads.bulkhead(endpoint, RESILIENCE_CONFIG);
+        if (!bulkhead.tryAcquirePermission()) {
+            deferred.increment();
+            deliveryService.defer(ids(deliveries), nodeId, busyEndpointDelay);
+            return;
+        }
+        try {
+            sendInOrder(webhook, deliveries, circuitBreakers.circuitBreaker(endpoint, RESILIENCE_CONFIG));
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    /**
+     * Drop the bulkheads and breakers of hosts that no active webhook uses any more
+     */
+    @Scheduled(fixedDelayString = "${app.webhooks.registry-refresh-ms:300000}",
+               initialDelayString = "${app.webhooks.registry-refresh-ms:300000}")
+    public void pruneEndpoints() {
+        Set<String> active = webhookRegistry.endpointHosts().stream()
+                .map(host -> ENDPOINT_PREFIX + host)
+                .collect(Collectors.toSet());
+        int pruned = 0;
+        for (Bulkhead bulkhead : bulkheads.getAllBulkheads()) {
+            if (isStale(bulkhead.getName(), active)) {
+                bulkheads.remove(bulkhead.getName());
+                pruned++;
+            }
+        }
+        for (CircuitBreaker breaker : circuitBreakers.getAllCircuitBreakers()) {
+            if (isStale(breaker.getName(), active)) {
+                circuitBreakers.remove(breaker.getName());
+                pruned++;
+            }
+        }
+        if (pruned > 0) {
+            log.debug("Pruned {} webhook endpoint bulkhead(s)/breaker(s)", pruned);
+        }
+    }
+
+    private static boolean isStale(String name, Set<String> active) {
+        return name.startsWith(ENDPOINT_PREFIX) && !active.contains(name);
+    }
+
+    private void sendInOrder(WebhookRegistry.Subscription webhook, List<WebhookDelivery> deliveries, CircuitBreaker breaker) {
+        // Stop well before the lease runs out so no other node starts on this queue while we send
+        long deadline = System.nanoTime() + lease.toNanos() / 2;
+        List<Long> sent = new ArrayList<>(deliveries.size());
+        for (int i = 0; i < deliveries.size(); i++) {
+            List<WebhookDelivery> remaining = deliveries.subList(i, deliveries.size());
+            if (System.nanoTime() > deadline) {
+                deliveryService.recordDelivered(sent, nodeId);
+                deliveryService.release(ids(remaining), nodeId);
+                return;
+            }
+            if (!breaker.tryAcquirePermission()) {
+                // Circuit open: hold the queue back until the breaker lets a trial call through
+                deferred.increment();
+                deliveryService.recordDelivered(sent, nodeId);
+                deliveryService.defer(ids(remaining), nodeId, openCircuitDelay(breaker));
+                return;
+            }
+
+            WebhookDelivery delivery = deliveries.get(i);
+            long start = System.nanoTime();
+            try {
+                webhookService.send(webhook, delivery);
+                breaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                sent.add(delivery.getId());
+                delivered.increment();
+                deliveryStats.recordSuccess(webhook);
+            } catch (Exception e) {
+                breaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                failed.increment();
+                log.warn("Webhook '{}' delivery {} failed: {}", webhook.name(), delivery.getId(), e.getMessage());
+                deliveryService.recordDelivered(sent, nodeId);
+                deliveryService.recordFailure(delivery.getId(), nodeId, e.getMessage());
+                deliveryStats.recordFailure(webhook, e.getMessage());
+                // Everything behind the failed delivery waits for its retry
+                deliveryService.release(ids(remaining.subList(1, remaining.size())), nodeId);
+                return;
+            }
+        }
+        deliveryService.recordDelivered(sent, nodeId);
+    }
+
+    private Duration openCircuitDelay(CircuitBreaker breaker) {
+        long waitMillis = breaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1);
+        return Duration.ofMillis(Math.max(waitMillis, busyEndpointDelay.toMillis()));
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("webhook_deliveries")
+                .description("Webhook delivery attempts")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static List<Long> ids(List<WebhookDelivery> deliveries) {
+        return deliveries.stream().map(WebhookDelivery::getId).toList();
+    }
+}
@@ -0,0 +1,241 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.dto.WebhookDTO;
+import com.chaseelkins.assetmanagement.model.Webhook.WebhookEvent;
+import com.chaseelkins.assetmanagement.model.WebhookDelivery;
+import com.chaseelkins.assetmanagement.repository.WebhookDeliveryRepository;
+import com.chaseelkins.assetmanagement.repository.WebhookRepository;
+import com.chaseelkins.assetmanagement.tenant.TenantContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Webhook outbox bookkeeping: queueing events with the change that raised them, leasing
+ * due deliveries to relay nodes, and recording outcomes. Failed deliveries are retried with
+ * exponential backoff and jitter; after {@code maxAttempts} they are marked DEAD.
+ */
+@Service
+public class WebhookDeliveryService {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookDeliveryService.class);
+
+    // Consecutive failed attempts after which a webhook is switched off
+    private static final int MAX_FAILURES_BEFORE_DISABLE = 10;
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final WebhookDeliveryRepository deliveryRepository;
+    private final WebhookRepository webhookRepository;
+    private final WebhookRegistry webhookRegistry;
+    private final ObjectMapper objectMapper;
+    private final int maxAttempts;
+    private final Duration retryBase;
+    private final Duration retryMax;
+
+    public WebhookDeliveryService(WebhookDeliveryRepository deliveryRepository,
+                                  WebhookRepository webhookRepository,
+                                  WebhookRegistry webhookRegistry,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.webhooks.max-attempts:12}") int maxAttempts,
+                                  @Value("${app.webhooks.retry-base-seconds:10}") long retryBaseSeconds,
+                                  @Value("${app.webhooks.retry-max-seconds:3600}") long retryMaxSeconds) {
+        this.deliveryRepository = deliveryRepository;
+        this.webhookRepository = webhookRepository;
+        this.webhookRegistry = webhookRegistry;
+        this.objectMapper = objectMapper;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBase = Duration.ofSeconds(retryBaseSeconds);
+        this.retryMax = Duration.ofSeconds(retryMaxSeconds);
+    }
+
+    /**
+     * Queue the event for every active webhook subscribed to it in the current tenant.
+     * Joins the caller's transaction, so the deliveries exist only if the change commits.
+     * Subscribers come from WebhookRegistry, so an event nobody subscribed to costs no query.
+     */
+    @Transactional
+    public int enqueue(WebhookEvent event, Object payload) {
+        List<WebhookRegistry.Subscription> webhooks = webhookRegistry.subscribers(TenantContext.getTenantId(), event);
+        if (webhooks.isEmpty()) {
+            log.debug("No active webhooks configured for event: {}", event);
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<WebhookDelivery> deliveries = new ArrayList<>(webhooks.size());
+        try {
+            // Serialize the event data once; each subscriber's envelope embeds it verbatim
+            RawValue data = new RawValue(objectMapper.writeValueAsString(payload));
+            for (WebhookRegistry.Subscription webhook : webhooks) {
+                WebhookDTO.WebhookPayload body = new WebhookDTO.WebhookPayload();
+                body.setEvent(event.name());
+                body.setTimestamp(now);
+                body.setData(data);
+                body.setWebhookId(webhook.id().toString());
+
+                WebhookDelivery delivery = new WebhookDelivery();
+                delivery.setTenantId(webhook.tenantId());
+                delivery.setWebhookId(webhook.id());
+                delivery.setEvent(event);
+                delivery.setPayload(objectMapper.writeValueAsString(body));
+                delivery.setNextAttemptAt(now);
+                deliveries.add(delivery);
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize {} payload: {}", event, e.getMessage());
+            return 0;
+        }
+        deliveryRepository.saveAll(deliveries);
+        log.debug("Queued {} delivery(s) for event: {}", deliveries.size(), event);
+        return deliveries.size();
+    }
+
+    /**
+     * Lease up to {@code limit} webhook queues to this node: the head delivery of each,
+     * plus up to {@code runLength - 1} deliveries queued behind it, to be sent in order.
+     */
+    @Transactional
+    public List<ClaimedRun> claim(String nodeId, int limit, int runLength, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = now.plus(lease);
+        List<WebhookDelivery> heads = deliveryRepository.findHeadsForClaim(now, PageRequest.of(0, limit));
+
+        List<ClaimedRun> runs = new ArrayList<>(heads.size());
+        for (WebhookDelivery head : heads) {
+            List<WebhookDelivery> run = new ArrayList<>();
+            run.add(head);
+            if (runLength > 1) {
+                run.addAll(deliveryRepository.findQueuedAfter(head.getWebhookId(), head.getId(), now,
+                        PageRequest.of(0, runLength - 1)));
+            }
+            for (WebhookDelivery delivery : run) {
+                delivery.setLockedBy(nodeId);
+                delivery.setLockedUntil(lockedUntil);
+            }
+            runs.add(new ClaimedRun(head.getTenantId(), head.getWebhookId(), List.copyOf(run)));
+        }
+        return runs;
+    }
+
+    @Transactional
+    public void recordDelivered(Collection<Long> deliveryIds, String nodeId) {
+        if (!deliveryIds.isEmpty()) {
+            deliveryRepository.markDelivered(deliveryIds, nodeId, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Record a failed attempt: schedule a retry, or move the delivery to DEAD once it is out of attempts
+     */
+    @Transactional
+    public void recordFailure(Long deliveryId, String nodeId, String error) {
+        String message = truncate(error);
+        LocalDateTime now = LocalDateTime.now();
+        WebhookDelivery delivery = deliveryRepository.findById(deliveryId)
+                .filter(d -> nodeId.equals(d.getLockedBy()))
+                .orElse(null);
+        if (delivery == null) {
+            // Lease expired and the delivery was taken over; its new owner records the outcome
+            return;
+        }
+
+        int attempts = delivery.getAttempts() + 1;
+        delivery.setAttempts(attempts);
+        delivery.setLastError(message);
+        delivery.setLockedBy(null);
+        delivery.setLockedUntil(null);
+        if (attempts >= maxAttempts) {
+            delivery.setStatus(WebhookDelivery.Status.DEAD);
+            log.warn("Webhook delivery {} ({}) dead after {} attempts: {}", deliveryId, delivery.getEvent(), attempts, message);
+        } else {
+            delivery.setNextAttemptAt(now.plus(backoff(attempts)));
+        }
+    }
+
+    /**
+     * Write a webhook's buffered delivery stats (see WebhookDeliveryStats) and switch it off
+     * if it has now failed too many times in a row.
+     *
+     * @param reset    whether a delivery succeeded since the last write; if so {@code failures}
+     *                 counts only the failures after it
+     */
+    @Transactional
+    public void recordWebhookStats(Long tenantId, Long webhookId, boolean reset, int failures, String lastError,
+                                   LocalDateTime lastTriggeredAt) {
+        String message = truncate(lastError);
+        if (reset) {
+            webhookRepository.resetDeliveryStats(webhookId, failures, message, lastTriggeredAt);
+        } else {
+            webhookRepository.addDeliveryFailures(webhookId, failures, message, lastTriggeredAt);
+        }
+        if (failures > 0 && webhookRepository.disableIfFailing(webhookId, MAX_FAILURES_BEFORE_DISABLE) > 0) {
+            log.warn("Webhook {} disabled after {} consecutive failures", webhookId, MAX_FAILURES_BEFORE_DISABLE);
+            webhookRegistry.changed(tenantId);
+        }
+    }
+
+    @Transactional
+    public void release(Collection<Long> deliveryIds, String nodeId) {
+        if (!deliveryIds.isEmpty()) {
+            deliveryRepository.release(deliveryIds, nodeId);
+        }
+    }
+
+    /**
+     * Release a lease without counting an attempt; the deliveries are not retried before {@code delay} has passed
+     */
+    @Transactional
+    public void defer(Collection<Long> deliveryIds, String nodeId, Duration delay) {
+        if (!deliveryIds.isEmpty()) {
+            deliveryRepository.defer(deliveryIds, nodeId, LocalDateTime.now().plus(delay));
+        }
+    }
+
+    /**
+     * Delete delivered rows older than {@code deliveredRetention}, and dead rows as well as pending rows
+     * of deactivated webhooks older than {@code deadRetention}. Pending rows survive a short deactivation
+     * and are sent once the webhook is switched back on.
+     */
+    @Transactional
+    public int purge(Duration deliveredRetention, Duration deadRetention) {
+        LocalDateTime now = LocalDateTime.now();
+        return deliveryRepository.deleteByStatusCreatedBefore(WebhookDelivery.Status.DELIVERED, now.minus(deliveredRetention))
+                + deliveryRepository.deleteByStatusCreatedBefore(WebhookDelivery.Status.DEAD, now.minus(deadRetention))
+                + deliveryRepository.deleteInactivePendingCreatedBefore(now.minus(deadRetention));
+    }
+
+    /**
+     * Exponential backoff capped at retryMax, with jitter so failed endpoints are not retried in lockstep
+     */
+    Duration backoff(int attempts) {
+        long ceiling = retryMax.toMillis();
+        long exponential = retryBase.toMillis() << Math.min(attempts - 1, 30);
+        long delay = exponential <= 0 ? ceiling : Math.min(ceiling, exponential);
+        return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * Deliveries of one webhook leased to a node, in the order they must be sent
+     */
+    public record ClaimedRun(Long tenantId, Long webhookId, List<WebhookDelivery> deliveries) {}
+}
@@ -0,0 +1,61 @@
+package com.chaseelkins.assetmanagement.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers per-webhook delivery outcomes (last triggered, consecutive failures, last error)
+ * and writes them every {@code app.webhooks.stats-flush-ms}, one update per webhook instead
+ * of one per delivery.
+ */
+@Component
+public class WebhookDeliveryStats {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookDeliveryStats.class);
+
+    private final WebhookDeliveryService deliveryService;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    public WebhookDeliveryStats(WebhookDeliveryService deliveryService) {
+        this.deliveryService = deliveryService;
+    }
+
+    public void recordSuccess(WebhookRegistry.Subscription webhook) {
+        LocalDateTime now = LocalDateTime.now();
+        pending.compute(webhook.id(), (id, stats) -> new Pending(webhook.tenantId(), true, 0, null, now));
+    }
+
+    public void recordFailure(WebhookRegistry.Subscription webhook, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        pending.compute(webhook.id(), (id, stats) -> stats == null
+                ? new Pending(webhook.tenantId(), false, 1, error, now)
+                : new Pending(webhook.tenantId(), stats.reset(), stats.failures() + 1, error, now));
+    }
+
+    @Scheduled(fixedDelayString = "${app.webhooks.stats-flush-ms:5000}")
+    @PreDestroy
+    public void flush() {
+        for (Long webhookId : List.copyOf(pending.keySet())) {
+            Pending stats = pending.remove(webhookId);
+            if (stats == null) {
+                continue;
+            }
+            try {
+                deliveryService.recordWebhookStats(stats.tenantId(), webhookId, stats.reset(), stats.failures(),
+                        stats.lastError(), stats.lastTriggeredAt());
+            } catch (RuntimeException e) {
+                log.warn("Could not write delivery stats for webhook {}: {}", webhookId, e.getMessage());
+            }
+        }
+    }
+
+    private record Pending(Long tenantId, boolean reset, int failures, String lastError, LocalDateTime lastTriggeredAt) {}
+}
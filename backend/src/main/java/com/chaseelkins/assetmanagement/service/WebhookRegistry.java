@@ -0,0 +1,197 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.cluster.ClusterNotifier;
+import com.chaseelkins.assetmanagement.model.Webhook;
+import com.chaseelkins.assetmanagement.model.Webhook.WebhookEvent;
+import com.chaseelkins.assetmanagement.repository.WebhookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the active webhook subscriptions, per tenant and event type, so raising
+ * an event needs no query to find its subscribers (or that there are none).
+ * Loaded on first use, reloaded per tenant when a webhook is written on any node (via
+ * {@link ClusterNotifier}), and fully reloaded every {@code app.webhooks.registry-refresh-ms}
+ * in case a notification was lost.
+ */
+@Component
+public class WebhookRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookRegistry.class);
+
+    static final String CHANNEL = "webhooks_changed";
+    // Payload asking every node to reload all tenants
+    private static final String ALL_TENANTS = "*";
+
+    private final WebhookRepository webhookRepository;
+    private final ClusterNotifier clusterNotifier;
+    // Immutable snapshot, replaced whole on every reload
+    private volatile Map<Long, TenantSubscriptions> tenants;
+
+    public WebhookRegistry(WebhookRepository webhookRepository, ClusterNotifier clusterNotifier) {
+        this.webhookRepository = webhookRepository;
+        this.clusterNotifier = clusterNotifier;
+        clusterNotifier.subscribe(CHANNEL, new ClusterNotifier.Listener() {
+            @Override
+            public void onMessage(String payload) {
+                if (ALL_TENANTS.equals(payload)) {
+                    reloadAll();
+                } else {
+                    reload(Long.valueOf(payload));
+                }
+            }
+
+            @Override
+            public void onResync() {
+                reloadAll();
+            }
+        });
+    }
+
+    /**
+     * Active webhooks of the tenant subscribed to the event; all tenants' if {@code tenantId} is null
+     */
+    public List<Subscription> subscribers(Long tenantId, WebhookEvent event) {
+        Map<Long, TenantSubscriptions> snapshot = snapshot();
+        if (tenantId != null) {
+            TenantSubscriptions subscriptions = snapshot.get(tenantId);
+            return subscriptions != null ? subscriptions.byEvent().getOrDefault(event, List.of()) : List.of();
+        }
+        List<Subscription> all = new ArrayList<>();
+        for (TenantSubscriptions subscriptions : snapshot.values()) {
+            all.addAll(subscriptions.byEvent().getOrDefault(event, List.of()));
+        }
+        return all;
+    }
+
+    /**
+     * The webhook if it exists and is active
+     */
+    public Optional<Subscription> find(Long tenantId, Long webhookId) {
+        TenantSubscriptions subscriptions = snapshot().get(tenantId);
+        return subscriptions != null ? Optional.ofNullable(subscriptions.byId().get(webhookId)) : Optional.empty();
+    }
+
+    /**
+     * Hosts of all active webhooks; WebhookDeliveryRelay keeps endpoint state for these only
+     */
+    public Set<String> endpointHosts() {
+        Set<String> hosts = new HashSet<>();
+        for (TenantSubscriptions subscriptions : snapshot().values()) {
+            for (Subscription subscription : subscriptions.byId().values()) {
+                hosts.add(WebhookService.endpointHost(subscription.url()));
+            }
+        }
+        return hosts;
+    }
+
+    /**
+     * Reload the tenant on every node once the current transaction commits (immediately if
+     * there is none). A null tenant reloads all of them.
+     */
+    public void changed(Long tenantId) {
+        String payload = tenantId != null ? tenantId.toString() : ALL_TENANTS;
+        clusterNotifier.publish(CHANNEL, payload);
+
+        // Don't wait for our own notification to come back before this node sees the change
+        Runnable refresh = () -> {
+            if (tenantId != null) {
+                reload(tenantId);
+            } else {
+                reloadAll();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh.run();
+                }
+            });
+        } else {
+            refresh.run();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.webhooks.registry-refresh-ms:300000}",
+               initialDelayString = "${app.webhooks.registry-refresh-ms:300000}")
+    public synchronized void reloadAll() {
+        Map<Long, List<Webhook>> byTenant = webhookRepository.findActiveWithEvents().stream()
+                .collect(Collectors.groupingBy(Webhook::getTenantId));
+        Map<Long, TenantSubscriptions> loaded = new HashMap<>();
+        byTenant.forEach((tenantId, webhooks) -> loaded.put(tenantId, TenantSubscriptions.of(webhooks)));
+        tenants = Map.copyOf(loaded);
+        log.debug("Loaded {} active webhook(s) for {} tenant(s)", byTenant.values().stream().mapToInt(List::size).sum(), loaded.size());
+    }
+
+    synchronized void reload(Long tenantId) {
+        if (tenants == null) {
+            reloadAll();
+            return;
+        }
+        List<Webhook> webhooks = webhookRepository.findActiveWithEventsByTenantId(tenantId);
+        Map<Long, TenantSubscriptions> updated = new HashMap<>(tenants);
+        if (webhooks.isEmpty()) {
+            updated.remove(tenantId);
+        } else {
+            updated.put(tenantId, TenantSubscriptions.of(webhooks));
+        }
+        tenants = Map.copyOf(updated);
+    }
+
+    private Map<Long, TenantSubscriptions> snapshot() {
+        Map<Long, TenantSubscriptions> snapshot = tenants;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (tenants == null) {
+                    reloadAll();
+                }
+                snapshot = tenants;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * The fields of an active webhook needed to queue and send its deliveries
+     */
+    public record Subscription(Long id, Long tenantId, String name, String url, String secret, Set<WebhookEvent> events) {
+
+        public static Subscription of(Webhook webhook) {
+            return new Subscription(webhook.getId(), webhook.getTenantId(), webhook.getName(), webhook.getUrl(),
+                    webhook.getSecret(), Set.copyOf(webhook.getEvents()));
+        }
+    }
+
+    private record TenantSubscriptions(Map<Long, Subscription> byId, Map<WebhookEvent, List<Subscription>> byEvent) {
+
+        static TenantSubscriptions of(Collection<Webhook> webhooks) {
+            Map<Long, Subscription> byId = new HashMap<>();
+            Map<WebhookEvent, List<Subscription>> byEvent = new EnumMap<>(WebhookEvent.class);
+            for (Webhook webhook : webhooks) {
+                Subscription subscription = Subscription.of(webhook);
+                byId.put(subscription.id(), subscription);
+                for (WebhookEvent event : subscription.events()) {
+                    byEvent.computeIfAbsent(event, e -> new ArrayList<>()).add(subscription);
+                }
+            }
+            byEvent.replaceAll((event, subscriptions) -> List.copyOf(subscriptions));
+            return new TenantSubscriptions(Map.copyOf(byId), byEvent);
+        }
+    }
+}
@@ -4,158 +4,147 @@ import com.chaseelkins.assetmanagement.dto.WebhookDTO;
 import com.chaseelkins.assetmanagement.model.User;
 import com.chaseelkins.assetmanagement.model.Webhook;
 import com.chaseelkins.assetmanagement.model.Webhook.WebhookEvent;
+import com.chaseelkins.assetmanagement.model.WebhookDelivery;
 import com.chaseelkins.assetmanagement.repository.UserRepository;
 import com.chaseelkins.assetmanagement.repository.WebhookRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.*;
-import org.springframework.scheduling.annotation.Async;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Base64;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class WebhookService {
 
-    private static final Logger log = LoggerFactory.getLogger(WebhookService.class);
-    private static final int MAX_FAILURES_BEFORE_DISABLE = 10;
+    // Endpoint tag of every host beyond the first maxEndpointTags
+    static final String OTHER_ENDPOINTS = "other";
 
     private final WebhookRepository webhookRepository;
     private final UserRepository userRepository;
-    private final RestTemplate restTemplate;
+    private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final WebhookDeliveryService webhookDeliveryService;
+    private final WebhookRegistry webhookRegistry;
+    private final WebhookSigner signer;
+    private final MeterRegistry meterRegistry;
+    private final Duration readTimeout;
+    private final int maxEndpointTags;
+    // Hosts that have their own latency series; tenants choose hosts freely, so this is capped
+    private final Set<String> taggedEndpoints = ConcurrentHashMap.newKeySet();
 
     public WebhookService(WebhookRepository webhookRepository,
                          UserRepository userRepository,
-                         RestTemplate restTemplate,
-                         ObjectMapper objectMapper) {
+                         @Qualifier("webhookHttpClient") HttpClient httpClient,
+                         ObjectMapper objectMapper,
+                         WebhookDeliveryService webhookDeliveryService,
+                         WebhookRegistry webhookRegistry,
+                         WebhookSigner signer,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.webhooks.read-timeout-ms:10000}") long readTimeoutMs,
+                         @Value("${app.webhooks.max-endpoint-tags:50}") int maxEndpointTags) {
         this.webhookRepository = webhookRepository;
         this.userRepository = userRepository;
-        this.restTemplate = restTemplate;
+        this.httpClient = httpClient;
         this.objectMapper = objectMapper;
+        this.webhookDeliveryService = webhookDeliveryService;
+        this.webhookRegistry = webhookRegistry;
+        this.signer = signer;
+        this.meterRegistry = meterRegistry;
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.maxEndpointTags = Math.max(0, maxEndpointTags);
     }
 
     /**
-     * Trigger webhooks asynchronously for a specific event
+     * Queue an event for the subscribed webhooks.
+     * The deliveries are written in the caller's transaction and sent by WebhookDeliveryRelay
+     * after it commits, so an event is neither lost on a crash nor sent for a rolled-back change.
      */
-    @Async
     public void triggerWebhooks(WebhookEvent event, Object payload) {
-        List<Webhook> webhooks = webhookRepository.findByActiveTrueAndEventsContaining(event);
-        
-        if (webhooks.isEmpty()) {
-            log.debug("No active webhooks configured for event: {}", event);
-            return;
-        }
-        
-        log.info("Triggering {} webhook(s) for event: {}", webhooks.size(), event);
-        
-        for (Webhook webhook : webhooks) {
-            try {
-                sendWebhook(webhook, event, payload);
-            } catch (Exception e) {
-                log.error("Failed to send webhook {}: {}", webhook.getName(), e.getMessage());
-            }
-        }
+        webhookDeliveryService.enqueue(event, payload);
     }
 
     /**
-     * Send individual webhook with signature and retry logic
+     * Send one queued delivery, signed with the webhook's current secret.
+     * Throws if the endpoint cannot be reached, times out or answers with a non-2xx status.
      */
-    private void sendWebhook(Webhook webhook, WebhookEvent event, Object payload) {
+    public int send(WebhookRegistry.Subscription webhook, WebhookDelivery delivery) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        String outcome = "error";
         try {
-            // Create webhook payload
-            WebhookDTO.WebhookPayload webhookPayload = new WebhookDTO.WebhookPayload();
-            webhookPayload.setEvent(event.name());
-            webhookPayload.setTimestamp(LocalDateTime.now());
-            webhookPayload.setData(payload);
-            webhookPayload.setWebhookId(webhook.getId().toString());
-            
-            String jsonPayload = objectMapper.writeValueAsString(webhookPayload);
-            
-            // Generate HMAC signature for security
-            String signature = generateHmacSignature(jsonPayload, webhook.getSecret());
-            
-            // Set up headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("X-Webhook-Signature", signature);
-            headers.set("X-Webhook-Event", event.name());
-            headers.set("X-Webhook-ID", webhook.getId().toString());
-            headers.set("X-Webhook-Delivery-ID", UUID.randomUUID().toString());
-            headers.set("User-Agent", "Krubles-Webhook/1.0");
-            
-            HttpEntity<String> request = new HttpEntity<>(jsonPayload, headers);
-            
-            // Send webhook
-            long startTime = System.currentTimeMillis();
-            ResponseEntity<String> response = restTemplate.postForEntity(
-                webhook.getUrl(), 
-                request, 
-                String.class
-            );
-            long responseTime = System.currentTimeMillis() - startTime;
-            
-            // Log success
-            log.info("Webhook '{}' triggered successfully: {} ({}ms)", 
-                webhook.getName(), response.getStatusCode(), responseTime);
-            
-            // Update webhook stats
-            webhook.setLastTriggeredAt(LocalDateTime.now());
-            webhook.setFailureCount(0); // Reset failure count on success
-            webhook.setLastError(null);
-            webhookRepository.save(webhook);
-            
-        } catch (Exception e) {
-            handleWebhookFailure(webhook, e);
+            // Delivery id is stable across retries so receivers can drop duplicates
+            int status = post(webhook, delivery.getEvent().name(), delivery.getId().toString(), delivery.getPayload());
+            outcome = status >= 200 && status < 300 ? "success" : "http_" + (status / 100) + "xx";
+            if (!"success".equals(outcome)) {
+                throw new IOException("Endpoint answered HTTP " + status);
+            }
+            return status;
+        } finally {
+            Timer.builder("webhook_delivery_duration")
+                    .description("Webhook HTTP delivery latency per endpoint")
+                    .tag("endpoint", endpointTag(webhook.url()))
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
+    private int post(WebhookRegistry.Subscription webhook, String event, String deliveryId, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(webhook.url()))
+                .timeout(readTimeout)
+                .header("Content-Type", "application/json")
+                .header("X-Webhook-Signature", signer.sign(body, webhook.secret()))
+                .header("X-Webhook-Event", event)
+                .header("X-Webhook-ID", webhook.id().toString())
+                .header("X-Webhook-Delivery-ID", deliveryId)
+                .header("User-Agent", "Krubles-Webhook/1.0")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
     /**
-     * Handle webhook delivery failure
+     * Per-endpoint metric tag: the webhook's host for the first {@code maxEndpointTags} hosts
+     * seen, {@code other} for the rest, so the histogram series stay bounded
      */
-    private void handleWebhookFailure(Webhook webhook, Exception e) {
-        log.error("Webhook '{}' failed: {}", webhook.getName(), e.getMessage());
-        
-        webhook.setFailureCount(webhook.getFailureCount() + 1);
-        webhook.setLastError(e.getMessage());
-        webhook.setLastTriggeredAt(LocalDateTime.now());
-        
-        // Auto-disable webhook after too many failures
-        if (webhook.getFailureCount() >= MAX_FAILURES_BEFORE_DISABLE) {
-            webhook.setActive(false);
-            log.warn("Webhook '{}' disabled after {} consecutive failures", 
-                webhook.getName(), webhook.getFailureCount());
+    String endpointTag(String url) {
+        String host = endpointHost(url);
+        if (taggedEndpoints.contains(host)) {
+            return host;
         }
-        
-        webhookRepository.save(webhook);
+        // May overshoot by the number of concurrent senders, which is still bounded
+        if (taggedEndpoints.size() < maxEndpointTags) {
+            taggedEndpoints.add(host);
+            return host;
+        }
+        return OTHER_ENDPOINTS;
     }
 
     /**
-     * Generate HMAC-SHA256 signature for webhook payload
+     * Host part of a webhook URL
      */
-    private String generateHmacSignature(String payload, String secret) {
+    static String endpointHost(String url) {
         try {
-            Mac sha256Hmac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKey = new SecretKeySpec(
-                secret.getBytes(StandardCharsets.UTF_8), 
-                "HmacSHA256"
-            );
-            sha256Hmac.init(secretKey);
-            
-            byte[] hash = sha256Hmac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
-            return "sha256=" + Base64.getEncoder().encodeToString(hash);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate webhook signature", e);
+            String host = URI.create(url).getHost();
+            return host != null ? host : "unknown";
+        } catch (IllegalArgumentException e) {
+            return "invalid";
         }
     }
 
@@ -179,7 +168,9 @@ public class WebhookService {
             userRepository.findByUsername(username).ifPresent(webhook::setCreatedBy);
         }
         
-        return webhookRepository.save(webhook);
+        Webhook saved = webhookRepository.save(webhook);
+        webhookRegistry.changed(saved.getTenantId());
+        return saved;
     }
 
     /**
@@ -194,14 +185,19 @@ public class WebhookService {
         webhook.setEvents(request.getEvents());
         webhook.setActive(request.isActive());
         
-        return webhookRepository.save(webhook);
+        Webhook saved = webhookRepository.save(webhook);
+        webhookRegistry.changed(saved.getTenantId());
+        return saved;
     }
 
     /**
      * Delete webhook
      */
     public void deleteWebhook(Long id) {
-        webhookRepository.deleteById(id);
+        webhookRepository.findById(id).ifPresent(webhook -> {
+            webhookRepository.delete(webhook);
+            webhookRegistry.changed(webhook.getTenantId());
+        });
     }
 
     /**
@@ -236,26 +232,16 @@ public class WebhookService {
             testPayload.setWebhookId(webhook.getId().toString());
             
             String jsonPayload = objectMapper.writeValueAsString(testPayload);
-            String signature = generateHmacSignature(jsonPayload, webhook.getSecret());
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("X-Webhook-Signature", signature);
-            headers.set("X-Webhook-Event", "TEST");
-            headers.set("User-Agent", "Krubles-Webhook/1.0");
-            
-            HttpEntity<String> request = new HttpEntity<>(jsonPayload, headers);
             
             long startTime = System.currentTimeMillis();
-            ResponseEntity<String> response = restTemplate.postForEntity(
-                webhook.getUrl(), 
-                request, 
-                String.class
-            );
+            int status = post(WebhookRegistry.Subscription.of(webhook), "TEST", UUID.randomUUID().toString(), jsonPayload);
             long responseTime = System.currentTimeMillis() - startTime;
+            if (status < 200 || status >= 300) {
+                throw new IOException("Endpoint answered HTTP " + status);
+            }
             
             result.setSuccess(true);
-            result.setStatusCode(response.getStatusCode().value());
+            result.setStatusCode(status);
             result.setMessage("Webhook test successful");
             result.setResponseTimeMs(responseTime);
             
@@ -0,0 +1,48 @@
+package com.chaseelkins.assetmanagement.service;
+
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * HMAC-SHA256 signatures for webhook bodies.
+ * Mac instances are pooled instead of looked up per request; a ThreadLocal would not
+ * help here because deliveries run on short-lived virtual threads.
+ */
+@Component
+public class WebhookSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int POOL_SIZE = 64;
+
+    private final BlockingQueue<Mac> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /**
+     * Signature header value ("sha256=" + Base64 HMAC) for {@code payload}
+     */
+    public String sign(String payload, String secret) {
+        Mac mac = pool.poll();
+        try {
+            if (mac == null) {
+                mac = Mac.getInstance(ALGORITHM);
+            }
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            byte[] hash = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return "sha256=" + Base64.getEncoder().encodeToString(hash);
+        } catch (GeneralSecurityException e) {
+            mac = null;
+            throw new IllegalStateException("Failed to generate webhook signature", e);
+        } finally {
+            // doFinal leaves the Mac reset; a full pool just drops the instance
+            if (mac != null) {
+                pool.offer(mac);
+            }
+        }
+    }
+}
@@ -1,28 +1,78 @@
 package com.chaseelkins.assetmanagement.tenant;
 
+import com.chaseelkins.assetmanagement.cluster.ClusterNotifier;
 import com.chaseelkins.assetmanagement.model.Tenant;
 import com.chaseelkins.assetmanagement.repository.TenantRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.regex.Pattern;
 
 /**
  * Resolves tenant ID from subdomain with caching for performance.
+ * The cache is bounded and entries expire: found tenants after {@code app.tenants.cache-ttl-seconds},
+ * unknown subdomains after the shorter {@code app.tenants.negative-cache-ttl-seconds}, so probing
+ * random subdomains costs at most one query per subdomain per TTL. Tenant changes are
+ * broadcast to every node through {@link ClusterNotifier}.
  */
 @Component
 public class TenantResolver {
     
     private static final Logger log = LoggerFactory.getLogger(TenantResolver.class);
     
-    // Cache to avoid database lookups on every request
-    private final ConcurrentHashMap<String, Long> tenantCache = new ConcurrentHashMap<>();
+    private static final String CHANNEL = "tenants_changed";
+    // Payload asking every node to drop its whole cache
+    private static final String ALL_SUBDOMAINS = "*";
+    // Same rule as Tenant.subdomain; anything else can never resolve
+    private static final Pattern SUBDOMAIN = Pattern.compile("^[a-z0-9][a-z0-9-]{1,61}[a-z0-9]$");
     
-    @Autowired
-    private TenantRepository tenantRepository;
+    private final TenantRepository tenantRepository;
+    private final ClusterNotifier clusterNotifier;
+    // Empty value = no active tenant with that subdomain
+    private final Cache<String, OptionalLong> tenantCache;
+    
+    public TenantResolver(TenantRepository tenantRepository,
+                          ClusterNotifier clusterNotifier,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.tenants.cache-max-size:10000}") long maxSize,
+                          @Value("${app.tenants.cache-ttl-seconds:600}") long ttlSeconds,
+                          @Value("${app.tenants.negative-cache-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.tenantRepository = tenantRepository;
+        this.clusterNotifier = clusterNotifier;
+        this.tenantCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ResolutionExpiry(Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(negativeTtlSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tenantCache, "tenant_resolver");
+        
+        clusterNotifier.subscribe(CHANNEL, new ClusterNotifier.Listener() {
+            @Override
+            public void onMessage(String payload) {
+                if (ALL_SUBDOMAINS.equals(payload)) {
+                    tenantCache.invalidateAll();
+                } else {
+                    tenantCache.invalidate(payload);
+                }
+            }
+            
+            @Override
+            public void onResync() {
+                tenantCache.invalidateAll();
+            }
+        });
+    }
     
     /**
      * Resolve tenant ID from subdomain
@@ -31,44 +81,85 @@ public class TenantResolver {
         if (subdomain == null || subdomain.isEmpty()) {
             return null;
         }
-        
-        // Check cache first
-        Long cachedTenantId = tenantCache.get(subdomain);
-        if (cachedTenantId != null) {
-            return cachedTenantId;
+        if (!SUBDOMAIN.matcher(subdomain).matches()) {
+            log.debug("Ignoring malformed subdomain: {}", subdomain);
+            return null;
         }
         
-        // Query database
         try {
-            Optional<Tenant> tenant = tenantRepository.findBySubdomainAndActiveTrue(subdomain);
-            if (tenant.isPresent()) {
-                Long tenantId = tenant.get().getId();
-                tenantCache.put(subdomain, tenantId);
-                log.info("Cached tenant ID {} for subdomain: {}", tenantId, subdomain);
-                return tenantId;
-            } else {
-                log.warn("No active tenant found for subdomain: {}", subdomain);
-                return null;
-            }
+            // Concurrent misses for one subdomain share a single query
+            OptionalLong tenantId = tenantCache.get(subdomain, this::load);
+            return tenantId.isPresent() ? tenantId.getAsLong() : null;
         } catch (Exception e) {
+            // Not cached, the next request tries again
             log.error("Error resolving tenant for subdomain: {}", subdomain, e);
             return null;
         }
     }
     
     /**
-     * Clear cache for a specific subdomain
+     * Clear cache for a specific subdomain on every node, once the current transaction commits
      */
     public void clearCache(String subdomain) {
-        tenantCache.remove(subdomain);
+        if (subdomain == null) {
+            return;
+        }
+        clusterNotifier.publish(CHANNEL, subdomain);
+        afterCommit(() -> tenantCache.invalidate(subdomain));
         log.info("Cleared tenant cache for subdomain: {}", subdomain);
     }
     
     /**
-     * Clear all tenant cache
+     * Clear all tenant cache on every node
      */
     public void clearAllCache() {
-        tenantCache.clear();
+        clusterNotifier.publish(CHANNEL, ALL_SUBDOMAINS);
+        afterCommit(tenantCache::invalidateAll);
         log.info("Cleared all tenant cache");
     }
+    
+    private OptionalLong load(String subdomain) {
+        Tenant tenant = tenantRepository.findBySubdomainAndActiveTrue(subdomain).orElse(null);
+        if (tenant == null) {
+            // Debug only: anyone can send random subdomains, and each one would log once per negative TTL
+            log.debug("No active tenant found for subdomain: {}", subdomain);
+            return OptionalLong.empty();
+        }
+        log.info("Cached tenant ID {} for subdomain: {}", tenant.getId(), subdomain);
+        return OptionalLong.of(tenant.getId());
+    }
+    
+    /**
+     * Invalidating before commit would let a concurrent request cache the old row again
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private record ResolutionExpiry(Duration ttl, Duration negativeTtl) implements Expiry<String, OptionalLong> {
+        
+        @Override
+        public long expireAfterCreate(String subdomain, OptionalLong tenantId, long currentTime) {
+            return (tenantId.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+        
+        @Override
+        public long expireAfterUpdate(String subdomain, OptionalLong tenantId, long currentTime, long currentDuration) {
+            return expireAfterCreate(subdomain, tenantId, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String subdomain, OptionalLong tenantId, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,6 @@
+-- V11: Batch-friendly asset ids
+
+-- Allow Hibernate to batch asset inserts.
+-- Asset ids now come from assets_id_seq via a pooled optimizer that reserves
+-- 50 ids per call, so the sequence increment has to match that allocation size.
+ALTER SEQUENCE assets_id_seq INCREMENT BY 50;
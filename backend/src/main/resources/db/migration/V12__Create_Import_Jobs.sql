@@ -0,0 +1,34 @@
+-- V12: Create tables for asynchronous import jobs and their row errors
+
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    tenant_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+    original_filename VARCHAR(255),
+    storage_path VARCHAR(1024) NOT NULL,
+    created_by VARCHAR(255),
+    processed_rows INTEGER NOT NULL DEFAULT 0,
+    created_rows INTEGER NOT NULL DEFAULT 0,
+    updated_rows INTEGER NOT NULL DEFAULT 0,
+    failed_rows INTEGER NOT NULL DEFAULT 0,
+    checkpoint_row INTEGER NOT NULL DEFAULT -1,
+    error_message TEXT,
+    locked_by VARCHAR(100),
+    heartbeat_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_import_jobs_tenant ON import_jobs(tenant_id);
+CREATE INDEX IF NOT EXISTS idx_import_jobs_status ON import_jobs(status);
+
+CREATE TABLE IF NOT EXISTS import_job_errors (
+    id BIGSERIAL PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    row_index INTEGER NOT NULL,
+    message TEXT,
+    CONSTRAINT fk_import_job_errors_job FOREIGN KEY (job_id) REFERENCES import_jobs(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_import_job_errors_job ON import_job_errors(job_id, row_index);
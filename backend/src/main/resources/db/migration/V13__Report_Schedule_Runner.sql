@@ -0,0 +1,15 @@
+-- V13: Lease and run-tracking columns for the report schedule runner
+
+ALTER TABLE report_schedules ADD COLUMN IF NOT EXISTS locked_by VARCHAR(100);
+ALTER TABLE report_schedules ADD COLUMN IF NOT EXISTS locked_until TIMESTAMP;
+ALTER TABLE report_schedules ADD COLUMN IF NOT EXISTS last_status VARCHAR(20);
+ALTER TABLE report_schedules ADD COLUMN IF NOT EXISTS last_duration_ms BIGINT;
+ALTER TABLE report_schedules ADD COLUMN IF NOT EXISTS last_error TEXT;
+ALTER TABLE report_schedules ADD COLUMN IF NOT EXISTS consecutive_failures INTEGER NOT NULL DEFAULT 0;
+
+-- Allow Excel output
+ALTER TABLE report_schedules DROP CONSTRAINT IF EXISTS check_format;
+ALTER TABLE report_schedules ADD CONSTRAINT check_format CHECK (format IN ('CSV', 'XLSX', 'PDF'));
+
+-- Claim query filters on enabled and next_run_at and orders by next_run_at;
+-- idx_report_schedules_next_run (V5) already covers it.
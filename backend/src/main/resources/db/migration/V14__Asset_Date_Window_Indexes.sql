@@ -0,0 +1,10 @@
+-- V14: Indexes for the daily maintenance and warranty checks
+
+-- Each check reads one tenant at a time over a date range
+CREATE INDEX IF NOT EXISTS idx_assets_tenant_next_maintenance
+    ON assets(tenant_id, next_maintenance) WHERE next_maintenance IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_assets_tenant_warranty_expiry
+    ON assets(tenant_id, warranty_expiry) WHERE warranty_expiry IS NOT NULL;
+
+-- Assignee lookups by asset are served by the asset_assignments primary key (asset_id, user_id)
@@ -0,0 +1,23 @@
+-- V15: Per-tenant asset counters (total, by status, by category)
+
+CREATE TABLE IF NOT EXISTS asset_counters (
+    id BIGSERIAL PRIMARY KEY,
+    tenant_id BIGINT NOT NULL,
+    dimension VARCHAR(20) NOT NULL,
+    dimension_key VARCHAR(50) NOT NULL,
+    asset_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_asset_counters_key UNIQUE (tenant_id, dimension, dimension_key)
+);
+
+-- Seed from the current assets; the reconciliation job keeps them honest afterwards
+INSERT INTO asset_counters (tenant_id, dimension, dimension_key, asset_count)
+SELECT tenant_id, 'TOTAL', '*', COUNT(*) FROM assets GROUP BY tenant_id;
+
+INSERT INTO asset_counters (tenant_id, dimension, dimension_key, asset_count)
+SELECT tenant_id, 'STATUS', status, COUNT(*) FROM assets
+WHERE status IN ('AVAILABLE', 'ASSIGNED', 'IN_MAINTENANCE', 'RETIRED', 'LOST', 'DAMAGED')
+GROUP BY tenant_id, status;
+
+INSERT INTO asset_counters (tenant_id, dimension, dimension_key, asset_count)
+SELECT tenant_id, 'CATEGORY', CAST(category_id AS VARCHAR), COUNT(*) FROM assets GROUP BY tenant_id, category_id;
@@ -0,0 +1,16 @@
+-- V16: Full-text and trigram indexes for asset search
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Name, tag and serial rank above brand and model; 'simple' keeps model numbers and codes unstemmed
+ALTER TABLE assets ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(asset_tag, '') || ' ' || coalesce(serial_number, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(brand, '') || ' ' || coalesce(model, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_assets_search_vector ON assets USING GIN (search_vector);
+
+-- Partial tag and serial matches (ILIKE '%fragment%')
+CREATE INDEX IF NOT EXISTS idx_assets_asset_tag_trgm ON assets USING GIN (asset_tag gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_assets_serial_number_trgm ON assets USING GIN (serial_number gin_trgm_ops);
@@ -0,0 +1,12 @@
+-- V17: Indexes for keyset pagination ordered by (updated_at, id)
+
+-- Rows that were never updated may have no updated_at; keyset cursors need a value on every row
+UPDATE assets SET updated_at = COALESCE(created_at, CURRENT_TIMESTAMP) WHERE updated_at IS NULL;
+UPDATE maintenance_records SET updated_at = COALESCE(created_at, CURRENT_TIMESTAMP) WHERE updated_at IS NULL;
+UPDATE categories SET updated_at = COALESCE(created_at, CURRENT_TIMESTAMP) WHERE updated_at IS NULL;
+UPDATE users SET updated_at = COALESCE(created_at, CURRENT_TIMESTAMP) WHERE updated_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_assets_updated_id ON assets(updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_maintenance_updated_id ON maintenance_records(updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_categories_updated_id ON categories(updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_users_updated_id ON users(updated_at, id);
@@ -0,0 +1,5 @@
+-- V19: Security version per user, carried in access tokens.
+-- Bumped when the role, active flag, email or password changes; tokens issued with an older
+-- version are rejected, and the cached principal (JwtPrincipalCache) is reloaded.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS security_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,88 @@
+package com.chaseelkins.assetmanagement.async;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class BoundedVirtualThreadExecutorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void fullExecutorRejectsTasks() {
+        BoundedVirtualThreadExecutor executor = executor(false, task -> task);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> block(release));
+        executor.execute(() -> block(release));
+
+        assertThatThrownBy(() -> executor.execute(() -> {})).isInstanceOf(TaskRejectedException.class);
+        assertThat(rejected()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void droppingExecutorCountsTasksWithoutThrowing() {
+        BoundedVirtualThreadExecutor executor = executor(true, task -> task);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> block(release));
+        executor.execute(() -> block(release));
+
+        executor.execute(() -> {});
+
+        assertThat(rejected()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void taskThatCannotStartGivesItsPlaceBack() {
+        AtomicBoolean failNext = new AtomicBoolean(true);
+        BoundedVirtualThreadExecutor executor = executor(false, task -> {
+            if (failNext.getAndSet(false)) {
+                throw new IllegalStateException("cannot decorate");
+            }
+            return task;
+        });
+
+        assertThatThrownBy(() -> executor.execute(() -> {})).isInstanceOf(TaskRejectedException.class);
+
+        // Both places are free again: two blocking tasks still fit
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                block(release);
+            });
+        }
+        await().atMost(Duration.ofSeconds(5)).until(() -> started.getCount() == 1);
+        assertThat(meterRegistry.get("async_tasks_queued").tag("executor", "test").gauge().value()).isEqualTo(1);
+        release.countDown();
+    }
+
+    // One running and one queued task fill it
+    private BoundedVirtualThreadExecutor executor(boolean dropWhenFull, TaskDecorator decorator) {
+        return new BoundedVirtualThreadExecutor("test", 1, 1, dropWhenFull, decorator, meterRegistry);
+    }
+
+    private double rejected() {
+        return meterRegistry.get("async_tasks_rejected").tag("executor", "test").counter().count();
+    }
+
+    private static void block(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
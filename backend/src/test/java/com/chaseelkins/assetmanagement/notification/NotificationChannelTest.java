@@ -0,0 +1,162 @@
+package com.chaseelkins.assetmanagement.notification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs a channel's worker against a recording renderer. Events are queued before the worker
+ * starts where the test depends on how they are batched, so batching is deterministic.
+ */
+class NotificationChannelTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<RecordingChannel> started = new ArrayList<>();
+
+    @AfterEach
+    void stopChannels() throws InterruptedException {
+        for (RecordingChannel channel : started) {
+            channel.stop();
+        }
+    }
+
+    @Test
+    void eventsWithinTheWindowCollapseIntoOneBatch() {
+        RecordingChannel channel = new RecordingChannel(1000, settings(Duration.ofMillis(300), 1000, 1), null);
+        for (int i = 0; i < 500; i++) {
+            assertThat(channel.offer(imported())).isTrue();
+        }
+
+        start(channel);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> !channel.batches.isEmpty());
+        assertThat(channel.batches).hasSize(1);
+        assertThat(channel.batches.get(0)).hasSize(500);
+    }
+
+    @Test
+    void fullBatchIsDeliveredWithoutWaitingForTheWindow() {
+        RecordingChannel channel = new RecordingChannel(1000, settings(Duration.ofMinutes(1), 10, 1), null);
+        for (int i = 0; i < 25; i++) {
+            channel.offer(imported());
+        }
+
+        start(channel);
+
+        // The last partial batch waits out the window; the full ones go at once
+        await().atMost(Duration.ofSeconds(5)).until(() -> channel.batches.size() >= 2);
+        assertThat(channel.batches.get(0)).hasSize(10);
+        assertThat(channel.batches.get(1)).hasSize(10);
+    }
+
+    @Test
+    void failedMessageIsRetriedWithDoublingBackoff() {
+        List<Long> attempts = new CopyOnWriteArrayList<>();
+        RecordingChannel channel = new RecordingChannel(10, settings(Duration.ZERO, 10, 3), () -> {
+            attempts.add(System.nanoTime());
+            if (attempts.size() < 3) {
+                throw new IllegalStateException("downstream unavailable");
+            }
+        });
+        channel.offer(imported());
+
+        start(channel);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> attempts.size() == 3);
+        assertThat(Duration.ofNanos(attempts.get(1) - attempts.get(0))).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+        assertThat(Duration.ofNanos(attempts.get(2) - attempts.get(1))).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+        await().atMost(Duration.ofSeconds(5)).until(() -> counter("notification_retries") == 2);
+        assertThat(counter("notification_failed")).isZero();
+    }
+
+    @Test
+    void messageIsGivenUpAfterTheLastAttempt() {
+        List<Long> attempts = new CopyOnWriteArrayList<>();
+        RecordingChannel channel = new RecordingChannel(10, settings(Duration.ZERO, 10, 2), () -> {
+            attempts.add(System.nanoTime());
+            throw new IllegalStateException("downstream unavailable");
+        });
+        channel.offer(imported());
+
+        start(channel);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> counter("notification_failed") == 1);
+        assertThat(attempts).hasSize(2);
+        assertThat(counter("notification_retries")).isEqualTo(1);
+    }
+
+    @Test
+    void fullQueueDropsAndCountsEvents() {
+        RecordingChannel channel = new RecordingChannel(5, settings(Duration.ZERO, 10, 1), null);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(channel.offer(imported())).isTrue();
+        }
+        assertThat(channel.isSaturated()).isFalse();
+        for (int i = 0; i < 2; i++) {
+            assertThat(channel.offer(imported())).isTrue();
+        }
+        assertThat(channel.isSaturated()).isTrue();
+        for (int i = 0; i < 4; i++) {
+            assertThat(channel.offer(imported())).isFalse();
+        }
+
+        assertThat(counter("notification_dropped")).isEqualTo(4);
+    }
+
+    private void start(RecordingChannel channel) {
+        channel.start();
+        started.add(channel);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).tag("channel", "test").counter().count();
+    }
+
+    private static NotificationChannel.Settings settings(Duration window, int maxBatch, int maxAttempts) {
+        return new NotificationChannel.Settings(window, maxBatch, maxAttempts, Duration.ofMillis(100));
+    }
+
+    private static NotificationEvent imported() {
+        return new NotificationEvent.AssetsImported(1L, 1, 0);
+    }
+
+    /**
+     * Records every batch it is handed and renders it as the given message (none if null)
+     */
+    private class RecordingChannel extends NotificationChannel {
+
+        private final List<List<NotificationEvent>> batches = new CopyOnWriteArrayList<>();
+        private final Message message;
+
+        RecordingChannel(int capacity, Settings settings, Message message) {
+            super("test", capacity, settings, meterRegistry);
+            this.message = message;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean accepts(NotificationEvent event) {
+            return true;
+        }
+
+        @Override
+        protected List<Message> render(List<NotificationEvent> batch) {
+            batches.add(List.copyOf(batch));
+            return message != null ? List.of(message) : List.of();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.chaseelkins.assetmanagement.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FailureBudgetTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+
+    @Test
+    void keyIsExhaustedAfterBudgetRealFailures() {
+        FailureBudget budget = new FailureBudget(20, 4096, 4, 1000, WINDOW);
+
+        for (int i = 0; i < 19; i++) {
+            budget.recordFailure("victim@example.com");
+        }
+        assertThat(budget.isExhausted("victim@example.com")).isFalse();
+
+        // Counted exactly from past half the budget, so at most 1.5 x budget in total
+        for (int i = 0; i < 11; i++) {
+            budget.recordFailure("victim@example.com");
+        }
+        assertThat(budget.isExhausted("victim@example.com")).isTrue();
+    }
+
+    @Test
+    void saturatedSketchDoesNotExhaustUntouchedKeys() {
+        // A tiny sketch: a spray of distinct keys pushes every estimate far past the budget
+        FailureBudget budget = new FailureBudget(20, 16, 2, 1000, WINDOW);
+        for (int i = 0; i < 100_000; i++) {
+            budget.recordFailure("spray-" + i + "@example.com");
+        }
+
+        assertThat(budget.isExhausted("bystander@example.com")).isFalse();
+        for (int i = 0; i < 19; i++) {
+            budget.recordFailure("bystander@example.com");
+        }
+        assertThat(budget.isExhausted("bystander@example.com")).isFalse();
+        budget.recordFailure("bystander@example.com");
+        assertThat(budget.isExhausted("bystander@example.com")).isTrue();
+    }
+
+    @Test
+    void resetStartsTheBudgetOver() {
+        FailureBudget budget = new FailureBudget(4, 4096, 4, 1000, WINDOW);
+        for (int i = 0; i < 10; i++) {
+            budget.recordFailure("user@example.com");
+        }
+        assertThat(budget.isExhausted("user@example.com")).isTrue();
+
+        budget.reset("user@example.com");
+
+        assertThat(budget.isExhausted("user@example.com")).isFalse();
+        for (int i = 0; i < 3; i++) {
+            budget.recordFailure("user@example.com");
+        }
+        assertThat(budget.isExhausted("user@example.com")).isFalse();
+    }
+}
@@ -0,0 +1,75 @@
+package com.chaseelkins.assetmanagement.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimitStoreTest {
+
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    @Test
+    void concurrentCallersNeverAdmitMoreThanTheLimit() throws Exception {
+        LocalRateLimitStore store = new LocalRateLimitStore();
+        int threads = 16;
+        int callsPerThread = 5_000;
+        int limit = 20_000;
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < callsPerThread; i++) {
+                        if (store.tryAcquire("api:hot", limit, WINDOW).allowed()) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 80,000 attempts against a limit of 20,000: never more than the limit gets through
+        assertThat(admitted.get()).isLessThanOrEqualTo(limit);
+        // Callers that raced past the limit rolled back their own count only, so what was
+        // turned away under contention is still available afterwards
+        int topUp = 0;
+        while (store.tryAcquire("api:hot", limit, WINDOW).allowed()) {
+            topUp++;
+        }
+        assertThat(admitted.get() + topUp).isEqualTo(limit);
+    }
+
+    @Test
+    void keysAreCountedSeparately() {
+        LocalRateLimitStore store = new LocalRateLimitStore();
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryAcquire("a", 3, WINDOW).allowed()).isTrue();
+        }
+        assertThat(store.tryAcquire("a", 3, WINDOW).allowed()).isFalse();
+        assertThat(store.tryAcquire("b", 3, WINDOW).allowed()).isTrue();
+
+        store.reset("a");
+        assertThat(store.tryAcquire("a", 3, WINDOW).remaining()).isEqualTo(2);
+    }
+}
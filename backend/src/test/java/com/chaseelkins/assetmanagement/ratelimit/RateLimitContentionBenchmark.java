@@ -0,0 +1,79 @@
+package com.chaseelkins.assetmanagement.ratelimit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eight threads rate-limiting the same key (one busy API key), at hourly limits where the
+ * window stays under the limit and where it is full.
+ * {@code synchronizedTimestampMap} is the window RateLimitService used before: one Instant
+ * per request in the last hour, scanned under the key's lock on every call.
+ * {@code lockFreeSlidingWindow} is LocalRateLimitStore's: 60 CAS-updated sub-buckets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimitContentionBenchmark {
+
+    private static final Duration WINDOW = Duration.ofHours(1);
+    private static final String KEY = "api:ak_live_hotkey";
+
+    @Param({"1000", "100000"})
+    private int limit;
+
+    private LocalRateLimitStore store;
+    private LegacyRequestWindow legacyWindow;
+
+    @Setup
+    public void setUp() {
+        store = new LocalRateLimitStore();
+        legacyWindow = new LegacyRequestWindow();
+    }
+
+    @Benchmark
+    public boolean synchronizedTimestampMap() {
+        return legacyWindow.allowRequest(limit);
+    }
+
+    @Benchmark
+    public boolean lockFreeSlidingWindow() {
+        return store.tryAcquire(KEY, limit, WINDOW).allowed();
+    }
+
+    /**
+     * RateLimitService.RequestWindow as it was before the lock-free window
+     */
+    private static class LegacyRequestWindow {
+        private final ConcurrentHashMap<Long, Instant> requests = new ConcurrentHashMap<>();
+        private long requestIdCounter = 0;
+
+        synchronized boolean allowRequest(int limit) {
+            Instant windowStart = Instant.now().minus(WINDOW);
+            requests.entrySet().removeIf(entry -> entry.getValue().isBefore(windowStart));
+            if (requests.size() >= limit) {
+                return false;
+            }
+            requests.put(requestIdCounter++, Instant.now());
+            return true;
+        }
+    }
+}
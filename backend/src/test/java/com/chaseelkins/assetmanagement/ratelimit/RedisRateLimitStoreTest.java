@@ -0,0 +1,130 @@
+package com.chaseelkins.assetmanagement.ratelimit;
+
+import com.github.fppt.jedismock.RedisServer;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs the store against an in-process Redis-protocol server, with two store instances
+ * standing in for two nodes sharing it.
+ */
+class RedisRateLimitStoreTest {
+
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    private RedisServer server;
+    private boolean serverRunning;
+    private RedisClient client;
+    private StatefulRedisConnection<String, String> connectionA;
+    private StatefulRedisConnection<String, String> connectionB;
+    private RedisRateLimitStore nodeA;
+    private RedisRateLimitStore nodeB;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = RedisServer.newRedisServer().start();
+        serverRunning = true;
+        client = RedisClient.create("redis://" + server.getHost() + ":" + server.getBindPort());
+        // Generous enough for the stand-in's first script call, short enough for the fallback test
+        client.setOptions(ClientOptions.builder()
+                .timeoutOptions(TimeoutOptions.enabled(Duration.ofSeconds(1)))
+                .build());
+        connectionA = client.connect();
+        connectionB = client.connect();
+        nodeA = new RedisRateLimitStore(connectionA.sync(), "rl:", 50);
+        nodeB = new RedisRateLimitStore(connectionB.sync(), "rl:", 50);
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        connectionA.close();
+        connectionB.close();
+        client.shutdown();
+        if (serverRunning) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void limitIsSharedAcrossNodes() {
+        int allowed = 0;
+        for (int i = 0; i < 200; i++) {
+            RedisRateLimitStore node = i % 2 == 0 ? nodeA : nodeB;
+            if (node.tryAcquire("api:1", 100, WINDOW).allowed()) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(100);
+    }
+
+    @Test
+    void exhaustedKeyStaysDenied() {
+        for (int i = 0; i < 5; i++) {
+            nodeA.tryAcquire("login:alice", 5, WINDOW);
+        }
+
+        assertThat(nodeA.tryAcquire("login:alice", 5, WINDOW).allowed()).isFalse();
+        assertThat(nodeB.tryAcquire("login:alice", 5, WINDOW).allowed()).isFalse();
+    }
+
+    @Test
+    void resetOnAnotherNodeUnblocksKey() {
+        for (int i = 0; i < 5; i++) {
+            nodeA.tryAcquire("login:alice", 5, WINDOW);
+        }
+        assertThat(nodeA.tryAcquire("login:alice", 5, WINDOW).allowed()).isFalse();
+
+        // Node B never leased this key; its reset must still clear the shared counter
+        nodeB.reset("login:alice");
+
+        await().atMost(Duration.ofSeconds(3))
+                .until(() -> nodeA.tryAcquire("login:alice", 5, WINDOW).allowed());
+    }
+
+    @Test
+    void reloadsScriptAfterServerFlushesIt() {
+        assertThat(nodeA.tryAcquire("api:1", 100, WINDOW).allowed()).isTrue();
+
+        connectionB.sync().scriptFlush();
+
+        // A fresh key forces a round trip with the cached script hash
+        assertThat(nodeA.tryAcquire("api:2", 100, WINDOW).allowed()).isTrue();
+    }
+
+    @Test
+    void fallsBackToLocalLimitsWhenServerIsDown() throws IOException {
+        server.stop();
+        serverRunning = false;
+
+        assertThat(nodeA.tryAcquire("login:bob", 2, WINDOW).allowed()).isTrue();
+        assertThat(nodeA.tryAcquire("login:bob", 2, WINDOW).allowed()).isTrue();
+        assertThat(nodeA.tryAcquire("login:bob", 2, WINDOW).allowed()).isFalse();
+    }
+
+    @Test
+    void outageCostsOneTimeoutNotOnePerRequest() throws IOException {
+        server.stop();
+        serverRunning = false;
+        nodeA.tryAcquire("api:1", 100, WINDOW);
+
+        // Each of these would wait the 1 s command timeout if it asked the server
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            assertThat(nodeA.tryAcquire("api:" + i, 100, WINDOW).allowed()).isTrue();
+        }
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,85 @@
+package com.chaseelkins.assetmanagement.search;
+
+import com.chaseelkins.assetmanagement.config.AssetSearchConfig;
+import com.chaseelkins.assetmanagement.model.Asset;
+import com.chaseelkins.assetmanagement.model.Category;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Index updates come from JPA callbacks at flush time; only committed changes may reach the index.
+ * Transactions are driven by hand so the test can commit and roll back.
+ */
+@DataJpaTest(properties = "app.search.engine=memory")
+@Import(AssetSearchConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InMemoryAssetSearchIndexTest {
+
+    private static final AtomicLong TENANTS = new AtomicLong(100);
+
+    @Autowired
+    private AssetSearchIndex searchIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private long tenantId;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        tenantId = TENANTS.incrementAndGet();
+        category = transaction.execute(status -> {
+            Category created = new Category("Tools " + tenantId, null, null, null, true, 0);
+            created.setTenantId(tenantId);
+            entityManager.persist(created);
+            return created;
+        });
+        // Build the tenant's index so later changes are applied to it rather than read at build time
+        assertThat(searchIndex.search(tenantId, "gizmo", PageRequest.of(0, 10)).getTotalElements()).isZero();
+    }
+
+    @Test
+    void committedChangeIsIndexed() {
+        transaction.executeWithoutResult(status -> persistAsset("G-" + tenantId));
+
+        assertThat(searchIndex.search(tenantId, "gizmo", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackChangeNeverReachesIndex() {
+        transaction.executeWithoutResult(status -> {
+            persistAsset("G-" + tenantId);
+            // Fires the JPA callbacks before the rollback
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+
+        assertThat(searchIndex.search(tenantId, "gizmo", PageRequest.of(0, 10)).getTotalElements()).isZero();
+    }
+
+    private void persistAsset(String tag) {
+        Asset asset = new Asset("Gizmo", tag, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, entityManager.merge(category));
+        asset.setTenantId(tenantId);
+        entityManager.persist(asset);
+    }
+}
@@ -0,0 +1,55 @@
+package com.chaseelkins.assetmanagement.security;
+
+import com.chaseelkins.assetmanagement.ratelimit.LocalRateLimitStore;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthRateLimiterTest {
+
+    private final AuthRateLimiter limiter = new AuthRateLimiter(new LocalRateLimitStore(), 1000, 20, 4096, 4, 1000, 60_000);
+
+    @Test
+    void accountWithinBudgetIsNotPaced() {
+        fail("owner@example.com", 19);
+
+        assertThat(limiter.getAccountRetryAfterSeconds("owner@example.com")).isZero();
+        assertThat(limiter.getAccountRetryAfterSeconds("owner@example.com")).isZero();
+    }
+
+    @Test
+    void overBudgetAccountLetsOneAttemptThroughPerInterval() {
+        fail("victim@example.com", 30);
+
+        assertThat(limiter.getAccountRetryAfterSeconds("victim@example.com")).isZero();
+        assertThat(limiter.getAccountRetryAfterSeconds("victim@example.com")).isBetween(1L, 60L);
+    }
+
+    @Test
+    void pacingOneAccountDoesNotRefuseAnother() {
+        fail("victim@example.com", 30);
+        fail("other@example.com", 30);
+        for (int i = 0; i < 100; i++) {
+            limiter.getAccountRetryAfterSeconds("victim@example.com");
+        }
+
+        assertThat(limiter.getAccountRetryAfterSeconds("other@example.com")).isZero();
+    }
+
+    @Test
+    void successfulLoginEndsPacing() {
+        fail("owner@example.com", 30);
+        limiter.getAccountRetryAfterSeconds("owner@example.com");
+
+        limiter.clearLimits("owner@example.com", "10.0.0.1");
+
+        assertThat(limiter.getAccountRetryAfterSeconds("owner@example.com")).isZero();
+        assertThat(limiter.getAccountRetryAfterSeconds("owner@example.com")).isZero();
+    }
+
+    private void fail(String email, int times) {
+        for (int i = 0; i < times; i++) {
+            limiter.recordFailedLogin(email, "10.0.0." + (i % 200), true);
+        }
+    }
+}
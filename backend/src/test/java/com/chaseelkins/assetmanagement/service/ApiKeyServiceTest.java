@@ -0,0 +1,83 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.model.ApiKey;
+import com.chaseelkins.assetmanagement.repository.ApiKeyRepository;
+import com.chaseelkins.assetmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A key verified once is served from the verified-key cache: no lookup, no hash check.
+ */
+class ApiKeyServiceTest {
+
+    private ApiKeyRepository apiKeyRepository;
+    private PasswordEncoder passwordEncoder;
+    private VerifiedApiKeyCache verifiedKeyCache;
+    private ApiKeyService apiKeyService;
+    private String fullApiKey;
+    private ApiKey apiKey;
+
+    @BeforeEach
+    void setUp() {
+        apiKeyRepository = mock(ApiKeyRepository.class);
+        passwordEncoder = mock(PasswordEncoder.class);
+        verifiedKeyCache = new VerifiedApiKeyCache(new SimpleMeterRegistry(), 60, 100);
+        apiKeyService = new ApiKeyService(apiKeyRepository, mock(UserRepository.class), passwordEncoder,
+                verifiedKeyCache, "test");
+
+        fullApiKey = ApiKey.generateApiKey("test");
+        apiKey = new ApiKey("ci", "$2a$10$hash", ApiKey.extractPrefix(fullApiKey), null);
+        apiKey.setId(7L);
+        when(apiKeyRepository.findByPrefix(apiKey.getPrefix())).thenReturn(Optional.of(apiKey));
+        when(passwordEncoder.matches(fullApiKey, "$2a$10$hash")).thenReturn(true);
+    }
+
+    @Test
+    void cacheHitSkipsLookupAndHashVerification() {
+        assertThat(apiKeyService.validateApiKey(fullApiKey)).contains(apiKey);
+        assertThat(apiKeyService.validateApiKey(fullApiKey)).contains(apiKey);
+        assertThat(apiKeyService.validateApiKey(fullApiKey)).contains(apiKey);
+
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+        verify(apiKeyRepository, times(1)).findByPrefix(anyString());
+    }
+
+    @Test
+    void wrongSecretWithTheSamePrefixIsNotServedFromTheCache() {
+        apiKeyService.validateApiKey(fullApiKey);
+        String forged = fullApiKey.substring(0, fullApiKey.length() - 1)
+                + (fullApiKey.endsWith("a") ? "b" : "a");
+
+        assertThat(apiKeyService.validateApiKey(forged)).isEmpty();
+        verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+    }
+
+    @Test
+    void invalidatedKeyIsVerifiedAgain() {
+        apiKeyService.validateApiKey(fullApiKey);
+        verifiedKeyCache.invalidate(apiKey.getId());
+
+        assertThat(apiKeyService.validateApiKey(fullApiKey)).contains(apiKey);
+        verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+    }
+
+    @Test
+    void deactivatedKeyIsRejectedEvenWhenCached() {
+        apiKeyService.validateApiKey(fullApiKey);
+        apiKey.setActive(false);
+
+        assertThat(apiKeyService.validateApiKey(fullApiKey)).isEmpty();
+    }
+}
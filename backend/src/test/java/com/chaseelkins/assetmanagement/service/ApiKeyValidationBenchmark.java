@@ -0,0 +1,72 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.model.ApiKey;
+import com.chaseelkins.assetmanagement.repository.ApiKeyRepository;
+import com.chaseelkins.assetmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cost of validating a presented API key.
+ * {@code bcryptPerRequest} is what every API request used to pay: one BCrypt check (cost 10)
+ * against the stored hash. {@code verifiedKeyCacheHit} is ApiKeyService.validateApiKey for a
+ * key verified within the cache TTL: one HMAC-SHA256 and a cache lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ApiKeyValidationBenchmark {
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private ApiKeyService apiKeyService;
+    private String fullApiKey;
+    private String keyHash;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(10);
+        fullApiKey = ApiKey.generateApiKey("test");
+        keyHash = passwordEncoder.encode(fullApiKey);
+
+        ApiKey apiKey = new ApiKey("bench", keyHash, ApiKey.extractPrefix(fullApiKey), null);
+        apiKey.setId(1L);
+        ApiKeyRepository apiKeyRepository = mock(ApiKeyRepository.class);
+        when(apiKeyRepository.findByPrefix(apiKey.getPrefix())).thenReturn(Optional.of(apiKey));
+
+        apiKeyService = new ApiKeyService(apiKeyRepository, mock(UserRepository.class), passwordEncoder,
+                new VerifiedApiKeyCache(new SimpleMeterRegistry(), 3600, 10_000), "test");
+        // Verified once, as the first request after startup would
+        apiKeyService.validateApiKey(fullApiKey);
+    }
+
+    @Benchmark
+    public boolean bcryptPerRequest() {
+        return passwordEncoder.matches(fullApiKey, keyHash);
+    }
+
+    @Benchmark
+    public Optional<ApiKey> verifiedKeyCacheHit() {
+        return apiKeyService.validateApiKey(fullApiKey);
+    }
+}
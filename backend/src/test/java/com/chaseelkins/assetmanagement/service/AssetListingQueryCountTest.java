@@ -0,0 +1,104 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.model.Asset;
+import com.chaseelkins.assetmanagement.model.Category;
+import com.chaseelkins.assetmanagement.model.User;
+import com.chaseelkins.assetmanagement.notification.NotificationBus;
+import com.chaseelkins.assetmanagement.repository.AssetRepository;
+import com.chaseelkins.assetmanagement.repository.CategoryRepository;
+import com.chaseelkins.assetmanagement.repository.UserRepository;
+import com.chaseelkins.assetmanagement.search.AssetSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The listing read models must cost a fixed number of statements per page, however many
+ * rows the tenant has and however many users are assigned to each asset.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AssetListingQueryCountTest {
+
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // Every case fills at least one full page, so the paged listings always run their count query
+    @ParameterizedTest(name = "{0} assets, {1} assignees each")
+    @CsvSource({"20, 0", "25, 1", "120, 5"})
+    void listingsRunAFixedNumberOfStatements(int assets, int assigneesPerAsset) {
+        Category category = seed(assets, assigneesPerAsset);
+        AssetService assetService = new AssetService(assetRepository, categoryRepository, userRepository,
+                mock(WebhookService.class), mock(NotificationBus.class), mock(AssetStatisticsCache.class),
+                mock(AssetCounterService.class), mock(AssetSearchIndex.class));
+        Long firstAssetId = assetRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        entityManager.clear();
+
+        // Page of summaries, count, assignees
+        assertThat(statements(() -> assetService.getAllAssets(PAGE))).isEqualTo(3);
+        assertThat(statements(() -> assetService.getAssetsByStatus(Asset.AssetStatus.AVAILABLE, PAGE))).isEqualTo(3);
+        // Plus the category existence check
+        assertThat(statements(() -> assetService.getAssetsByCategory(category.getId(), PAGE))).isEqualTo(4);
+        // Keyset page and assignees, plus the total when asked for
+        assertThat(statements(() -> assetService.scrollAssets(null, 20, false))).isEqualTo(2);
+        assertThat(statements(() -> assetService.scrollAssets(null, 20, true))).isEqualTo(3);
+        // Asset with category and assignees in one statement
+        assertThat(statements(() -> assetService.getAssetDetail(firstAssetId))).isEqualTo(1);
+    }
+
+    private long statements(Runnable listing) {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        listing.run();
+        long count = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return count;
+    }
+
+    private Category seed(int assets, int assigneesPerAsset) {
+        Category category = new Category("Laptops", null, null, null, true, 0);
+        category.setTenantId(1L);
+        entityManager.persist(category);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < assigneesPerAsset; i++) {
+            User user = new User("user" + i, "user" + i + "@example.com", null, "First" + i, "Last" + i,
+                    null, null, null, User.Role.USER, true, false);
+            user.setTenantId(1L);
+            entityManager.persist(user);
+            users.add(user);
+        }
+
+        for (int i = 0; i < assets; i++) {
+            Asset asset = new Asset("Laptop " + i, "TAG-" + i, null, null, null, null, null, null, null, null,
+                    Asset.AssetStatus.AVAILABLE, Asset.AssetCondition.GOOD, null, null, null, category);
+            asset.setTenantId(1L);
+            asset.getAssignedUsers().addAll(users);
+            entityManager.persist(asset);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return category;
+    }
+}
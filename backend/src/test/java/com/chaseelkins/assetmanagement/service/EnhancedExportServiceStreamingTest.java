@@ -0,0 +1,109 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.model.Asset;
+import com.chaseelkins.assetmanagement.model.Category;
+import com.chaseelkins.assetmanagement.repository.AssetRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The CSV export must hold a constant number of assets in memory, however many it exports:
+ * rows go to the writer as they are read from the cursor and each asset is detached after
+ * its row is written, so the persistence context never grows with the result.
+ */
+@DataJpaTest
+class EnhancedExportServiceStreamingTest {
+
+    private static final int ASSETS = 5_000;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void largeExportKeepsPersistenceContextBounded() {
+        seed(ASSETS);
+        EnhancedExportService exportService = new EnhancedExportService(assetRepository, entityManager);
+        Session session = entityManager.unwrap(Session.class);
+        SamplingWriter sink = new SamplingWriter(session);
+
+        long written;
+        try (Stream<Asset> assets = assetRepository.streamAssetsForExport(
+                null, null, null, null, null, null, null, null, null, null);
+             PrintWriter writer = new PrintWriter(sink)) {
+            written = exportService.writeAssetsCsv(assets, null, writer);
+        }
+
+        assertThat(written).isEqualTo(ASSETS);
+        assertThat(sink.lines).isEqualTo(ASSETS + 1);
+        // Rows reached the writer in periodic flushes while the cursor was still open
+        assertThat(sink.flushes).isGreaterThanOrEqualTo(ASSETS / 1000);
+        // At most the asset being written and its category are ever managed
+        assertThat(sink.maxManagedEntities).isLessThanOrEqualTo(2);
+    }
+
+    private void seed(int count) {
+        Category category = new Category("Laptops", null, null, null, true, 0);
+        category.setTenantId(1L);
+        entityManager.persist(category);
+        for (int i = 0; i < count; i++) {
+            Asset asset = new Asset("Laptop " + i, "TAG-" + i, null, null, null, null, null, null, null, null,
+                    Asset.AssetStatus.AVAILABLE, Asset.AssetCondition.GOOD, null, null, null, category);
+            asset.setTenantId(1L);
+            entityManager.persist(asset);
+            if (i % 500 == 499) {
+                entityManager.flush();
+                entityManager.clear();
+                category = entityManager.getReference(Category.class, category.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Discards the CSV, counting lines and sampling how many entities the session holds
+     * whenever data is written
+     */
+    private static class SamplingWriter extends Writer {
+
+        private final Session session;
+        private long lines;
+        private int flushes;
+        private int maxManagedEntities;
+
+        SamplingWriter(Session session) {
+            this.session = session;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+            maxManagedEntities = Math.max(maxManagedEntities, session.getStatistics().getEntityCount());
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
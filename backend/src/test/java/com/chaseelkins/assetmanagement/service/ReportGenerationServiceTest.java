@@ -0,0 +1,121 @@
+package com.chaseelkins.assetmanagement.service;
+
+import com.chaseelkins.assetmanagement.model.Asset;
+import com.chaseelkins.assetmanagement.model.Category;
+import com.chaseelkins.assetmanagement.model.ReportSchedule;
+import com.chaseelkins.assetmanagement.repository.AssetRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scheduled reports run without a request tenant, so each one must only see the
+ * schedule's own tenant. Two tenants are seeded and neither may leak into the other's report.
+ */
+@DataJpaTest
+class ReportGenerationServiceTest {
+
+    private static final long TENANT_A = 1L;
+    private static final long TENANT_B = 2L;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @TempDir
+    private Path tempDir;
+
+    private ReportGenerationService reportGenerationService;
+
+    @BeforeEach
+    void seed() {
+        reportGenerationService = new ReportGenerationService(assetRepository,
+                new EnhancedExportService(assetRepository, entityManager),
+                new ExcelService(assetRepository, entityManager),
+                new ObjectMapper().findAndRegisterModules());
+
+        Category laptopsA = category(TENANT_A, "Laptops A");
+        Category laptopsB = category(TENANT_B, "Laptops B");
+        LocalDate soon = LocalDate.now().plusDays(5);
+        asset(TENANT_A, laptopsA, "A-1", soon);
+        asset(TENANT_A, laptopsA, "A-2", null);
+        asset(TENANT_B, laptopsB, "B-1", soon);
+        asset(TENANT_B, laptopsB, "B-2", soon);
+        asset(TENANT_B, laptopsB, "B-3", null);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void customReportOnlyListsTheSchedulesTenant() throws IOException {
+        Path file = tempDir.resolve("custom.csv");
+
+        ReportGenerationService.GeneratedReport report =
+                reportGenerationService.generate(schedule(TENANT_A, ReportSchedule.ReportType.CUSTOM), file);
+
+        String csv = Files.readString(file);
+        assertThat(report.rows()).isEqualTo(2);
+        assertThat(csv).contains("A-1", "A-2").doesNotContain("B-1", "B-2", "B-3");
+    }
+
+    @Test
+    void maintenanceReportOnlyListsTheSchedulesTenant() throws IOException {
+        Path file = tempDir.resolve("maintenance.csv");
+
+        ReportGenerationService.GeneratedReport report =
+                reportGenerationService.generate(schedule(TENANT_B, ReportSchedule.ReportType.MAINTENANCE_DUE), file);
+
+        String csv = Files.readString(file);
+        assertThat(report.rows()).isEqualTo(2);
+        assertThat(csv).contains("B-1", "B-2").doesNotContain("A-1", "A-2", "B-3");
+    }
+
+    @Test
+    void summaryOnlyCountsTheSchedulesTenant() throws IOException {
+        Path file = tempDir.resolve("summary.csv");
+
+        reportGenerationService.generate(schedule(TENANT_A, ReportSchedule.ReportType.ASSET_SUMMARY), file);
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).contains("Status,AVAILABLE,2", "Condition,GOOD,2", "Category,Laptops A,2");
+        assertThat(lines).noneMatch(line -> line.contains("Laptops B"));
+    }
+
+    private Category category(long tenantId, String name) {
+        Category category = new Category(name, null, null, null, true, 0);
+        category.setTenantId(tenantId);
+        entityManager.persist(category);
+        return category;
+    }
+
+    private void asset(long tenantId, Category category, String tag, LocalDate nextMaintenance) {
+        Asset asset = new Asset("Asset " + tag, tag, null, null, null, null, null, null, null, null,
+                Asset.AssetStatus.AVAILABLE, Asset.AssetCondition.GOOD, null, nextMaintenance, null, category);
+        asset.setTenantId(tenantId);
+        entityManager.persist(asset);
+    }
+
+    private static ReportSchedule schedule(long tenantId, ReportSchedule.ReportType type) {
+        ReportSchedule schedule = ReportSchedule.builder()
+                .reportName("Report " + type)
+                .reportType(type)
+                .format(ReportSchedule.ReportFormat.CSV)
+                .build();
+        schedule.setTenantId(tenantId);
+        return schedule;
+    }
+}